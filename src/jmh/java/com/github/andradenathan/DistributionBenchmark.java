@@ -0,0 +1,54 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one draw per family; the empirical alias table should not depend on its size.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistributionBenchmark {
+    @Param({"exponential", "deterministic", "erlang4", "hyperexponential", "lognormal", "pareto",
+            "empirical16", "empirical1M"})
+    private String family;
+
+    private Distribution distribution;
+    private ExponentialVariates variates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        distribution = switch (family) {
+            case "exponential" -> new ExponentialDistribution(1.0);
+            case "deterministic" -> new DeterministicDistribution(1.0);
+            case "erlang4" -> new ErlangDistribution(4, 4.0);
+            case "hyperexponential" -> HyperexponentialDistribution.balanced(1.0, 4.0);
+            case "lognormal" -> LognormalDistribution.of(1.0, 1.0);
+            case "pareto" -> new ParetoDistribution(2.5, 0.6);
+            case "empirical16" -> empirical(16);
+            case "empirical1M" -> empirical(1 << 20);
+            default -> throw new IllegalArgumentException("Unknown family: " + family);
+        };
+        variates = new ExponentialVariates(new SplittableRandom(12345L));
+    }
+
+    @Benchmark
+    public double sample() {
+        return distribution.sample(variates);
+    }
+
+    private static EmpiricalDistribution empirical(int size) {
+        SplittableRandom random = new SplittableRandom(7L);
+        double[] values = new double[size];
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextDouble(2.0);
+            weights[i] = random.nextDouble();
+        }
+        return new EmpiricalDistribution(values, weights);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Classic hold model: remove the earliest event and schedule a new one an exponential
+// increment later, so the pending set keeps its size. Heaps grow with log(pending) while
+// the calendar queue should stay roughly flat.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventListBenchmark {
+    @Param({"PriorityQueue", "DaryHeap", "Calendar"})
+    private String implementation;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int pending;
+
+    private EventList events;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Supplier<EventList> factory = switch (implementation) {
+            case "PriorityQueue" -> PriorityQueueEventList::new;
+            case "DaryHeap" -> DaryHeapEventList::new;
+            case "Calendar" -> CalendarEventList::new;
+            default -> throw new IllegalArgumentException("Unknown event list: " + implementation);
+        };
+        events = factory.get();
+        random = new SplittableRandom(12345L);
+
+        for (int i = 0; i < pending; i++) {
+            events.schedule(Event.Type.ARRIVAL, i % 1024, increment());
+        }
+    }
+
+    @Benchmark
+    public double hold() {
+        double now = events.nextTime();
+        int station = events.nextStation();
+        events.removeNext();
+        events.schedule(Event.Type.DEPARTURE, station, now + increment());
+        return now;
+    }
+
+    private double increment() {
+        return -Math.log(1.0 - random.nextDouble()) * pending;
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost per event should stay nearly flat as the number of servers grows.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiServerBenchmark {
+    @Param({"2", "16", "256", "4096"})
+    private int servers;
+
+    @Param({"0.9"})
+    private double lambda;
+
+    private QueueSimulation simulation;
+    private SplittableRandom random;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EventCounter {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulation = new QueueSimulation(false, 12345L, servers, 1.0);
+        random = new SplittableRandom(12345L);
+    }
+
+    @Benchmark
+    public double nanosPerEvent(EventCounter counter) {
+        QueueState queue = simulation.runSingleQueue(lambda, 100000.0 / servers, random);
+        counter.events += queue.getEventsProcessed();
+        return queue.getAverageTimeInSystem();
+    }
+}
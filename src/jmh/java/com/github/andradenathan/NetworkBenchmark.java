@@ -0,0 +1,76 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Speedup of the partitioned engine over the sequential one (partitions = 1) for a
+// random open network; time per replication should fall as partitions grow.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkBenchmark {
+    @Param({"1", "2", "4", "8"})
+    private int partitions;
+
+    @Param({"4096"})
+    private int stations;
+
+    @Param({"1.0"})
+    private double transitTime;
+
+    @Param({"200.0"})
+    private double horizon;
+
+    private NetworkSimulation simulation;
+    private SplittableRandom random;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EventCounter {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom topology = new SplittableRandom(7L);
+        double[] external = new double[stations];
+        double[] service = new double[stations];
+        int[] servers = new int[stations];
+        int[] from = new int[2 * stations];
+        int[] to = new int[2 * stations];
+        double[] probability = new double[2 * stations];
+
+        for (int i = 0; i < stations; i++) {
+            // Random in-degrees vary, so leave headroom for the busiest station
+            external[i] = 0.2;
+            service[i] = 4.0;
+            servers[i] = 1;
+            for (int k = 0; k < 2; k++) {
+                from[2 * i + k] = i;
+                to[2 * i + k] = topology.nextInt(stations);
+                probability[2 * i + k] = 0.3;
+            }
+        }
+
+        QueueNetwork network = new QueueNetwork(external, service, servers, from, to, probability, transitTime);
+        simulation = new NetworkSimulation(network, 12345L, partitions);
+        random = new SplittableRandom(12345L);
+    }
+
+    @Benchmark
+    public double replication(EventCounter counter) {
+        NetworkSimulation.Replication replication = simulation.runReplication(horizon, random.split());
+        counter.events += replication.getEventsProcessed();
+        return replication.getNetworkResponseTime();
+    }
+}
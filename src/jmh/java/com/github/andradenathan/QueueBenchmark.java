@@ -0,0 +1,47 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+    @Param({"0.5", "0.99"})
+    private double lambda;
+
+    @Param({"false", "true"})
+    private boolean serviceTimeConstant;
+
+    private Queue queue;
+    private double clock;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        queue = new Queue(lambda, serviceTimeConstant, new SplittableRandom(12345L));
+        queue.processArrival();
+        clock = 0.0;
+    }
+
+    @Benchmark
+    public double generateInterarrivalTime() {
+        return queue.generateInterarrivalTime();
+    }
+
+    @Benchmark
+    public double generateServiceTime() {
+        return queue.generateServiceTime();
+    }
+
+    @Benchmark
+    public double updateStatistics() {
+        clock += 1.0;
+        queue.updateStatistics(clock);
+        return queue.getCurrentTime();
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Run with "-prof gc": gc.alloc.rate.norm is then the bytes allocated per replication.
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+    @Param({"0.5", "0.8", "0.9", "0.99"})
+    private double lambda;
+
+    @Param({"1000", "10000", "100000"})
+    private double horizon;
+
+    @Param({"false", "true"})
+    private boolean serviceTimeConstant;
+
+    private QueueSimulation simulation;
+    private LindleySimulation lindley;
+    private SplittableRandom random;
+
+    // Secondary results: events/s under Throughput mode and ns/event under AverageTime mode.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class EventCounter {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    // A fresh log per iteration, so the disk write-back is part of the measurement.
+    @State(Scope.Thread)
+    public static class Recording {
+        private Path log;
+        private EventRecorder recorder;
+
+        @Setup(Level.Iteration)
+        public void open() throws IOException {
+            log = Files.createTempFile("simulation-benchmark", ".events");
+            recorder = new EventRecorder(log);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            recorder.close();
+            Files.delete(log);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulation = new QueueSimulation(serviceTimeConstant, 12345L);
+        lindley = new LindleySimulation(serviceTimeConstant, 12345L);
+        random = new SplittableRandom(12345L);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public double eventsPerSecond(EventCounter counter) {
+        return replicate(counter);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double nanosPerEvent(EventCounter counter) {
+        return replicate(counter);
+    }
+
+    // nanosPerEvent with every event written to an EventRecorder log.
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double nanosPerEventRecorded(EventCounter counter, Recording recording) {
+        QueueState queue = simulation.runSingleQueue(lambda, horizon, random, recording.recorder);
+        counter.events += queue.getEventsProcessed();
+        return queue.getAverageTimeInSystem();
+    }
+
+    // Same replication through the Lindley recursion; compare its ns/op with nanosPerEvent.
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double lindleyReplication() {
+        return lindley.simulateSingleQueue(lambda, horizon, random);
+    }
+
+    private double replicate(EventCounter counter) {
+        QueueState queue = simulation.runSingleQueue(lambda, horizon, random);
+        counter.events += queue.getEventsProcessed();
+        return queue.getAverageTimeInSystem();
+    }
+}
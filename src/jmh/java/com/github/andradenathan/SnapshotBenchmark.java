@@ -0,0 +1,44 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of saving, restoring and forking a warmed-up single-server run; the snapshot grows
+// with the customers in the system, so higher lambda means larger snapshots.
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SnapshotBenchmark {
+    @Param({"0.5", "0.9", "0.99"})
+    private double lambda;
+
+    private QueueSimulation simulation;
+    private QueueRun warm;
+    private QueueSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulation = new QueueSimulation(false, 12345L);
+        warm = simulation.startSingleQueue(lambda, 12345L).runUntil(100000.0);
+        snapshot = warm.snapshot();
+    }
+
+    @Benchmark
+    public QueueSnapshot snapshot() {
+        return warm.snapshot();
+    }
+
+    @Benchmark
+    public QueueRun restore() {
+        return simulation.restoreSingleQueue(snapshot, lambda);
+    }
+
+    @Benchmark
+    public QueueRun fork() {
+        return warm.fork();
+    }
+}
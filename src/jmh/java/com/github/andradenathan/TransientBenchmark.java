@@ -0,0 +1,38 @@
+package com.github.andradenathan;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Scalar against SIMD kernel for the same E[N(t)] curve; the vector kernel needs a
+// -Pbenchmark,vector build and the fork adds the incubating Vector API module.
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransientBenchmark {
+    @Param({"1024", "16384"})
+    private int replications;
+
+    @Param({"false", "true"})
+    private boolean serviceTimeConstant;
+
+    private TransientSimulation simulation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simulation = new TransientSimulation(serviceTimeConstant, 12345L, replications);
+    }
+
+    @Benchmark
+    public TransientResult scalar() {
+        return simulation.run(0.9, 100.0, 50, false);
+    }
+
+    @Benchmark
+    public TransientResult vector() {
+        return simulation.run(0.9, 100.0, 50, true);
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+
+// Complements every 64-bit output of the wrapped generator, so each uniform u it derives
+// becomes 1 - u (up to one ulp) and inversion samples become their antithetic partners.
+final class AntitheticRandom implements RandomGenerator {
+    private final RandomGenerator random;
+
+    AntitheticRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public long nextLong() {
+        return ~random.nextLong();
+    }
+}
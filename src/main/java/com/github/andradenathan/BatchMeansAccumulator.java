@@ -0,0 +1,139 @@
+package com.github.andradenathan;
+
+// Keeps a fixed number of buckets of consecutive observations. When the buckets fill up,
+// neighbours are merged pairwise and the bucket size doubles, so memory is bounded for any
+// run length. With the default initial bucket size of 5 the warm-up rule is MSER-5; after a
+// collapse it becomes MSER-m on the larger buckets.
+public class BatchMeansAccumulator {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_INITIAL_BUCKET_SIZE = 5;
+
+    private final double[] bucketSums;
+    private int buckets;
+    private long bucketSize;
+    private double partialSum;
+    private long partialCount;
+    private long count;
+
+    public BatchMeansAccumulator() {
+        this(DEFAULT_CAPACITY, DEFAULT_INITIAL_BUCKET_SIZE);
+    }
+
+    public BatchMeansAccumulator(int capacity, int initialBucketSize) {
+        if (capacity < 4 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("Capacity must be even and at least 4: " + capacity);
+        }
+        if (initialBucketSize < 1) {
+            throw new IllegalArgumentException("Bucket size must be positive: " + initialBucketSize);
+        }
+        this.bucketSums = new double[capacity];
+        this.buckets = 0;
+        this.bucketSize = initialBucketSize;
+        this.partialSum = 0.0;
+        this.partialCount = 0;
+        this.count = 0;
+    }
+
+    public void add(double value) {
+        partialSum += value;
+        partialCount++;
+        count++;
+
+        if (partialCount == bucketSize) {
+            if (buckets == bucketSums.length) {
+                // The partial bucket is now half of the doubled size and keeps filling up.
+                collapse();
+                return;
+            }
+            bucketSums[buckets++] = partialSum;
+            partialSum = 0.0;
+            partialCount = 0;
+        }
+    }
+
+    private void collapse() {
+        int half = bucketSums.length / 2;
+        for (int i = 0; i < half; i++) {
+            bucketSums[i] = bucketSums[2 * i] + bucketSums[2 * i + 1];
+        }
+        buckets = half;
+        bucketSize *= 2;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public long getBucketSize() {
+        return bucketSize;
+    }
+
+    // MSER: delete the d leading buckets that minimise the squared standard error of the
+    // remaining mean, searching d over the first half of the run.
+    public int getWarmupBuckets() {
+        if (buckets < 2) {
+            return 0;
+        }
+
+        double suffixSum = 0.0;
+        double suffixSumOfSquares = 0.0;
+        double bestStatistic = Double.POSITIVE_INFINITY;
+        int best = 0;
+
+        for (int d = buckets - 1; d >= 0; d--) {
+            double mean = bucketSums[d] / bucketSize;
+            suffixSum += mean;
+            suffixSumOfSquares += mean * mean;
+
+            if (d <= buckets / 2) {
+                int remaining = buckets - d;
+                double remainingMean = suffixSum / remaining;
+                double sumOfSquaredDeviations =
+                        Math.max(0.0, suffixSumOfSquares - remaining * remainingMean * remainingMean);
+                double statistic = sumOfSquaredDeviations / ((double) remaining * remaining);
+
+                if (statistic <= bestStatistic) {
+                    bestStatistic = statistic;
+                    best = d;
+                }
+            }
+        }
+        return best;
+    }
+
+    public long getWarmupObservations() {
+        return getWarmupBuckets() * bucketSize;
+    }
+
+    // Regroups the buckets left after warm-up deletion into at most `batches` equal batches.
+    // Leftover buckets are dropped from the front, next to the truncation point.
+    public StatisticsAccumulator getBatchMeans(int batches) {
+        if (batches < 2) {
+            throw new IllegalArgumentException("At least two batches are required: " + batches);
+        }
+
+        int usable = buckets - getWarmupBuckets();
+        int batchCount = Math.min(batches, usable);
+        StatisticsAccumulator batchMeans = new StatisticsAccumulator();
+        if (batchCount == 0) {
+            return batchMeans;
+        }
+
+        int bucketsPerBatch = usable / batchCount;
+        int start = buckets - bucketsPerBatch * batchCount;
+
+        for (int b = 0; b < batchCount; b++) {
+            double sum = 0.0;
+            int from = start + b * bucketsPerBatch;
+            for (int i = from; i < from + bucketsPerBatch; i++) {
+                sum += bucketSums[i];
+            }
+            batchMeans.add(sum / ((double) bucketsPerBatch * bucketSize));
+        }
+        return batchMeans;
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.andradenathan;
+
+public class BatchMeansResult {
+    private final SimulationResult result;
+    private final double warmupTime;
+    private final double simulationTime;
+    private final long observationsPerBatch;
+
+    public BatchMeansResult(SimulationResult result, double warmupTime,
+                            double simulationTime, long observationsPerBatch) {
+        this.result = result;
+        this.warmupTime = warmupTime;
+        this.simulationTime = simulationTime;
+        this.observationsPerBatch = observationsPerBatch;
+    }
+
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    public double getWarmupTime() {
+        return warmupTime;
+    }
+
+    public double getSimulationTime() {
+        return simulationTime;
+    }
+
+    public long getBatches() {
+        return result.getReplications();
+    }
+
+    public long getObservationsPerBatch() {
+        return observationsPerBatch;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchMeansResult{%s, warmup=%.1f, horizon=%.1f, batches=%d}",
+                result, warmupTime, simulationTime, getBatches());
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+
+// One long trajectory per lambda. The time-average number in system is observed over
+// fixed intervals, converted to response time through Little's law, and fed to a
+// bounded BatchMeansAccumulator that removes the warm-up transient with MSER.
+public class BatchMeansSimulation {
+    private final QueueSimulation simulation;
+    private final double simulationTime;
+    private final double observationInterval;
+    private final int batches;
+
+    public BatchMeansSimulation(QueueSimulation simulation, double simulationTime,
+                                double observationInterval, int batches) {
+        if (observationInterval <= 0 || observationInterval > simulationTime) {
+            throw new IllegalArgumentException("Invalid observation interval: " + observationInterval);
+        }
+        this.simulation = simulation;
+        this.simulationTime = simulationTime;
+        this.observationInterval = observationInterval;
+        this.batches = batches;
+    }
+
+    public BatchMeansResult run(double lambda, RandomGenerator random, double confidenceLevel) {
+        BatchMeansAccumulator accumulator = new BatchMeansAccumulator();
+        IntervalObserver observer = new IntervalObserver(accumulator, observationInterval,
+                simulation.arrivalRate(lambda));
+
+        simulation.runSingleQueue(lambda, simulationTime, random, observer);
+
+        StatisticsAccumulator batchMeans = accumulator.getBatchMeans(batches);
+        SimulationResult result = new SimulationResult(batchMeans,
+                simulation.theoreticalResponseTime(lambda), confidenceLevel);
+        long observationsPerBatch = batchMeans.getCount() == 0 ? 0
+                : (accumulator.getBuckets() - accumulator.getWarmupBuckets())
+                / batchMeans.getCount() * accumulator.getBucketSize();
+
+        return new BatchMeansResult(result,
+                accumulator.getWarmupObservations() * observationInterval,
+                simulationTime, observationsPerBatch);
+    }
+
+    private static class IntervalObserver implements SimulationListener {
+        private final BatchMeansAccumulator accumulator;
+        private final double interval;
+        private final double lambda;
+
+        private long intervals;
+        private double nextBoundary;
+        private double lastTime;
+        private double area;
+        private int customers;
+
+        IntervalObserver(BatchMeansAccumulator accumulator, double interval, double lambda) {
+            this.accumulator = accumulator;
+            this.interval = interval;
+            this.lambda = lambda;
+            this.nextBoundary = interval;
+        }
+
+        @Override
+        public void onEvent(Event.Type type, double time, QueueState queue) {
+            while (time >= nextBoundary) {
+                area += customers * (nextBoundary - lastTime);
+                accumulator.add(area / (interval * lambda));
+                area = 0.0;
+                lastTime = nextBoundary;
+                nextBoundary = ++intervals * interval + interval;
+            }
+            area += customers * (time - lastTime);
+            lastTime = time;
+            customers = queue.getCustomersInQueue();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Brown's calendar queue: events hash by floor(time / width) into a ring of buckets, each a
+// list sorted by (time, sequence), and dequeue walks the ring one "day" at a time. With the
+// width near the typical gap between pending events both operations are O(1) amortised.
+// The ring doubles or halves with the pending-set size, and the width is re-estimated from
+// the events at the front of the calendar whenever it does. Nodes live in primitive arrays
+// linked by index, with a free list, so scheduling allocates nothing once warmed up.
+public class CalendarEventList implements EventList {
+    private static final int MIN_BUCKETS = 16;
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int WIDTH_SAMPLE = 256;
+    private static final int NONE = -1;
+
+    private double[] times;
+    private long[] sequences;
+    private int[] codes;
+    private int[] links;
+    private int freeNode;
+    private int allocatedNodes;
+
+    private int[] heads;
+    private int bucketMask;
+    private double width;
+    private long currentDay;
+    private int nextBucket;
+    private int size;
+    private long nextSequence;
+    private int resizes;
+
+    public CalendarEventList() {
+        this(1.0);
+    }
+
+    public CalendarEventList(double initialWidth) {
+        if (!(initialWidth > 0) || Double.isInfinite(initialWidth)) {
+            throw new IllegalArgumentException("Bucket width must be positive and finite: " + initialWidth);
+        }
+        this.times = new double[DEFAULT_CAPACITY];
+        this.sequences = new long[DEFAULT_CAPACITY];
+        this.codes = new int[DEFAULT_CAPACITY];
+        this.links = new int[DEFAULT_CAPACITY];
+        this.freeNode = NONE;
+        this.heads = newBuckets(MIN_BUCKETS);
+        this.bucketMask = MIN_BUCKETS - 1;
+        this.width = initialWidth;
+        this.nextBucket = NONE;
+    }
+
+    @Override
+    public void schedule(Event.Type type, double time) {
+        schedule(type, 0, time);
+    }
+
+    @Override
+    public void schedule(Event.Type type, int station, double time) {
+        if (Double.isNaN(time)) {
+            throw new IllegalArgumentException("Event time must not be NaN");
+        }
+        int node = allocate(time, nextSequence++, Event.pack(type, station));
+        long day = day(time);
+        insert(node, day);
+        size++;
+
+        // Every pending event must fall on or after the current day
+        if (day < currentDay) {
+            currentDay = day;
+            nextBucket = NONE;
+        }
+
+        if (size > 2 * heads.length) {
+            resize(heads.length * 2);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double nextTime() {
+        return times[heads[locateNext()]];
+    }
+
+    @Override
+    public Event.Type nextType() {
+        return Event.unpackType(codes[heads[locateNext()]]);
+    }
+
+    @Override
+    public int nextStation() {
+        return Event.unpackStation(codes[heads[locateNext()]]);
+    }
+
+    @Override
+    public void removeNext() {
+        int bucket = locateNext();
+        int node = heads[bucket];
+        heads[bucket] = links[node];
+        links[node] = freeNode;
+        freeNode = node;
+        size--;
+        nextBucket = NONE;
+
+        if (size < heads.length / 2 && heads.length > MIN_BUCKETS) {
+            resize(heads.length / 2);
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        freeNode = NONE;
+        allocatedNodes = 0;
+        size = 0;
+        nextSequence = 0;
+        currentDay = 0;
+        nextBucket = NONE;
+    }
+
+    public int getBuckets() {
+        return heads.length;
+    }
+
+    public double getBucketWidth() {
+        return width;
+    }
+
+    public int getResizes() {
+        return resizes;
+    }
+
+    // Finds the bucket whose head is the earliest event. Bucket heads on the current day
+    // are the earliest, because day(time) never decreases with time; if a whole year of
+    // buckets holds nothing for its day, the calendar jumps straight to the minimum.
+    private int locateNext() {
+        if (nextBucket != NONE) {
+            return nextBucket;
+        }
+        if (size == 0) {
+            throw new IllegalStateException("Event list is empty");
+        }
+
+        for (int i = 0; i < heads.length; i++) {
+            int bucket = (int) (currentDay & bucketMask);
+            int head = heads[bucket];
+            if (head != NONE && day(times[head]) == currentDay) {
+                nextBucket = bucket;
+                return bucket;
+            }
+            currentDay++;
+        }
+
+        int earliest = NONE;
+        for (int bucket = 0; bucket < heads.length; bucket++) {
+            int head = heads[bucket];
+            if (head != NONE && (earliest == NONE || precedes(head, heads[earliest]))) {
+                earliest = bucket;
+            }
+        }
+        currentDay = day(times[heads[earliest]]);
+        nextBucket = earliest;
+        return earliest;
+    }
+
+    private void insert(int node, long day) {
+        int bucket = (int) (day & bucketMask);
+        int previous = NONE;
+        int current = heads[bucket];
+        while (current != NONE && precedes(current, node)) {
+            previous = current;
+            current = links[current];
+        }
+        links[node] = current;
+        if (previous == NONE) {
+            heads[bucket] = node;
+        } else {
+            links[previous] = node;
+        }
+    }
+
+    // Rehashes every node into a ring of the new size. The width becomes three times the
+    // mean gap among the earliest events of an evenly spread sample, as Brown suggests.
+    private void resize(int buckets) {
+        int[] nodes = new int[size];
+        int count = 0;
+        for (int head : heads) {
+            for (int node = head; node != NONE; node = links[node]) {
+                nodes[count++] = node;
+            }
+        }
+
+        width = estimateWidth(nodes);
+        heads = newBuckets(buckets);
+        bucketMask = buckets - 1;
+        resizes++;
+
+        double earliest = Double.POSITIVE_INFINITY;
+        for (int node : nodes) {
+            insert(node, day(times[node]));
+            earliest = Math.min(earliest, times[node]);
+        }
+        currentDay = size == 0 ? 0 : day(earliest);
+        nextBucket = NONE;
+    }
+
+    private double estimateWidth(int[] nodes) {
+        int samples = Math.min(WIDTH_SAMPLE, nodes.length);
+        if (samples < 2) {
+            return width;
+        }
+
+        double[] sample = new double[samples];
+        for (int i = 0; i < samples; i++) {
+            sample[i] = times[nodes[(int) ((long) i * nodes.length / samples)]];
+        }
+        Arrays.sort(sample);
+
+        // Gap between sampled events stands for nodes.length / samples real events
+        int front = Math.max(1, samples / 8);
+        double gap = (sample[front] - sample[0]) / front * samples / nodes.length;
+        if (!(gap > 0) || Double.isInfinite(gap)) {
+            return width;
+        }
+        return 3.0 * gap;
+    }
+
+    private long day(double time) {
+        return (long) Math.floor(time / width);
+    }
+
+    private boolean precedes(int node, int other) {
+        return times[node] < times[other]
+                || (times[node] == times[other] && sequences[node] < sequences[other]);
+    }
+
+    private int allocate(double time, long sequence, int code) {
+        int node;
+        if (freeNode != NONE) {
+            node = freeNode;
+            freeNode = links[node];
+        } else {
+            if (allocatedNodes == times.length) {
+                int capacity = times.length * 2;
+                times = Arrays.copyOf(times, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+                codes = Arrays.copyOf(codes, capacity);
+                links = Arrays.copyOf(links, capacity);
+            }
+            node = allocatedNodes++;
+        }
+        times[node] = time;
+        sequences[node] = sequence;
+        codes[node] = code;
+        return node;
+    }
+
+    private static int[] newBuckets(int buckets) {
+        int[] heads = new int[buckets];
+        Arrays.fill(heads, NONE);
+        return heads;
+    }
+}
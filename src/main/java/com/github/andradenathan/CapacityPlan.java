@@ -0,0 +1,102 @@
+package com.github.andradenathan;
+
+public class CapacityPlan {
+    private final LatencyTarget target;
+    private final double lambda;
+    private final double arrivalRate;
+    private final int servers;
+    private final double lowerBound;
+    private final double upperBound;
+    private final double warmStart;
+    private final SimulationResult estimate;
+    private final boolean feasible;
+    private final boolean conclusive;
+    private final int probes;
+    private final long replications;
+
+    CapacityPlan(LatencyTarget target, double lambda, double arrivalRate, int servers, double lowerBound,
+                 double upperBound, double warmStart, SimulationResult estimate, boolean feasible,
+                 boolean conclusive, int probes, long replications) {
+        this.target = target;
+        this.lambda = lambda;
+        this.arrivalRate = arrivalRate;
+        this.servers = servers;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.warmStart = warmStart;
+        this.estimate = estimate;
+        this.feasible = feasible;
+        this.conclusive = conclusive;
+        this.probes = probes;
+        this.replications = replications;
+    }
+
+    CapacityPlan withTotals(int probes, long replications) {
+        return new CapacityPlan(target, lambda, arrivalRate, servers, lowerBound, upperBound, warmStart, estimate,
+                feasible, conclusive, probes, replications);
+    }
+
+    public LatencyTarget getTarget() {
+        return target;
+    }
+
+    // Per-server utilisation of the answer
+    public double getLambda() {
+        return lambda;
+    }
+
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    public int getServers() {
+        return servers;
+    }
+
+    // Lambda known to meet the target and lambda known to miss it, or the point where
+    // the metric could not be told apart from the threshold
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    // Closed-form answer used to start the search: a lambda, or a server count; NaN or -1
+    // without a closed form
+    public double getWarmStart() {
+        return warmStart;
+    }
+
+    // Simulated metric at the answer, with the closed form as theoretical value
+    public SimulationResult getEstimate() {
+        return estimate;
+    }
+
+    // False when even the lowest load misses the target
+    public boolean isFeasible() {
+        return feasible;
+    }
+
+    // False when some probe stayed within noise of the threshold at max replications
+    public boolean isConclusive() {
+        return conclusive;
+    }
+
+    public int getProbes() {
+        return probes;
+    }
+
+    public long getReplications() {
+        return replications;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CapacityPlan{%s: lambda=%.4f [%.4f, %.4f], arrival rate=%.4f, servers=%d, "
+                        + "estimate=%s, probes=%d, replications=%d%s}",
+                target, lambda, lowerBound, upperBound, arrivalRate, servers, estimate, probes, replications,
+                conclusive ? "" : ", inconclusive");
+    }
+}
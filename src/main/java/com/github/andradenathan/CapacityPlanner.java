@@ -0,0 +1,303 @@
+package com.github.andradenathan;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Finds the highest utilisation lambda, or the fewest servers, that meets a LatencyTarget.
+//
+// Every probe runs replication i on the same pair of arrival and service streams, drawn
+// by inversion, so with common random numbers each replication's latency grows with
+// lambda and neighbouring probes differ by far less than their noise. A probe starts with
+// initialReplications and doubles them, keeping the ones already run, until its confidence
+// interval lies entirely below or above the threshold, or maxReplications is reached;
+// probes are kept, so a lambda is never simulated twice. A closed form of the metric,
+// where one exists, gives the starting bracket.
+public class CapacityPlanner {
+    static final double MIN_UTILISATION = 0.01;
+    static final double MAX_UTILISATION = 0.999;
+    private static final int MAX_SERVERS = 4096;
+
+    private final double simulationTime;
+    private final int initialReplications;
+    private final int maxReplications;
+    private final double confidenceLevel;
+    private final double tolerance;
+    private final long[] arrivalSeeds;
+    private final long[] serviceSeeds;
+    private final RandomGeneratorFactory<RandomGenerator> streams;
+
+    public CapacityPlanner(double simulationTime, int initialReplications, int maxReplications,
+                           double confidenceLevel, double tolerance, long seed) {
+        Distribution.checkPositive("Simulation time", simulationTime);
+        if (initialReplications < 2 || maxReplications < initialReplications) {
+            throw new IllegalArgumentException(String.format(
+                    "Need 2 <= initial replications <= max replications: %d, %d",
+                    initialReplications, maxReplications));
+        }
+        if (!(confidenceLevel > 0.0 && confidenceLevel < 1.0)) {
+            throw new IllegalArgumentException("Confidence level must be in (0, 1): " + confidenceLevel);
+        }
+        Distribution.checkPositive("Tolerance", tolerance);
+        this.simulationTime = simulationTime;
+        this.initialReplications = initialReplications;
+        this.maxReplications = maxReplications;
+        this.confidenceLevel = confidenceLevel;
+        this.tolerance = tolerance;
+        this.streams = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM);
+
+        RandomGenerator seeds = streams.create(seed);
+        this.arrivalSeeds = new long[maxReplications];
+        this.serviceSeeds = new long[maxReplications];
+        for (int i = 0; i < maxReplications; i++) {
+            arrivalSeeds[i] = seeds.nextLong();
+            serviceSeeds[i] = seeds.nextLong();
+        }
+    }
+
+    public CapacityPlanner(double simulationTime, double tolerance, long seed) {
+        this(simulationTime, 10, 160, QueueSimulation.CONFIDENCE_LEVEL, tolerance, seed);
+    }
+
+    // Highest lambda, within tolerance, whose latency is below the target at the
+    // confidence level
+    public CapacityPlan maxLoad(QueueSimulation simulation, LatencyTarget target) {
+        Search search = new Search(simulation, target);
+        double warmStart = analyticRoot(simulation, target);
+
+        double lo = MIN_UTILISATION;
+        double hi = MAX_UTILISATION;
+        if (!Double.isNaN(warmStart)) {
+            // The closed form is steady state; runs from empty are somewhat optimistic
+            double width = Math.max(0.05 * warmStart, 4 * tolerance);
+            lo = Math.max(MIN_UTILISATION, warmStart - width);
+            hi = Math.min(MAX_UTILISATION, warmStart + width);
+            while (lo > MIN_UTILISATION && search.decide(lo) != Decision.BELOW) {
+                hi = lo;
+                lo = Math.max(MIN_UTILISATION, lo - 2 * width);
+            }
+            while (hi < MAX_UTILISATION && search.decide(hi) == Decision.BELOW) {
+                lo = hi;
+                hi = Math.min(MAX_UTILISATION, hi + 2 * width);
+            }
+        }
+
+        if (!search.meets(lo)) {
+            return search.plan(0.0, 0.0, lo, warmStart, simulation.getServers(), false, true);
+        }
+        if (search.meets(hi)) {
+            // Latency does not bind below the stability limit
+            return search.plan(hi, hi, hi, warmStart, simulation.getServers(), true, true);
+        }
+
+        boolean conclusive = true;
+        while (hi - lo > tolerance) {
+            double middle = 0.5 * (lo + hi);
+            // A probe within noise of the threshold at maxReplications goes by its point
+            // estimate; with common random numbers the order of nearby probes still holds
+            if (search.meets(middle)) {
+                lo = middle;
+            } else {
+                hi = middle;
+            }
+            conclusive &= search.decide(middle) != Decision.UNDECIDED;
+        }
+        return search.plan(lo, lo, hi, warmStart, simulation.getServers(), true, conclusive);
+    }
+
+    // Fewest servers that keep the latency below the target at the given arrival rate.
+    // Servers are added to the simulation's definition, with its per-server service times.
+    public CapacityPlan minServers(QueueSimulation simulation, double arrivalRate, LatencyTarget target) {
+        Distribution.checkPositive("Arrival rate", arrivalRate);
+        double serviceRate = simulation.getServiceRate();
+        int stable = (int) Math.floor(arrivalRate / serviceRate / MAX_UTILISATION) + 1;
+
+        Map<Integer, Search> searches = new HashMap<>();
+        int warmStart = -1;
+        for (int servers = stable; servers <= MAX_SERVERS; servers++) {
+            QueueSimulation candidate = withServers(simulation, servers);
+            double analytic = target.analytic(candidate, utilisation(arrivalRate, serviceRate, servers));
+            if (Double.isNaN(analytic)) {
+                break;
+            }
+            if (analytic <= target.getThreshold()) {
+                warmStart = servers;
+                break;
+            }
+        }
+
+        // No server count beats a single server that is almost always idle: the latency
+        // there is essentially the service time alone
+        Search idle = search(searches, simulation, target, 1);
+        if (!idle.meets(MIN_UTILISATION)) {
+            return idle.plan(0.0, 0.0, 0.0, warmStart, 0, false, true).withTotals(idle.probes.size(),
+                    idle.replications());
+        }
+
+        int servers = Math.max(stable, warmStart);
+        boolean conclusive = true;
+        // Walk up until the target is met, then down while it still is
+        while (!search(searches, simulation, target, servers).meets(utilisation(arrivalRate, serviceRate, servers))) {
+            conclusive &= searches.get(servers).decide(utilisation(arrivalRate, serviceRate, servers))
+                    != Decision.UNDECIDED;
+            if (++servers > MAX_SERVERS) {
+                throw new IllegalStateException("No server count up to " + MAX_SERVERS + " meets " + target);
+            }
+        }
+        conclusive &= searches.get(servers).decide(utilisation(arrivalRate, serviceRate, servers))
+                != Decision.UNDECIDED;
+        while (servers > stable) {
+            Search fewer = search(searches, simulation, target, servers - 1);
+            double lambda = utilisation(arrivalRate, serviceRate, servers - 1);
+            boolean meets = fewer.meets(lambda);
+            conclusive &= fewer.decide(lambda) != Decision.UNDECIDED;
+            if (!meets) {
+                break;
+            }
+            servers--;
+        }
+
+        double lambda = utilisation(arrivalRate, serviceRate, servers);
+        int probes = 0;
+        long replications = 0;
+        for (Search search : searches.values()) {
+            probes += search.probes.size();
+            replications += search.replications();
+        }
+        CapacityPlan plan = searches.get(servers).plan(lambda, lambda, lambda, warmStart, servers, true,
+                conclusive);
+        return plan.withTotals(probes, replications);
+    }
+
+    private Search search(Map<Integer, Search> searches, QueueSimulation simulation, LatencyTarget target,
+                          int servers) {
+        return searches.computeIfAbsent(servers, c -> new Search(withServers(simulation, c), target));
+    }
+
+    private static QueueSimulation withServers(QueueSimulation simulation, int servers) {
+        return new QueueSimulation(simulation.getInterarrivalTimes(), simulation.getServiceTimes(), 0L, servers,
+                TwoSlotEventList::new);
+    }
+
+    private static double utilisation(double arrivalRate, double serviceRate, int servers) {
+        return arrivalRate / (servers * serviceRate);
+    }
+
+    // Root of the closed form by bisection; it grows with lambda. NaN without one.
+    static double analyticRoot(QueueSimulation simulation, LatencyTarget target) {
+        double lo = MIN_UTILISATION;
+        double hi = MAX_UTILISATION;
+        double atLo = target.analytic(simulation, lo);
+        if (Double.isNaN(atLo) || atLo > target.getThreshold()) {
+            return Double.NaN;
+        }
+        if (target.analytic(simulation, hi) <= target.getThreshold()) {
+            return hi;
+        }
+        for (int i = 0; i < 60; i++) {
+            double middle = 0.5 * (lo + hi);
+            if (target.analytic(simulation, middle) <= target.getThreshold()) {
+                lo = middle;
+            } else {
+                hi = middle;
+            }
+        }
+        return lo;
+    }
+
+    private enum Decision {
+        BELOW,
+        ABOVE,
+        UNDECIDED
+    }
+
+    // Probes of one system, keyed by lambda
+    private final class Search {
+        private final QueueSimulation simulation;
+        private final LatencyTarget target;
+        private final Map<Double, Probe> probes = new HashMap<>();
+
+        private Search(QueueSimulation simulation, LatencyTarget target) {
+            this.simulation = simulation;
+            this.target = target;
+        }
+
+        private Probe probe(double lambda) {
+            return probes.computeIfAbsent(lambda, l -> new Probe());
+        }
+
+        // An undecided probe counts by its point estimate
+        private boolean meets(double lambda) {
+            Decision decision = decide(lambda);
+            if (decision != Decision.UNDECIDED) {
+                return decision == Decision.BELOW;
+            }
+            return probes.get(lambda).statistics.getMean() <= target.getThreshold();
+        }
+
+        private Decision decide(double lambda) {
+            Probe probe = probe(lambda);
+            int replications = Math.max(initialReplications, (int) probe.statistics.getCount());
+            while (true) {
+                extend(probe, lambda, replications);
+                double mean = probe.statistics.getMean();
+                double halfWidth = probe.statistics.getConfidenceHalfWidth(confidenceLevel);
+                if (mean + halfWidth < target.getThreshold()) {
+                    return Decision.BELOW;
+                }
+                if (mean - halfWidth > target.getThreshold()) {
+                    return Decision.ABOVE;
+                }
+                if (replications == maxReplications) {
+                    return Decision.UNDECIDED;
+                }
+                replications = Math.min(maxReplications, 2 * replications);
+            }
+        }
+
+        // Runs replications [count, replications) of the probe on the shared streams
+        private void extend(Probe probe, double lambda, int replications) {
+            Distribution arrivals = simulation.arrivalsAt(lambda);
+            Distribution services = simulation.getServiceTimes();
+            for (int i = (int) probe.statistics.getCount(); i < replications; i++) {
+                ExponentialVariates arrivalVariates = ExponentialVariates.inversion(streams.create(arrivalSeeds[i]));
+                ExponentialVariates serviceVariates = ExponentialVariates.inversion(streams.create(serviceSeeds[i]));
+                if (target.isMean()) {
+                    probe.statistics.add(simulation.runSingleQueue(arrivals, services, arrivalVariates,
+                            serviceVariates, simulationTime, null).getAverageTimeInSystem());
+                } else {
+                    LogLinearHistogram timeInSystem = new LogLinearHistogram();
+                    simulation.runSingleQueue(arrivals, services, arrivalVariates, serviceVariates, simulationTime,
+                            (type, time, queue) -> {
+                                if (type == Event.Type.DEPARTURE) {
+                                    timeInSystem.record(queue.getLastTimeInSystem());
+                                }
+                            });
+                    probe.statistics.add(timeInSystem.getValueAtPercentile(target.getPercentile()));
+                }
+            }
+        }
+
+        private long replications() {
+            long total = 0;
+            for (Probe probe : probes.values()) {
+                total += probe.statistics.getCount();
+            }
+            return total;
+        }
+
+        private CapacityPlan plan(double answer, double lower, double upper, double warmStart, int servers,
+                                  boolean feasible, boolean conclusive) {
+            Probe probe = probes.get(answer);
+            SimulationResult estimate = probe == null ? null
+                    : new SimulationResult(probe.statistics, target.analytic(simulation, answer), confidenceLevel);
+            return new CapacityPlan(target, answer, simulation.arrivalRate(answer), servers, lower, upper,
+                    warmStart, estimate, feasible, conclusive, probes.size(), replications());
+        }
+    }
+
+    private static final class Probe {
+        private final StatisticsAccumulator statistics = new StatisticsAccumulator();
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// 4-ary min-heap of busy servers keyed by completion time, carrying each customer's
+// arrival time. Idle servers are not stored, so cost depends only on log(busy servers).
+public class CompletionHeap {
+    private static final int ARITY = 4;
+
+    private double[] completionTimes;
+    private double[] arrivalTimes;
+    private int size;
+
+    public CompletionHeap(int initialCapacity) {
+        this.completionTimes = new double[Math.max(1, initialCapacity)];
+        this.arrivalTimes = new double[completionTimes.length];
+        this.size = 0;
+    }
+
+    public void add(double completionTime, double arrivalTime) {
+        if (size == completionTimes.length) {
+            completionTimes = Arrays.copyOf(completionTimes, size * 2);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, size * 2);
+        }
+
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            if (completionTimes[parent] <= completionTime) {
+                break;
+            }
+            completionTimes[index] = completionTimes[parent];
+            arrivalTimes[index] = arrivalTimes[parent];
+            index = parent;
+        }
+        completionTimes[index] = completionTime;
+        arrivalTimes[index] = arrivalTime;
+    }
+
+    public double peekCompletionTime() {
+        checkNotEmpty();
+        return completionTimes[0];
+    }
+
+    public double peekArrivalTime() {
+        checkNotEmpty();
+        return arrivalTimes[0];
+    }
+
+    public void removeFirst() {
+        checkNotEmpty();
+        size--;
+        if (size == 0) {
+            return;
+        }
+
+        double completionTime = completionTimes[size];
+        double arrivalTime = arrivalTimes[size];
+        int index = 0;
+        while (true) {
+            int first = index * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + ARITY, size);
+            int smallest = first;
+            for (int child = first + 1; child < last; child++) {
+                if (completionTimes[child] < completionTimes[smallest]) {
+                    smallest = child;
+                }
+            }
+            if (completionTimes[smallest] >= completionTime) {
+                break;
+            }
+            completionTimes[index] = completionTimes[smallest];
+            arrivalTimes[index] = arrivalTimes[smallest];
+            index = smallest;
+        }
+        completionTimes[index] = completionTime;
+        arrivalTimes[index] = arrivalTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("No busy server");
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Control-variate estimate of a mean from independent observations y paired with controls
+// whose true means are zero (Lavenberg & Welch). The coefficients come from the least
+// squares fit of y on the controls, solved with the sweep operator; a control whose
+// variance is nil, or which is collinear with controls already in the fit, is left out.
+public class ControlVariateEstimator {
+    private static final double COLLINEARITY_TOLERANCE = 1e-10;
+
+    private final int controls;
+    private double[] observations;
+    private double[] controlValues;
+    private int count;
+
+    public ControlVariateEstimator(int controls) {
+        if (controls < 0) {
+            throw new IllegalArgumentException("Controls must be non-negative: " + controls);
+        }
+        this.controls = controls;
+        this.observations = new double[16];
+        this.controlValues = new double[16 * controls];
+    }
+
+    public void add(double observation, double... controlValues) {
+        if (controlValues.length != controls) {
+            throw new IllegalArgumentException(String.format(
+                    "Expected %d controls, got %d", controls, controlValues.length));
+        }
+        if (count == observations.length) {
+            observations = Arrays.copyOf(observations, count * 2);
+            this.controlValues = Arrays.copyOf(this.controlValues, count * 2 * controls);
+        }
+        observations[count] = observation;
+        System.arraycopy(controlValues, 0, this.controlValues, count * controls, controls);
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Fit fit() {
+        int m = controls + 1;
+        double[] means = new double[m];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < controls; j++) {
+                means[j] += controlValues[i * controls + j];
+            }
+            means[controls] += observations[i];
+        }
+        for (int j = 0; j < m; j++) {
+            means[j] /= count;
+        }
+
+        // Centred cross products of (controls, y); y is the last row and column
+        double[][] sweep = new double[m][m];
+        double[] centred = new double[m];
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < controls; j++) {
+                centred[j] = controlValues[i * controls + j] - means[j];
+            }
+            centred[controls] = observations[i] - means[controls];
+            for (int j = 0; j < m; j++) {
+                for (int l = 0; l < m; l++) {
+                    sweep[j][l] += centred[j] * centred[l];
+                }
+            }
+        }
+        double crudeVariance = sweep[controls][controls] / (count - 1.0) / count;
+
+        double[] sumsOfSquares = new double[controls];
+        for (int k = 0; k < controls; k++) {
+            sumsOfSquares[k] = sweep[k][k];
+        }
+        boolean[] used = new boolean[controls];
+        int retained = 0;
+        for (int k = 0; k < controls && retained < count - 2; k++) {
+            // Skip a control that is constant or explained by the controls already swept
+            if (!(sweep[k][k] > COLLINEARITY_TOLERANCE * sumsOfSquares[k])) {
+                continue;
+            }
+            sweep(sweep, k);
+            used[k] = true;
+            retained++;
+        }
+
+        double[] coefficients = new double[controls];
+        double estimate = means[controls];
+        // After the sweep the used block holds minus the inverse cross-product matrix
+        double leverage = 0.0;
+        for (int j = 0; j < controls; j++) {
+            if (!used[j]) {
+                continue;
+            }
+            coefficients[j] = sweep[j][controls];
+            estimate -= coefficients[j] * means[j];
+            for (int l = 0; l < controls; l++) {
+                if (used[l]) {
+                    leverage -= means[j] * sweep[j][l] * means[l];
+                }
+            }
+        }
+
+        long degreesOfFreedom = count - 1L - retained;
+        double residualVariance = Math.max(0.0, sweep[controls][controls]) / degreesOfFreedom;
+        double variance = retained == 0
+                ? crudeVariance
+                : residualVariance * (1.0 / count + leverage);
+        return new Fit(estimate, variance, crudeVariance, degreesOfFreedom, coefficients, retained);
+    }
+
+    private static void sweep(double[][] a, int k) {
+        int m = a.length;
+        double pivot = a[k][k];
+        for (int i = 0; i < m; i++) {
+            if (i == k) {
+                continue;
+            }
+            for (int j = 0; j < m; j++) {
+                if (j != k) {
+                    a[i][j] -= a[i][k] * a[k][j] / pivot;
+                }
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            if (i != k) {
+                a[i][k] /= pivot;
+                a[k][i] /= pivot;
+            }
+        }
+        a[k][k] = -1.0 / pivot;
+    }
+
+    public static final class Fit {
+        private final double estimate;
+        private final double variance;
+        private final double crudeVariance;
+        private final long degreesOfFreedom;
+        private final double[] coefficients;
+        private final int controlsUsed;
+
+        private Fit(double estimate, double variance, double crudeVariance, long degreesOfFreedom,
+                    double[] coefficients, int controlsUsed) {
+            this.estimate = estimate;
+            this.variance = variance;
+            this.crudeVariance = crudeVariance;
+            this.degreesOfFreedom = degreesOfFreedom;
+            this.coefficients = coefficients;
+            this.controlsUsed = controlsUsed;
+        }
+
+        public double getEstimate() {
+            return estimate;
+        }
+
+        // Estimated variance of the estimate
+        public double getVariance() {
+            return variance;
+        }
+
+        // Variance of the plain sample mean of the same observations
+        public double getCrudeVariance() {
+            return crudeVariance;
+        }
+
+        public long getDegreesOfFreedom() {
+            return degreesOfFreedom;
+        }
+
+        public double getCoefficient(int control) {
+            return coefficients[control];
+        }
+
+        public int getControlsUsed() {
+            return controlsUsed;
+        }
+
+        public double getConfidenceHalfWidth(double confidenceLevel) {
+            if (degreesOfFreedom < 1) {
+                return Double.NaN;
+            }
+            double t = StudentT.quantile(1.0 - (1.0 - confidenceLevel) / 2.0, degreesOfFreedom);
+            return t * Math.sqrt(variance);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.andradenathan;
+
+public class CustomerTimeline {
+    private final long customer;
+    private final double arrivalTime;
+    private final double serviceStartTime;
+    private final double departureTime;
+
+    public CustomerTimeline(long customer, double arrivalTime, double serviceStartTime, double departureTime) {
+        this.customer = customer;
+        this.arrivalTime = arrivalTime;
+        this.serviceStartTime = serviceStartTime;
+        this.departureTime = departureTime;
+    }
+
+    // Zero-based arrival order
+    public long getCustomer() {
+        return customer;
+    }
+
+    public double getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public double getServiceStartTime() {
+        return serviceStartTime;
+    }
+
+    public double getDepartureTime() {
+        return departureTime;
+    }
+
+    public double getWaitingTime() {
+        return serviceStartTime - arrivalTime;
+    }
+
+    public double getServiceTime() {
+        return departureTime - serviceStartTime;
+    }
+
+    public double getTimeInSystem() {
+        return departureTime - arrivalTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Customer{id=%d, arrival=%.4f, start=%.4f, departure=%.4f}",
+                customer, arrivalTime, serviceStartTime, departureTime);
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Each event is a double time, a long sequence for FIFO ties and one int code packing
+// (station << 2 | type), so an entry costs 20 bytes and no objects regardless of how
+// many stations share the list.
+public class DaryHeapEventList implements EventList {
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private double[] times;
+    private long[] sequences;
+    private int[] codes;
+    private int size;
+    private long nextSequence;
+
+    public DaryHeapEventList() {
+        this(DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    public DaryHeapEventList(int arity, int initialCapacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        }
+        this.arity = arity;
+        this.times = new double[Math.max(1, initialCapacity)];
+        this.sequences = new long[times.length];
+        this.codes = new int[times.length];
+        this.size = 0;
+    }
+
+    @Override
+    public void schedule(Event.Type type, double time) {
+        schedule(type, 0, time);
+    }
+
+    @Override
+    public void schedule(Event.Type type, int station, double time) {
+        int code = Event.pack(type, station);
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            sequences = Arrays.copyOf(sequences, size * 2);
+            codes = Arrays.copyOf(codes, size * 2);
+        }
+        siftUp(size++, time, nextSequence++, code);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public double nextTime() {
+        checkNotEmpty();
+        return times[0];
+    }
+
+    @Override
+    public Event.Type nextType() {
+        checkNotEmpty();
+        return Event.unpackType(codes[0]);
+    }
+
+    @Override
+    public int nextStation() {
+        checkNotEmpty();
+        return Event.unpackStation(codes[0]);
+    }
+
+    @Override
+    public void removeNext() {
+        checkNotEmpty();
+        size--;
+        if (size > 0) {
+            siftDown(0, times[size], sequences[size], codes[size]);
+        }
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nextSequence = 0;
+    }
+
+    private boolean precedes(int index, double time, long sequence) {
+        return times[index] < time || (times[index] == time && sequences[index] < sequence);
+    }
+
+    private void siftUp(int index, double time, long sequence, int code) {
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            if (precedes(parent, time, sequence)) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        times[index] = time;
+        sequences[index] = sequence;
+        codes[index] = code;
+    }
+
+    private void siftDown(int index, double time, long sequence, int code) {
+        while (true) {
+            int first = index * arity + 1;
+            if (first >= size) {
+                break;
+            }
+
+            int last = Math.min(first + arity, size);
+            int smallest = first;
+            for (int child = first + 1; child < last; child++) {
+                if (precedes(child, times[smallest], sequences[smallest])) {
+                    smallest = child;
+                }
+            }
+
+            if (!precedes(smallest, time, sequence)) {
+                break;
+            }
+            move(smallest, index);
+            index = smallest;
+        }
+        times[index] = time;
+        sequences[index] = sequence;
+        codes[index] = code;
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        sequences[to] = sequences[from];
+        codes[to] = codes[from];
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new IllegalStateException("Event list is empty");
+        }
+    }
+}
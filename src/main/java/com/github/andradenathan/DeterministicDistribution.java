@@ -0,0 +1,47 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+public class DeterministicDistribution implements Distribution {
+    private final double value;
+
+    public DeterministicDistribution(double value) {
+        Distribution.checkPositive("Value", value);
+        this.value = value;
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        return value;
+    }
+
+    @Override
+    public void fill(ExponentialVariates variates, double[] samples, int from, int to) {
+        Arrays.fill(samples, from, to, value);
+    }
+
+    @Override
+    public double getMean() {
+        return value;
+    }
+
+    @Override
+    public double getSecondMoment() {
+        return value * value;
+    }
+
+    @Override
+    public DeterministicDistribution withMean(double mean) {
+        return new DeterministicDistribution(mean);
+    }
+
+    @Override
+    public String describe() {
+        return "Deterministic(" + value + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Deterministic(%.4f)", value);
+    }
+}
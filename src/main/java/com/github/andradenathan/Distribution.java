@@ -0,0 +1,42 @@
+package com.github.andradenathan;
+
+// Non-negative time distribution used for interarrival and service times. Samples are
+// drawn from an ExponentialVariates so the exponential family reuses its bulk buffer;
+// other families take uniforms or Gaussians from its underlying generator.
+public interface Distribution {
+    double sample(ExponentialVariates variates);
+
+    double getMean();
+
+    // E[X^2]; infinite when the variance is
+    double getSecondMoment();
+
+    // Same shape rescaled to the given mean
+    Distribution withMean(double mean);
+
+    // Exact family and parameters, e.g. for cache keys; equal descriptions mean equal
+    // distributions
+    String describe();
+
+    default void fill(ExponentialVariates variates, double[] samples, int from, int to) {
+        for (int i = from; i < to; i++) {
+            samples[i] = sample(variates);
+        }
+    }
+
+    default double getVariance() {
+        double mean = getMean();
+        return getSecondMoment() - mean * mean;
+    }
+
+    default double getSquaredCoefficientOfVariation() {
+        double mean = getMean();
+        return getVariance() / (mean * mean);
+    }
+
+    static void checkPositive(String name, double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(name + " must be positive and finite: " + value);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.andradenathan;
+
+import java.util.NoSuchElementException;
+
+// Growable FIFO of primitive doubles. Capacity is a power of two so indices wrap with a mask.
+public class DoubleRingBuffer {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] elements;
+    private int head;
+    private int size;
+
+    public DoubleRingBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DoubleRingBuffer(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+        this.elements = new double[capacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    public void add(double value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public double peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Ring buffer is empty");
+        }
+        return elements[head];
+    }
+
+    public double poll() {
+        double value = peek();
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        double[] grown = new double[elements.length * 2];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Discrete distribution over observed values, sampled in O(1) with Vose's alias method:
+// one uniform picks a column and its fractional part chooses the value or its alias.
+// Each column stores (threshold, value, alias) side by side, so a draw touches one cache
+// line even when the table is far larger than the cache.
+public class EmpiricalDistribution implements Distribution {
+    private static final int COLUMN = 3;
+
+    private final double[] values;
+    private final double[] weights;
+    private final double[] table;
+
+    public EmpiricalDistribution(double[] values) {
+        this(values, uniformWeights(values.length));
+    }
+
+    public EmpiricalDistribution(double[] values, double[] weights) {
+        int n = values.length;
+        if (n == 0 || weights.length != n) {
+            throw new IllegalArgumentException("Need one weight per value");
+        }
+        double total = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (!(values[i] >= 0) || Double.isInfinite(values[i])) {
+                throw new IllegalArgumentException("Values must be non-negative and finite: " + values[i]);
+            }
+            if (!(weights[i] >= 0) || Double.isInfinite(weights[i])) {
+                throw new IllegalArgumentException("Weights must be non-negative and finite: " + weights[i]);
+            }
+            total += weights[i];
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+
+        this.values = values.clone();
+        this.weights = weights.clone();
+        this.table = new double[COLUMN * n];
+
+        // Vose: columns below the average are topped up by one column above it
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            setColumn(less, scaled[less], values[more]);
+            scaled[more] -= 1.0 - scaled[less];
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding
+        while (largeCount > 0) {
+            int column = large[--largeCount];
+            setColumn(column, 1.0, values[column]);
+        }
+        while (smallCount > 0) {
+            int column = small[--smallCount];
+            setColumn(column, 1.0, values[column]);
+        }
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        double u = variates.getRandom().nextDouble() * values.length;
+        int column = (int) u;
+        int offset = COLUMN * column;
+        return u - column < table[offset] ? table[offset + 1] : table[offset + 2];
+    }
+
+    private void setColumn(int column, double threshold, double alias) {
+        table[COLUMN * column] = threshold;
+        table[COLUMN * column + 1] = values[column];
+        table[COLUMN * column + 2] = alias;
+    }
+
+    @Override
+    public double getMean() {
+        double total = 0.0;
+        double sum = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            total += weights[i];
+            sum += weights[i] * values[i];
+        }
+        return sum / total;
+    }
+
+    @Override
+    public double getSecondMoment() {
+        double total = 0.0;
+        double sum = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            total += weights[i];
+            sum += weights[i] * values[i] * values[i];
+        }
+        return sum / total;
+    }
+
+    @Override
+    public EmpiricalDistribution withMean(double mean) {
+        Distribution.checkPositive("Mean", mean);
+        double factor = mean / getMean();
+        double[] scaled = values.clone();
+        for (int i = 0; i < scaled.length; i++) {
+            scaled[i] *= factor;
+        }
+        return new EmpiricalDistribution(scaled, weights);
+    }
+
+    public int getSupportSize() {
+        return values.length;
+    }
+
+    private static double[] uniformWeights(int n) {
+        double[] weights = new double[n];
+        Arrays.fill(weights, 1.0);
+        return weights;
+    }
+
+    @Override
+    public String describe() {
+        return "Empirical(values=" + Arrays.toString(values) + ", weights=" + Arrays.toString(weights) + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Empirical(n=%d, mean=%.4f)", values.length, getMean());
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.andradenathan;
+
+public final class ErlangC {
+    private ErlangC() {
+    }
+
+    // Erlang-B through the recursion B(k) = a B(k-1) / (k + a B(k-1)), which stays stable
+    // for thousands of servers where the factorial form overflows.
+    public static double blockingProbability(int servers, double offeredLoad) {
+        if (servers < 1) {
+            throw new IllegalArgumentException("Servers must be positive: " + servers);
+        }
+        double blocking = 1.0;
+        for (int k = 1; k <= servers; k++) {
+            blocking = offeredLoad * blocking / (k + offeredLoad * blocking);
+        }
+        return blocking;
+    }
+
+    public static double probabilityOfWaiting(int servers, double offeredLoad) {
+        double utilisation = offeredLoad / servers;
+        if (utilisation >= 1.0) {
+            throw new IllegalArgumentException("Unstable system: utilisation " + utilisation);
+        }
+        double blocking = blockingProbability(servers, offeredLoad);
+        return blocking / (1.0 - utilisation * (1.0 - blocking));
+    }
+
+    public static double meanWaitingTime(double arrivalRate, double serviceRate, int servers) {
+        double offeredLoad = arrivalRate / serviceRate;
+        return probabilityOfWaiting(servers, offeredLoad) / (servers * serviceRate - arrivalRate);
+    }
+
+    public static double meanResponseTime(double arrivalRate, double serviceRate, int servers) {
+        return meanWaitingTime(arrivalRate, serviceRate, servers) + 1.0 / serviceRate;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.andradenathan;
+
+// Sum of k exponential phases of the given rate; SCV = 1/k.
+public class ErlangDistribution implements Distribution {
+    private final int phases;
+    private final double rate;
+
+    public ErlangDistribution(int phases, double rate) {
+        if (phases < 1) {
+            throw new IllegalArgumentException("Phases must be positive: " + phases);
+        }
+        Distribution.checkPositive("Rate", rate);
+        this.phases = phases;
+        this.rate = rate;
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        double sum = 0.0;
+        for (int i = 0; i < phases; i++) {
+            sum += variates.next();
+        }
+        return sum / rate;
+    }
+
+    @Override
+    public double getMean() {
+        return phases / rate;
+    }
+
+    @Override
+    public double getSecondMoment() {
+        return phases * (phases + 1.0) / (rate * rate);
+    }
+
+    @Override
+    public ErlangDistribution withMean(double mean) {
+        return new ErlangDistribution(phases, phases / mean);
+    }
+
+    public int getPhases() {
+        return phases;
+    }
+
+    @Override
+    public String describe() {
+        return "Erlang(k=" + phases + ", rate=" + rate + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Erlang(k=%d, rate=%.4f)", phases, rate);
+    }
+}
@@ -1,17 +1,55 @@
 package com.github.andradenathan;
 
+// Events at the same time are ordered by sequence, the order in which they were
+// scheduled, so PriorityQueueEventList, DaryHeapEventList and CalendarEventList break
+// ties the same way. TwoSlotEventList does not: it sends ties to the departure.
 public class Event implements Comparable<Event> {
     public enum Type {
         ARRIVAL,
-        DEPARTURE
+        DEPARTURE,
+        // Customer routed in from another station of a network
+        TRANSFER
     }
 
+    private static final Type[] TYPES = Type.values();
+    private static final int TYPE_BITS = 2;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    static final int MAX_STATION = Integer.MAX_VALUE >>> TYPE_BITS;
+
     private final Type type;
+    private final int station;
     private final double time;
+    private final long sequence;
 
     public Event(Type type, double time) {
+        this(type, 0, time);
+    }
+
+    public Event(Type type, int station, double time) {
+        this(type, station, time, 0);
+    }
+
+    public Event(Type type, int station, double time, long sequence) {
         this.type = type;
+        this.station = station;
         this.time = time;
+        this.sequence = sequence;
+    }
+
+    // Primitive event lists store (station << 2 | type) in one int instead of an Event
+    static int pack(Type type, int station) {
+        if (station < 0 || station > MAX_STATION) {
+            throw new IllegalArgumentException("Station out of range: " + station);
+        }
+        return (station << TYPE_BITS) | type.ordinal();
+    }
+
+    static Type unpackType(int code) {
+        return TYPES[code & TYPE_MASK];
+    }
+
+    static int unpackStation(int code) {
+        return code >>> TYPE_BITS;
     }
 
     public double getTime() {
@@ -22,13 +60,22 @@ public class Event implements Comparable<Event> {
         return type;
     }
 
+    public int getStation() {
+        return station;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
     @Override
     public int compareTo(Event other) {
-        return Double.compare(this.time, other.time);
+        int byTime = Double.compare(this.time, other.time);
+        return byTime != 0 ? byTime : Long.compare(this.sequence, other.sequence);
     }
 
     @Override
     public String toString() {
-        return String.format("Event{type=%s, time=%.4f}", type, time);
+        return String.format("Event{type=%s, station=%d, time=%.4f}", type, station, time);
     }
 }
@@ -0,0 +1,21 @@
+package com.github.andradenathan;
+
+public interface EventList {
+    void schedule(Event.Type type, double time);
+
+    void schedule(Event.Type type, int station, double time);
+
+    boolean isEmpty();
+
+    int size();
+
+    double nextTime();
+
+    Event.Type nextType();
+
+    int nextStation();
+
+    void removeNext();
+
+    void clear();
+}
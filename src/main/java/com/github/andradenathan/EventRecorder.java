@@ -0,0 +1,149 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Binary log of every processed event, little-endian:
+//
+//   header  int magic, int version, int block records, int reserved
+//   blocks  n event times (double) followed by the same n codes (int), where
+//           code = queue length << 2 | event type ordinal
+//
+// Every block holds `block records` records except possibly the last, so the record count
+// follows from the file size. Events are staged in two primitive arrays, the cheapest store
+// the event loop can make; a full block is copied in bulk into whichever of two
+// preallocated direct buffers is free and handed to an asynchronous channel write, so the
+// simulation only waits when the disk falls a whole block behind.
+public class EventRecorder implements SimulationListener, AutoCloseable {
+    static final int MAGIC = 0x4D4D5145;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = Double.BYTES + Integer.BYTES;
+    static final int MAX_BLOCK_RECORDS = Integer.MAX_VALUE / RECORD_BYTES;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int DEFAULT_BLOCK_RECORDS = 1 << 16;
+
+    private final AsynchronousFileChannel channel;
+    private final double[] times;
+    private final int[] codes;
+    private ByteBuffer free;
+    private ByteBuffer writing;
+    private Future<Integer> pending;
+    private int count;
+    private long flushedRecords;
+    private long written;
+    private boolean closed;
+
+    public EventRecorder(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_RECORDS);
+    }
+
+    public EventRecorder(Path path, int blockRecords) throws IOException {
+        if (blockRecords < 1 || blockRecords > MAX_BLOCK_RECORDS) {
+            throw new IllegalArgumentException("Block records out of range: " + blockRecords);
+        }
+        this.times = new double[blockRecords];
+        this.codes = new int[blockRecords];
+        this.free = ByteBuffer.allocateDirect(blockRecords * RECORD_BYTES).order(ORDER);
+        this.writing = ByteBuffer.allocateDirect(blockRecords * RECORD_BYTES).order(ORDER);
+        this.channel = AsynchronousFileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+            header.putInt(MAGIC).putInt(VERSION).putInt(blockRecords).putInt(0).flip();
+            while (header.hasRemaining()) {
+                written += await(channel.write(header, written));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    static int code(Event.Type type, int queueLength) {
+        return queueLength << 2 | type.ordinal();
+    }
+
+    @Override
+    public void onEvent(Event.Type type, double time, QueueState queue) {
+        if (closed) {
+            throw new IllegalStateException("Event recorder is closed");
+        }
+        times[count] = time;
+        codes[count] = code(type, queue.getCustomersInQueue());
+
+        if (++count == times.length) {
+            try {
+                flushBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public long getRecords() {
+        return flushedRecords + count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            flushBlock();
+            awaitPending();
+        }
+    }
+
+    // The copy goes into the free buffer while the previous block may still be in flight;
+    // only the submission waits for it.
+    private void flushBlock() throws IOException {
+        if (count == 0) {
+            return;
+        }
+        ByteBuffer block = free.clear();
+        block.asDoubleBuffer().put(times, 0, count);
+        block.position(count * Double.BYTES);
+        block.asIntBuffer().put(codes, 0, count);
+        block.position(count * RECORD_BYTES).flip();
+        flushedRecords += count;
+        count = 0;
+
+        awaitPending();
+        free = writing;
+        writing = block;
+        pending = channel.write(writing, written);
+    }
+
+    // A single write may be partial, so the rest of the block is resubmitted until done.
+    private void awaitPending() throws IOException {
+        while (pending != null) {
+            written += await(pending);
+            pending = writing.hasRemaining() ? channel.write(writing, written) : null;
+        }
+    }
+
+    private static int await(Future<Integer> write) throws IOException {
+        try {
+            return write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing the event recording");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
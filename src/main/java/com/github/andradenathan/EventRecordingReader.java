@@ -0,0 +1,146 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cursor over an EventRecorder log, reading one block at a time into a direct buffer.
+// The bulk read methods consume the records left after the cursor.
+public class EventRecordingReader implements AutoCloseable {
+    private static final Event.Type[] TYPES = Event.Type.values();
+
+    private final FileChannel channel;
+    private final int blockRecords;
+    private final long records;
+    private final ByteBuffer block;
+    private long blockStart;
+    private int blockSize;
+    private int index;
+    private double time;
+    private int code;
+
+    public EventRecordingReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(EventRecorder.HEADER_BYTES).order(EventRecorder.ORDER);
+            readFully(header, 0);
+            if (header.getInt(0) != EventRecorder.MAGIC) {
+                throw new IOException("Not an event recording");
+            }
+            if (header.getInt(4) != EventRecorder.VERSION) {
+                throw new IOException("Unsupported event recording version: " + header.getInt(4));
+            }
+            this.blockRecords = header.getInt(8);
+            if (blockRecords < 1 || blockRecords > EventRecorder.MAX_BLOCK_RECORDS) {
+                throw new IOException("Corrupt event recording header");
+            }
+            long body = channel.size() - EventRecorder.HEADER_BYTES;
+            if (body % EventRecorder.RECORD_BYTES != 0) {
+                throw new IOException("Event recording ends inside a record");
+            }
+            this.records = body / EventRecorder.RECORD_BYTES;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.block = ByteBuffer.allocateDirect((int) Math.min(records, blockRecords) * EventRecorder.RECORD_BYTES)
+                .order(EventRecorder.ORDER);
+        this.blockStart = -blockRecords;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    // Moves to the next record; false once the recording is exhausted.
+    public boolean next() throws IOException {
+        if (index + 1 >= blockSize) {
+            if (blockStart + blockRecords >= records) {
+                index = blockSize;
+                return false;
+            }
+            loadBlock(blockStart + blockRecords);
+        } else {
+            index++;
+        }
+        time = block.getDouble(index * Double.BYTES);
+        code = block.getInt(blockSize * Double.BYTES + index * Integer.BYTES);
+        return true;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public Event.Type getType() {
+        return TYPES[code & 3];
+    }
+
+    // Customers in the system right after the event
+    public int getQueueLength() {
+        return code >>> 2;
+    }
+
+    // Zero-based index of the current record
+    public long getPosition() {
+        return blockStart + index;
+    }
+
+    public QueueLengthSeries readQueueLengthSeries() throws IOException {
+        QueueLengthSeries series = new QueueLengthSeries();
+        while (next()) {
+            series.add(time, getQueueLength());
+        }
+        return series;
+    }
+
+    // Pairs the k-th arrival with the k-th departure, which is exact for the single FIFO
+    // server of simulateSingleQueue. Customers still in the system at the end are left out.
+    public List<CustomerTimeline> readCustomerTimelines() throws IOException {
+        List<CustomerTimeline> timelines = new ArrayList<>();
+        DoubleRingBuffer waiting = new DoubleRingBuffer();
+        double lastDeparture = Double.NEGATIVE_INFINITY;
+
+        while (next()) {
+            if (getType() != Event.Type.DEPARTURE) {
+                waiting.add(time);
+                continue;
+            }
+            if (waiting.isEmpty()) {
+                throw new IOException("Departure with no customer in the system at record " + getPosition());
+            }
+            double arrival = waiting.poll();
+            timelines.add(new CustomerTimeline(timelines.size(), arrival,
+                    Math.max(arrival, lastDeparture), time));
+            lastDeparture = time;
+        }
+        return timelines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void loadBlock(long first) throws IOException {
+        blockStart = first;
+        blockSize = (int) Math.min(blockRecords, records - first);
+        block.clear().limit(blockSize * EventRecorder.RECORD_BYTES);
+        readFully(block, EventRecorder.HEADER_BYTES + first * EventRecorder.RECORD_BYTES);
+        index = 0;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Truncated event recording");
+            }
+            position += read;
+        }
+    }
+}
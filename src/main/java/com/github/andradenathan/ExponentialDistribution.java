@@ -0,0 +1,49 @@
+package com.github.andradenathan;
+
+public class ExponentialDistribution implements Distribution {
+    private final double rate;
+
+    public ExponentialDistribution(double rate) {
+        Distribution.checkPositive("Rate", rate);
+        this.rate = rate;
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        return variates.next() / rate;
+    }
+
+    @Override
+    public void fill(ExponentialVariates variates, double[] samples, int from, int to) {
+        variates.fill(samples, from, to, rate);
+    }
+
+    @Override
+    public double getMean() {
+        return 1.0 / rate;
+    }
+
+    @Override
+    public double getSecondMoment() {
+        return 2.0 / (rate * rate);
+    }
+
+    @Override
+    public ExponentialDistribution withMean(double mean) {
+        return new ExponentialDistribution(1.0 / mean);
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public String describe() {
+        return "Exponential(rate=" + rate + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Exponential(rate=%.4f)", rate);
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.andradenathan;
+
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
+
+// Unit-rate exponential samples handed out from a buffer that is refilled in bulk.
+// Not thread-safe: each queue or replication owns its own instance.
+public class ExponentialVariates {
+    private static final int DEFAULT_BUFFER_SIZE = 512;
+
+    private final RandomGenerator random;
+    private final double[] buffer;
+    private final boolean inversion;
+    // Generator state before the last refill, kept only for an LxmRandom so that a
+    // snapshot can rebuild the buffer instead of storing it
+    private final LxmRandom refillState;
+    private int position;
+
+    public ExponentialVariates(RandomGenerator random) {
+        this(random, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ExponentialVariates(RandomGenerator random, int bufferSize) {
+        this(random, bufferSize, false);
+    }
+
+    private ExponentialVariates(RandomGenerator random, int bufferSize, boolean inversion) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.random = random;
+        this.buffer = new double[bufferSize];
+        this.inversion = inversion;
+        this.refillState = random instanceof LxmRandom ? ((LxmRandom) random).copy() : null;
+        this.position = bufferSize;
+    }
+
+    // Samples by inversion, one uniform each, so they are monotone in the uniforms: streams
+    // shared across scenarios stay synchronised and a complemented stream is antithetic.
+    // Slower than the ziggurat.
+    public static ExponentialVariates inversion(RandomGenerator random) {
+        return new ExponentialVariates(random, DEFAULT_BUFFER_SIZE, true);
+    }
+
+    public double next() {
+        if (position == buffer.length) {
+            refill();
+        }
+        return buffer[position++];
+    }
+
+    private void refill() {
+        if (refillState != null) {
+            refillState.copyFrom((LxmRandom) random);
+        }
+        generate(buffer, 0, buffer.length);
+        position = 0;
+    }
+
+    public double next(double rate) {
+        return next() / rate;
+    }
+
+    public void fill(double[] samples, double rate) {
+        fill(samples, 0, samples.length, rate);
+    }
+
+    public void fill(double[] samples, int from, int to, double rate) {
+        generate(samples, from, to);
+        if (rate != 1.0) {
+            double mean = 1.0 / rate;
+            for (int i = from; i < to; i++) {
+                samples[i] *= mean;
+            }
+        }
+    }
+
+    public boolean isInversion() {
+        return inversion;
+    }
+
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    // Mode, buffer size and position, the generator state the buffer was filled from and
+    // the current generator state
+    int snapshotBytes() {
+        return 3 * Integer.BYTES + 2 * LxmRandom.STATE_BYTES;
+    }
+
+    void writeSnapshot(ByteBuffer snapshot) {
+        if (refillState == null) {
+            throw new IllegalStateException("Only an LxmRandom generator state can be saved");
+        }
+        snapshot.putInt(inversion ? 1 : 0).putInt(buffer.length).putInt(position);
+        refillState.write(snapshot);
+        ((LxmRandom) random).write(snapshot);
+    }
+
+    static ExponentialVariates readSnapshot(ByteBuffer snapshot) {
+        boolean inversion = snapshot.getInt() != 0;
+        int bufferSize = snapshot.getInt();
+        int position = snapshot.getInt();
+        if (bufferSize < 1 || position < 0 || position > bufferSize) {
+            throw new IllegalArgumentException("Invalid exponential buffer state");
+        }
+        LxmRandom refill = LxmRandom.read(snapshot);
+        ExponentialVariates variates = new ExponentialVariates(LxmRandom.read(snapshot), bufferSize, inversion);
+        if (position < bufferSize) {
+            // Replays the refill on a copy, leaving the live generator where it was saved
+            variates.refillState.copyFrom(refill);
+            generate(refill, inversion, variates.buffer, 0, bufferSize);
+            variates.position = position;
+        }
+        return variates;
+    }
+
+    private void generate(double[] samples, int from, int to) {
+        generate(random, inversion, samples, from, to);
+    }
+
+    private static void generate(RandomGenerator random, boolean inversion, double[] samples, int from, int to) {
+        if (!inversion) {
+            ZigguratExponential.fill(random, samples, from, to);
+            return;
+        }
+        // (k + 1) / 2^53 lies in (0, 1]; the complement of k maps it to 1 - k / 2^53
+        for (int i = from; i < to; i++) {
+            samples[i] = -Math.log(((random.nextLong() >>> 11) + 1) * 0x1.0p-53);
+        }
+    }
+}
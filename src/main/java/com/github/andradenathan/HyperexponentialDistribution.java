@@ -0,0 +1,93 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Mixture of exponentials: branch i is taken with probability p_i; SCV >= 1.
+public class HyperexponentialDistribution implements Distribution {
+    private final double[] probabilities;
+    private final double[] rates;
+    private final double[] cumulative;
+
+    public HyperexponentialDistribution(double[] probabilities, double[] rates) {
+        if (probabilities.length == 0 || probabilities.length != rates.length) {
+            throw new IllegalArgumentException("Need one rate per branch probability");
+        }
+        this.probabilities = probabilities.clone();
+        this.rates = rates.clone();
+        this.cumulative = new double[probabilities.length];
+
+        double total = 0.0;
+        for (int i = 0; i < probabilities.length; i++) {
+            if (probabilities[i] < 0) {
+                throw new IllegalArgumentException("Negative branch probability: " + probabilities[i]);
+            }
+            Distribution.checkPositive("Rate", rates[i]);
+            total += probabilities[i];
+            cumulative[i] = total;
+        }
+        if (Math.abs(total - 1.0) > 1e-9) {
+            throw new IllegalArgumentException("Branch probabilities must sum to 1: " + total);
+        }
+        cumulative[cumulative.length - 1] = 1.0;
+    }
+
+    // Two balanced branches (p1/mu1 = p2/mu2) matching the given mean and SCV >= 1
+    public static HyperexponentialDistribution balanced(double mean, double scv) {
+        Distribution.checkPositive("Mean", mean);
+        if (!(scv >= 1.0)) {
+            throw new IllegalArgumentException("Hyperexponential needs SCV >= 1: " + scv);
+        }
+        double p = 0.5 * (1.0 + Math.sqrt((scv - 1.0) / (scv + 1.0)));
+        return new HyperexponentialDistribution(
+                new double[]{p, 1.0 - p},
+                new double[]{2.0 * p / mean, 2.0 * (1.0 - p) / mean});
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        double u = variates.getRandom().nextDouble();
+        int branch = 0;
+        while (u >= cumulative[branch]) {
+            branch++;
+        }
+        return variates.next() / rates[branch];
+    }
+
+    @Override
+    public double getMean() {
+        double mean = 0.0;
+        for (int i = 0; i < rates.length; i++) {
+            mean += probabilities[i] / rates[i];
+        }
+        return mean;
+    }
+
+    @Override
+    public double getSecondMoment() {
+        double moment = 0.0;
+        for (int i = 0; i < rates.length; i++) {
+            moment += 2.0 * probabilities[i] / (rates[i] * rates[i]);
+        }
+        return moment;
+    }
+
+    @Override
+    public HyperexponentialDistribution withMean(double mean) {
+        double factor = getMean() / mean;
+        double[] scaled = rates.clone();
+        for (int i = 0; i < scaled.length; i++) {
+            scaled[i] *= factor;
+        }
+        return new HyperexponentialDistribution(probabilities, scaled);
+    }
+
+    @Override
+    public String describe() {
+        return toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Hyperexponential(p=" + Arrays.toString(probabilities) + ", rates=" + Arrays.toString(rates) + ")";
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.andradenathan;
+
+// Upper bound on the mean or on a percentile of the time in system, for CapacityPlanner.
+public final class LatencyTarget {
+    private final double percentile;
+    private final double threshold;
+
+    private LatencyTarget(double percentile, double threshold) {
+        Distribution.checkPositive("Latency threshold", threshold);
+        this.percentile = percentile;
+        this.threshold = threshold;
+    }
+
+    public static LatencyTarget mean(double threshold) {
+        return new LatencyTarget(Double.NaN, threshold);
+    }
+
+    // percentile in (0, 100), e.g. 99.0 for p99
+    public static LatencyTarget percentile(double percentile, double threshold) {
+        if (!(percentile > 0.0 && percentile < 100.0)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100): " + percentile);
+        }
+        return new LatencyTarget(percentile, threshold);
+    }
+
+    public boolean isMean() {
+        return Double.isNaN(percentile);
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    // Closed form of the metric at lambda where one exists: Erlang-C or Pollaczek-Khinchine
+    // for the mean, and the exponential time in system of M/M/1, with rate mu - lambda,
+    // for a percentile. NaN otherwise.
+    double analytic(QueueSimulation simulation, double lambda) {
+        if (!(lambda > 0.0 && lambda < 1.0)) {
+            return Double.NaN;
+        }
+        if (isMean()) {
+            return simulation.theoreticalResponseTime(lambda);
+        }
+        if (simulation.getServers() == 1
+                && simulation.getInterarrivalTimes() instanceof ExponentialDistribution
+                && simulation.getServiceTimes() instanceof ExponentialDistribution) {
+            double rate = simulation.getServiceRate() - simulation.arrivalRate(lambda);
+            return -Math.log(1.0 - percentile / 100.0) / rate;
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return (isMean() ? "mean" : String.format("p%s", percentile)) + " <= " + threshold;
+    }
+}
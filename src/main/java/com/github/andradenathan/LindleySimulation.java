@@ -0,0 +1,93 @@
+package com.github.andradenathan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// FIFO single-server queues need no event list: waiting times follow the Lindley
+// recursion W(n+1) = max(0, W(n) + S(n) - A(n+1)). Variates are drawn in blocks and the
+// recursion runs over primitive arrays. As in QueueSimulation, lambda is the utilisation
+// and only the shape of interarrivalTimes matters.
+public class LindleySimulation {
+    private static final int BLOCK_SIZE = 4096;
+
+    private final Distribution interarrivalTimes;
+    private final Distribution serviceTimes;
+    private final long seed;
+    private final RandomGenerator random;
+
+    public LindleySimulation(Distribution interarrivalTimes, Distribution serviceTimes, long seed) {
+        this.interarrivalTimes = interarrivalTimes;
+        this.serviceTimes = serviceTimes;
+        this.seed = seed;
+        this.random = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(seed);
+    }
+
+    public LindleySimulation(boolean isServiceTimeConstant, long seed) {
+        this(new ExponentialDistribution(1.0), isServiceTimeConstant
+                ? new DeterministicDistribution(1.0)
+                : new ExponentialDistribution(1.0), seed);
+    }
+
+    public double simulateSingleQueue(double lambda) {
+        return simulateSingleQueue(lambda, QueueSimulation.SIMULATION_TIME, random);
+    }
+
+    // Average time in system of the customers that arrive up to simulationTime; the first
+    // customer arrives at time zero, as in the event-driven engine.
+    public double simulateSingleQueue(double lambda, double simulationTime, RandomGenerator random) {
+        Distribution arrivals = interarrivalTimes.withMean(serviceTimes.getMean() / lambda);
+        ExponentialVariates variates = new ExponentialVariates(random);
+        double[] interarrivalBlock = new double[BLOCK_SIZE];
+        double[] serviceBlock = new double[BLOCK_SIZE];
+
+        double arrivalTime = 0.0;
+        double waitingTime = 0.0;
+        double totalTimeInSystem = 0.0;
+        long customers = 0;
+
+        while (arrivalTime <= simulationTime) {
+            arrivals.fill(variates, interarrivalBlock, 0, BLOCK_SIZE);
+            serviceTimes.fill(variates, serviceBlock, 0, BLOCK_SIZE);
+
+            for (int i = 0; i < BLOCK_SIZE && arrivalTime <= simulationTime; i++) {
+                double timeInSystem = waitingTime + serviceBlock[i];
+                totalTimeInSystem += timeInSystem;
+                customers++;
+
+                waitingTime = Math.max(0.0, timeInSystem - interarrivalBlock[i]);
+                arrivalTime += interarrivalBlock[i];
+            }
+        }
+
+        return customers == 0 ? 0.0 : totalTimeInSystem / customers;
+    }
+
+    public Map<Double, SimulationResult> runAllSimulations() {
+        RandomGenerator.SplittableGenerator root = (RandomGenerator.SplittableGenerator)
+                RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(seed);
+        Map<Double, SimulationResult> results = new LinkedHashMap<>();
+
+        for (double lambda : QueueSimulation.LAMBDAS) {
+            StatisticsAccumulator averageTimes = new StatisticsAccumulator();
+
+            for (int i = 0; i < QueueSimulation.QUEUE_QUANTITY; i++) {
+                averageTimes.add(simulateSingleQueue(lambda, QueueSimulation.SIMULATION_TIME, root.split()));
+            }
+
+            results.put(lambda, new SimulationResult(averageTimes,
+                    theoreticalResponseTime(lambda), QueueSimulation.CONFIDENCE_LEVEL));
+        }
+
+        return results;
+    }
+
+    // Pollaczek-Khinchine when arrivals are Poisson; G/G/1 has no exact closed form
+    double theoreticalResponseTime(double lambda) {
+        if (!(interarrivalTimes instanceof ExponentialDistribution)) {
+            return Double.NaN;
+        }
+        return PollaczekKhinchine.meanResponseTime(lambda / serviceTimes.getMean(), serviceTimes);
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.andradenathan;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// HDR-style histogram over doubles: each power of two is split into 2^subBucketBits linear
+// sub-buckets taken straight from the top mantissa bits, so recording is O(1) with no log
+// call and no allocation. Relative bucket width is at most 2^-subBucketBits.
+public class LogLinearHistogram {
+    private static final int DEFAULT_SUB_BUCKET_BITS = 6;
+    private static final int DEFAULT_MIN_EXPONENT = -16;
+    private static final int DEFAULT_MAX_EXPONENT = 32;
+    private static final long MANTISSA_MASK = 0x000FFFFFFFFFFFFFL;
+    private static final int MANTISSA_BITS = 52;
+
+    private final int subBucketBits;
+    private final int subBuckets;
+    private final int minExponent;
+    private final int maxExponent;
+    private final long[] counts;
+
+    private long totalCount;
+    private double sum;
+    private double min;
+    private double max;
+
+    public LogLinearHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS, DEFAULT_MIN_EXPONENT, DEFAULT_MAX_EXPONENT);
+    }
+
+    public LogLinearHistogram(int subBucketBits, int minExponent, int maxExponent) {
+        if (subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("Sub-bucket bits must be in [1, 16]: " + subBucketBits);
+        }
+        if (minExponent >= maxExponent) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid exponent range: [%d, %d)", minExponent, maxExponent));
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBuckets = 1 << subBucketBits;
+        this.minExponent = minExponent;
+        this.maxExponent = maxExponent;
+        // Slot 0 holds values below 2^minExponent (including zero); the last slot holds overflow.
+        this.counts = new long[(maxExponent - minExponent) * subBuckets + 2];
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    public void record(double value) {
+        record(value, 1);
+    }
+
+    public void record(double value, long count) {
+        if (!(value >= 0.0)) {
+            throw new IllegalArgumentException("Value must be non-negative: " + value);
+        }
+        counts[indexOf(value)] += count;
+        totalCount += count;
+        sum += value * count;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    private int indexOf(double value) {
+        int exponent = Math.getExponent(value);
+        if (exponent < minExponent) {
+            return 0;
+        }
+        if (exponent >= maxExponent) {
+            return counts.length - 1;
+        }
+        long mantissa = Double.doubleToRawLongBits(value) & MANTISSA_MASK;
+        int subBucket = (int) (mantissa >>> (MANTISSA_BITS - subBucketBits));
+        return 1 + (exponent - minExponent) * subBuckets + subBucket;
+    }
+
+    public void merge(LogLinearHistogram other) {
+        if (other.subBucketBits != subBucketBits
+                || other.minExponent != minExponent
+                || other.maxExponent != maxExponent) {
+            throw new IllegalArgumentException("Cannot merge histograms with different layouts");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Layout, totals and the non-zero buckets as (index, count) pairs
+    void write(DataOutput out) throws IOException {
+        out.writeInt(subBucketBits);
+        out.writeInt(minExponent);
+        out.writeInt(maxExponent);
+        out.writeLong(totalCount);
+        out.writeDouble(sum);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        int used = 0;
+        for (long count : counts) {
+            if (count != 0) {
+                used++;
+            }
+        }
+        out.writeInt(used);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+    }
+
+    static LogLinearHistogram read(DataInput in) throws IOException {
+        LogLinearHistogram histogram;
+        try {
+            histogram = new LogLinearHistogram(in.readInt(), in.readInt(), in.readInt());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid histogram layout", e);
+        }
+        histogram.totalCount = in.readLong();
+        histogram.sum = in.readDouble();
+        histogram.min = in.readDouble();
+        histogram.max = in.readDouble();
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            int index = in.readInt();
+            if (index < 0 || index >= histogram.counts.length) {
+                throw new IOException("Histogram bucket out of range: " + index);
+            }
+            histogram.counts[index] = in.readLong();
+        }
+        return histogram;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0.0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    public double getValueAtPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.max(min, Math.min(max, bucketMidpoint(i)));
+            }
+        }
+        return max;
+    }
+
+    private double bucketMidpoint(int index) {
+        if (index == 0) {
+            return min;
+        }
+        if (index == counts.length - 1) {
+            return max;
+        }
+        int exponent = minExponent + (index - 1) / subBuckets;
+        int subBucket = (index - 1) % subBuckets;
+        return Math.scalb(1.0 + (subBucket + 0.5) / subBuckets, exponent);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? Double.NaN : sum / totalCount;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getRelativePrecision() {
+        return 1.0 / subBuckets;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LogLinearHistogram{count=%d, mean=%.4f, p50=%.4f, p99=%.4f, max=%.4f}",
+                totalCount, getMean(), getValueAtPercentile(50), getValueAtPercentile(99), max);
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.andradenathan;
+
+// exp(N(mu, sigma^2)); SCV = exp(sigma^2) - 1.
+public class LognormalDistribution implements Distribution {
+    private final double mu;
+    private final double sigma;
+
+    public LognormalDistribution(double mu, double sigma) {
+        if (!(sigma >= 0) || Double.isInfinite(sigma) || Double.isNaN(mu) || Double.isInfinite(mu)) {
+            throw new IllegalArgumentException("Invalid lognormal parameters: mu=" + mu + ", sigma=" + sigma);
+        }
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    public static LognormalDistribution of(double mean, double scv) {
+        Distribution.checkPositive("Mean", mean);
+        if (!(scv >= 0)) {
+            throw new IllegalArgumentException("SCV must be non-negative: " + scv);
+        }
+        double variance = Math.log1p(scv);
+        return new LognormalDistribution(Math.log(mean) - variance / 2.0, Math.sqrt(variance));
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        return Math.exp(mu + sigma * variates.getRandom().nextGaussian());
+    }
+
+    @Override
+    public double getMean() {
+        return Math.exp(mu + sigma * sigma / 2.0);
+    }
+
+    @Override
+    public double getSecondMoment() {
+        return Math.exp(2.0 * mu + 2.0 * sigma * sigma);
+    }
+
+    @Override
+    public LognormalDistribution withMean(double mean) {
+        Distribution.checkPositive("Mean", mean);
+        return new LognormalDistribution(mu + Math.log(mean / getMean()), sigma);
+    }
+
+    @Override
+    public String describe() {
+        return "Lognormal(mu=" + mu + ", sigma=" + sigma + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Lognormal(mu=%.4f, sigma=%.4f)", mu, sigma);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.andradenathan;
+
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
+
+// The JDK's L64X128MixRandom (QueueSimulation.STREAM_ALGORITHM), same seeding and same
+// output, with a state that can be copied and saved. The JDK class keeps its state private,
+// so a run driven by it could not be snapshotted.
+final class LxmRandom implements RandomGenerator {
+    static final int STATE_BYTES = 4 * Long.BYTES;
+
+    private static final long M = 0xD1342543DE82EF95L;
+    private static final long GOLDEN_RATIO_64 = 0x9E3779B97F4A7C15L;
+    private static final long SILVER_RATIO_64 = 0x6A09E667F3BCC909L;
+
+    private long a;
+    private long s;
+    private long x0;
+    private long x1;
+
+    LxmRandom(long seed) {
+        seed ^= SILVER_RATIO_64;
+        this.a = mixMurmur64(seed) | 1;
+        this.s = 1;
+        this.x0 = mixStafford13(seed);
+        this.x1 = mixStafford13(seed + GOLDEN_RATIO_64);
+        // x0 and x1 cannot both be zero: the mix is a bijection and they hash different values
+    }
+
+    private LxmRandom() {
+    }
+
+    @Override
+    public long nextLong() {
+        long result = mixLea64(s + x0);
+        s = M * s + a;
+        long q0 = x0;
+        long q1 = x1 ^ q0;
+        q0 = Long.rotateLeft(q0, 24) ^ q1 ^ (q1 << 16);
+        x0 = q0;
+        x1 = Long.rotateLeft(q1, 37);
+        return result;
+    }
+
+    void copyFrom(LxmRandom other) {
+        a = other.a;
+        s = other.s;
+        x0 = other.x0;
+        x1 = other.x1;
+    }
+
+    LxmRandom copy() {
+        LxmRandom copy = new LxmRandom();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    void write(ByteBuffer buffer) {
+        buffer.putLong(a).putLong(s).putLong(x0).putLong(x1);
+    }
+
+    static LxmRandom read(ByteBuffer buffer) {
+        LxmRandom random = new LxmRandom();
+        random.a = buffer.getLong();
+        random.s = buffer.getLong();
+        random.x0 = buffer.getLong();
+        random.x1 = buffer.getLong();
+        if ((random.a & 1) == 0 || (random.x0 | random.x1) == 0) {
+            throw new IllegalArgumentException("Invalid generator state");
+        }
+        return random;
+    }
+
+    private static long mixMurmur64(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private static long mixStafford13(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long mixLea64(long z) {
+        z = (z ^ (z >>> 32)) * 0xDABA0B6EB09322E3L;
+        z = (z ^ (z >>> 32)) * 0xDABA0B6EB09322E3L;
+        return z ^ (z >>> 32);
+    }
+}
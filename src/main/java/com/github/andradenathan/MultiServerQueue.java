@@ -0,0 +1,168 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+
+// FIFO queue with c identical servers. Customers in service live in a CompletionHeap and
+// the waiting line is a ring buffer of arrival times, so each event costs O(log busy).
+public class MultiServerQueue implements QueueState {
+    private final double lambda;
+    private final double serviceRate;
+    private final int servers;
+    private final Distribution interarrivalTimes;
+    private final Distribution serviceTimes;
+    private final ExponentialVariates arrivalVariates;
+    private final ExponentialVariates serviceVariates;
+    private final DoubleRingBuffer waiting;
+    private final CompletionHeap inService;
+
+    private int customersInQueue;
+    private double currentTime;
+    private double lastEventTime;
+    private double totalWeightedTime;
+    private int customersCompleted;
+    private double totalTimeInSystem;
+    private double lastTimeInSystem;
+    private long eventsProcessed;
+
+    public MultiServerQueue(double lambda, double serviceRate, int servers,
+                            boolean isServiceTimeConstant, RandomGenerator random) {
+        this(new ExponentialDistribution(lambda), isServiceTimeConstant
+                ? new DeterministicDistribution(1.0 / serviceRate)
+                : new ExponentialDistribution(serviceRate), servers, random);
+    }
+
+    public MultiServerQueue(Distribution interarrivalTimes, Distribution serviceTimes, int servers,
+                            RandomGenerator random) {
+        this(interarrivalTimes, serviceTimes, servers, new ExponentialVariates(random));
+    }
+
+    private MultiServerQueue(Distribution interarrivalTimes, Distribution serviceTimes, int servers,
+                             ExponentialVariates variates) {
+        this(interarrivalTimes, serviceTimes, servers, variates, variates);
+    }
+
+    public MultiServerQueue(Distribution interarrivalTimes, Distribution serviceTimes, int servers,
+                            ExponentialVariates arrivalVariates, ExponentialVariates serviceVariates) {
+        if (servers < 1) {
+            throw new IllegalArgumentException("Servers must be positive: " + servers);
+        }
+        this.lambda = 1.0 / interarrivalTimes.getMean();
+        this.serviceRate = 1.0 / serviceTimes.getMean();
+        this.servers = servers;
+        this.interarrivalTimes = interarrivalTimes;
+        this.serviceTimes = serviceTimes;
+        this.arrivalVariates = arrivalVariates;
+        this.serviceVariates = serviceVariates;
+        this.waiting = new DoubleRingBuffer();
+        this.inService = new CompletionHeap(Math.min(servers, 1024));
+        this.customersInQueue = 0;
+        this.currentTime = 0.0;
+        this.lastEventTime = 0.0;
+        this.totalWeightedTime = 0.0;
+        this.customersCompleted = 0;
+        this.totalTimeInSystem = 0.0;
+        this.lastTimeInSystem = 0.0;
+        this.eventsProcessed = 0;
+    }
+
+    public double generateInterarrivalTime() {
+        return interarrivalTimes.sample(arrivalVariates);
+    }
+
+    public double generateServiceTime() {
+        return serviceTimes.sample(serviceVariates);
+    }
+
+    public void updateStatistics(double newTime) {
+        totalWeightedTime += customersInQueue * (newTime - lastEventTime);
+        lastEventTime = newTime;
+        currentTime = newTime;
+        eventsProcessed++;
+    }
+
+    public void processArrival() {
+        customersInQueue++;
+        if (inService.size() < servers) {
+            inService.add(currentTime + generateServiceTime(), currentTime);
+        } else {
+            waiting.add(currentTime);
+        }
+    }
+
+    public void processDeparture() {
+        if (inService.isEmpty()) {
+            throw new IllegalStateException("No customer in service to depart");
+        }
+        double arrivalTime = inService.peekArrivalTime();
+        inService.removeFirst();
+        customersInQueue--;
+        customersCompleted++;
+        lastTimeInSystem = currentTime - arrivalTime;
+        totalTimeInSystem += lastTimeInSystem;
+
+        if (!waiting.isEmpty()) {
+            inService.add(currentTime + generateServiceTime(), waiting.poll());
+        }
+    }
+
+    public double getNextDepartureTime() {
+        return inService.isEmpty() ? Double.POSITIVE_INFINITY : inService.peekCompletionTime();
+    }
+
+    public int getBusyServers() {
+        return inService.size();
+    }
+
+    public int getServers() {
+        return servers;
+    }
+
+    @Override
+    public double getCurrentTime() {
+        return currentTime;
+    }
+
+    @Override
+    public int getCustomersInQueue() {
+        return customersInQueue;
+    }
+
+    @Override
+    public int getCustomersCompleted() {
+        return customersCompleted;
+    }
+
+    @Override
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    @Override
+    public double getLastTimeInSystem() {
+        return lastTimeInSystem;
+    }
+
+    @Override
+    public double getMeasuredAverageTimeInSystem() {
+        if (customersCompleted == 0) {
+            return 0.0;
+        }
+        return totalTimeInSystem / customersCompleted;
+    }
+
+    @Override
+    public double getAverageTimeInSystem() {
+        if (customersCompleted == 0) {
+            return 0.0;
+        }
+
+        double averageCustomers = totalWeightedTime / currentTime;
+        return averageCustomers / lambda;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MultiServerQueue{lambda=%.2f, mu=%.2f, servers=%d, busy=%d, customers=%d, time=%.2f}",
+                lambda, serviceRate, servers, inService.size(), customersInQueue, currentTime);
+    }
+}
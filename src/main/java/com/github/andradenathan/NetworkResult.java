@@ -0,0 +1,67 @@
+package com.github.andradenathan;
+
+public class NetworkResult {
+    private final SimulationResult[] stations;
+    private final SimulationResult network;
+    private final long eventsProcessed;
+
+    public NetworkResult(SimulationResult[] stations, SimulationResult network, long eventsProcessed) {
+        this.stations = stations;
+        this.network = network;
+        this.eventsProcessed = eventsProcessed;
+    }
+
+    public int getStations() {
+        return stations.length;
+    }
+
+    public SimulationResult getStation(int station) {
+        return stations[station];
+    }
+
+    public SimulationResult getNetwork() {
+        return network;
+    }
+
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    public double getMaxError() {
+        double maxError = 0.0;
+        for (SimulationResult station : stations) {
+            maxError = Math.max(maxError, station.getError());
+        }
+        return maxError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NetworkResult{stations=%d, network=%s, maxStationError=%.2f%%}",
+                stations.length, network, getMaxError());
+    }
+
+    public void printResults() {
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("Open Jackson network: " + stations.length + " stations");
+        System.out.println("=".repeat(80));
+        System.out.printf("%-10s %-15s %-15s %-15s %-15s%n",
+                "Station", "Simulation", "CI ±", "Theoretical", "Error %");
+        System.out.println("-".repeat(80));
+        for (int i = 0; i < stations.length; i++) {
+            printRow(String.valueOf(i), stations[i]);
+        }
+        System.out.println("-".repeat(80));
+        printRow("network", network);
+        System.out.println("=".repeat(80));
+    }
+
+    private static void printRow(String label, SimulationResult result) {
+        System.out.printf("%-10s %-15.2f %-15.2f %-15.2f %-15.2f%n",
+                label,
+                result.getSimulation(),
+                result.getHalfWidth(),
+                result.getTheoretical(),
+                result.getError());
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.andradenathan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Discrete-event simulation of an open QueueNetwork. All stations share one d-ary heap
+// whose entries are packed (time, station, type) primitives; per-station state lives in
+// plain arrays, so a network with thousands of stations costs a few arrays, not objects.
+// With more than one partition each replication runs on PartitionedNetworkEngine instead,
+// which gives the same result for the same seed.
+public class NetworkSimulation {
+    private final QueueNetwork network;
+    private final long seed;
+    private final int partitions;
+    private final Supplier<EventList> eventListFactory;
+    private final Executor partitionExecutor;
+
+    // partitionExecutor must be able to run partitions - 1 tasks at once; replications
+    // submitted to a bounded pool should not share it
+    public NetworkSimulation(QueueNetwork network, long seed, int partitions,
+                             Supplier<EventList> eventListFactory, Executor partitionExecutor) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions must be positive: " + partitions);
+        }
+        if (partitions > 1 && network.getTransitTime() <= 0) {
+            throw new IllegalArgumentException(
+                    "Parallel simulation needs a positive transit time as lookahead");
+        }
+        this.network = network;
+        this.seed = seed;
+        this.partitions = Math.min(partitions, network.getStations());
+        this.eventListFactory = eventListFactory;
+        this.partitionExecutor = partitionExecutor;
+    }
+
+    public NetworkSimulation(QueueNetwork network, long seed, int partitions,
+                             Supplier<EventList> eventListFactory) {
+        this(network, seed, partitions, eventListFactory, PartitionedNetworkEngine.DEFAULT_EXECUTOR);
+    }
+
+    public NetworkSimulation(QueueNetwork network, long seed, int partitions) {
+        this(network, seed, partitions, DaryHeapEventList::new);
+    }
+
+    public NetworkSimulation(QueueNetwork network, long seed) {
+        this(network, seed, 1);
+    }
+
+    public NetworkResult run(int replications, double simulationTime) {
+        RandomGenerator.SplittableGenerator root = replicationStreamRoot();
+        Replication[] results = new Replication[replications];
+
+        for (int i = 0; i < replications; i++) {
+            results[i] = runReplication(simulationTime, root.split());
+        }
+
+        return summarize(results);
+    }
+
+    // Streams are split in replication order before submitting, as in QueueSimulation,
+    // so the result does not depend on the executor.
+    public NetworkResult run(int replications, double simulationTime, Executor executor) {
+        RandomGenerator.SplittableGenerator root = replicationStreamRoot();
+        List<CompletableFuture<Replication>> futures = new ArrayList<>(replications);
+
+        for (int i = 0; i < replications; i++) {
+            RandomGenerator.SplittableGenerator stream = root.split();
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> runReplication(simulationTime, stream), executor));
+        }
+
+        Replication[] results = new Replication[replications];
+        for (int i = 0; i < replications; i++) {
+            results[i] = futures.get(i).join();
+        }
+
+        return summarize(results);
+    }
+
+    Replication runReplication(double simulationTime, RandomGenerator.SplittableGenerator random) {
+        NetworkState state = new NetworkState(network, simulationTime, random);
+        if (partitions > 1) {
+            return new PartitionedNetworkEngine(network, state, partitions, eventListFactory).run(partitionExecutor);
+        }
+
+        EventList events = eventListFactory.get();
+        for (int i = 0; i < network.getStations(); i++) {
+            state.scheduleFirstArrival(i, events);
+        }
+
+        while (!events.isEmpty() && events.nextTime() <= simulationTime) {
+            double time = events.nextTime();
+            int station = events.nextStation();
+            Event.Type type = events.nextType();
+            events.removeNext();
+
+            int next = state.process(type, station, time, events);
+            if (next >= 0) {
+                events.schedule(Event.Type.TRANSFER, next, time + network.getTransitTime());
+            }
+        }
+
+        return state.finish();
+    }
+
+    private NetworkResult summarize(Replication[] replications) {
+        int stations = network.getStations();
+        StatisticsAccumulator[] stationTimes = new StatisticsAccumulator[stations];
+        StatisticsAccumulator networkTimes = new StatisticsAccumulator();
+        long events = 0;
+
+        for (int i = 0; i < stations; i++) {
+            stationTimes[i] = new StatisticsAccumulator();
+        }
+        for (Replication replication : replications) {
+            for (int i = 0; i < stations; i++) {
+                stationTimes[i].add(replication.responseTimes[i]);
+            }
+            networkTimes.add(replication.networkResponseTime);
+            events += replication.eventsProcessed;
+        }
+
+        SimulationResult[] stationResults = new SimulationResult[stations];
+        for (int i = 0; i < stations; i++) {
+            stationResults[i] = new SimulationResult(stationTimes[i],
+                    network.getTheoreticalResponseTime(i), QueueSimulation.CONFIDENCE_LEVEL);
+        }
+        SimulationResult networkResult = new SimulationResult(networkTimes,
+                network.getTheoreticalNetworkResponseTime(), QueueSimulation.CONFIDENCE_LEVEL);
+
+        return new NetworkResult(stationResults, networkResult, events);
+    }
+
+    private RandomGenerator.SplittableGenerator replicationStreamRoot() {
+        return (RandomGenerator.SplittableGenerator) RandomGeneratorFactory
+                .of(QueueSimulation.STREAM_ALGORITHM)
+                .create(seed);
+    }
+
+    public QueueNetwork getNetwork() {
+        return network;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    static final class Replication {
+        private final double[] responseTimes;
+        private final double networkResponseTime;
+        private final long[] arrivals;
+        private final long externalArrivals;
+        private final long eventsProcessed;
+
+        Replication(double[] responseTimes, double networkResponseTime, long[] arrivals,
+                            long externalArrivals, long eventsProcessed) {
+            this.responseTimes = responseTimes;
+            this.networkResponseTime = networkResponseTime;
+            this.arrivals = arrivals;
+            this.externalArrivals = externalArrivals;
+            this.eventsProcessed = eventsProcessed;
+        }
+
+        double getResponseTime(int station) {
+            return responseTimes[station];
+        }
+
+        double getNetworkResponseTime() {
+            return networkResponseTime;
+        }
+
+        long getArrivals(int station) {
+            return arrivals[station];
+        }
+
+        long getExternalArrivals() {
+            return externalArrivals;
+        }
+
+        long getEventsProcessed() {
+            return eventsProcessed;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+
+// Per-station state of one network replication, kept in primitive arrays indexed by
+// station. A station is only ever touched by the thread that owns it, so the sequential
+// and the partitioned engines share this class and produce the same sample path.
+final class NetworkState {
+    private static final int VARIATE_BUFFER_SIZE = 32;
+
+    private final QueueNetwork network;
+    private final ExponentialVariates[] interarrivals;
+    private final ExponentialVariates[] services;
+    private final RandomGenerator[] routing;
+    private final int[] customers;
+    private final double[] lastChange;
+    private final double[] area;
+    private final double[] transitArea;
+    private final long[] arrivals;
+    private final long[] externalArrivals;
+    private final long[] events;
+    private final double simulationTime;
+
+    NetworkState(QueueNetwork network, double simulationTime, RandomGenerator.SplittableGenerator random) {
+        int stations = network.getStations();
+        this.network = network;
+        this.simulationTime = simulationTime;
+        this.interarrivals = new ExponentialVariates[stations];
+        this.services = new ExponentialVariates[stations];
+        this.routing = new RandomGenerator[stations];
+        this.customers = new int[stations];
+        this.lastChange = new double[stations];
+        this.area = new double[stations];
+        this.transitArea = new double[stations];
+        this.arrivals = new long[stations];
+        this.externalArrivals = new long[stations];
+        this.events = new long[stations];
+
+        // Each station gets its own stream per purpose, split in station order, so a
+        // station's sample path does not depend on how events elsewhere interleave.
+        for (int i = 0; i < stations; i++) {
+            interarrivals[i] = new ExponentialVariates(random.split(), VARIATE_BUFFER_SIZE);
+            services[i] = new ExponentialVariates(random.split(), VARIATE_BUFFER_SIZE);
+            routing[i] = random.split();
+        }
+    }
+
+    void scheduleFirstArrival(int station, EventList events) {
+        double rate = network.getExternalArrivalRate(station);
+        if (rate > 0) {
+            events.schedule(Event.Type.ARRIVAL, station, interarrivals[station].next(rate));
+        }
+    }
+
+    // Handles one event of `station` and returns the station the customer is routed to,
+    // or -1. The caller schedules the TRANSFER, which may belong to another partition.
+    int process(Event.Type type, int station, double time, EventList events) {
+        this.events[station]++;
+
+        if (type == Event.Type.DEPARTURE) {
+            advance(station, time);
+            customers[station]--;
+            if (customers[station] >= network.getServers(station)) {
+                events.schedule(Event.Type.DEPARTURE, station,
+                        time + services[station].next(network.getServiceRate(station)));
+            }
+
+            int next = network.route(station, routing[station].nextDouble());
+            if (next >= 0) {
+                transitArea[station] += Math.min(network.getTransitTime(), simulationTime - time);
+            }
+            return next;
+        }
+
+        if (type == Event.Type.ARRIVAL) {
+            externalArrivals[station]++;
+            events.schedule(Event.Type.ARRIVAL, station,
+                    time + interarrivals[station].next(network.getExternalArrivalRate(station)));
+        }
+
+        advance(station, time);
+        customers[station]++;
+        arrivals[station]++;
+        if (customers[station] <= network.getServers(station)) {
+            events.schedule(Event.Type.DEPARTURE, station,
+                    time + services[station].next(network.getServiceRate(station)));
+        }
+        return -1;
+    }
+
+    private void advance(int station, double time) {
+        area[station] += customers[station] * (time - lastChange[station]);
+        lastChange[station] = time;
+    }
+
+    // Little's law per station and for the whole network; sums run in station order so
+    // the result does not depend on which thread processed which station.
+    NetworkSimulation.Replication finish() {
+        int stations = network.getStations();
+        double[] responseTimes = new double[stations];
+        double totalArea = 0.0;
+        long totalExternal = 0;
+        long totalEvents = 0;
+
+        for (int i = 0; i < stations; i++) {
+            advance(i, simulationTime);
+            totalArea += area[i] + transitArea[i];
+            totalExternal += externalArrivals[i];
+            totalEvents += events[i];
+            responseTimes[i] = area[i] / simulationTime / network.getArrivalRate(i);
+        }
+        double networkResponseTime = totalArea / simulationTime / network.getTotalExternalArrivalRate();
+
+        return new NetworkSimulation.Replication(responseTimes, networkResponseTime, arrivals.clone(),
+                totalExternal, totalEvents);
+    }
+
+    double getSimulationTime() {
+        return simulationTime;
+    }
+}
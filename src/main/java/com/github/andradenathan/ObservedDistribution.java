@@ -0,0 +1,46 @@
+package com.github.andradenathan;
+
+// Passes samples through from another distribution and keeps their running mean, which
+// is a control variate with the known mean of the wrapped distribution. One per queue.
+final class ObservedDistribution implements Distribution {
+    private final Distribution distribution;
+    private double sum;
+    private long count;
+
+    ObservedDistribution(Distribution distribution) {
+        this.distribution = distribution;
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        double value = distribution.sample(variates);
+        sum += value;
+        count++;
+        return value;
+    }
+
+    @Override
+    public double getMean() {
+        return distribution.getMean();
+    }
+
+    @Override
+    public double getSecondMoment() {
+        return distribution.getSecondMoment();
+    }
+
+    @Override
+    public String describe() {
+        return distribution.describe();
+    }
+
+    @Override
+    public Distribution withMean(double mean) {
+        return new ObservedDistribution(distribution.withMean(mean));
+    }
+
+    // Relative deviation of the sample mean from the true mean; zero before any sample
+    double getRelativeDeviation() {
+        return count == 0 ? 0.0 : sum / count / distribution.getMean() - 1.0;
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Steady-state probability that the number in system exceeds k, for M/M/c, by the
+// regenerative ratio: time spent above k over a cycle, divided by the cycle length, where
+// a cycle starts at each arrival to an empty system. With importance sampling every cycle
+// first runs the jump chain with arrival and service rates swapped at levels c and above,
+// so reaching k + 1 is no longer rare, and carries the likelihood ratio of the jumps taken.
+// Once above k the cycle finishes under the original rates. The ratio is rho^(levels
+// climbed above c) whatever the path, so the relative error stays bounded as k grows,
+// while the crude estimator needs about 1/P(N > k) cycles to see the event at all.
+// Cycle lengths come from separate cycles under the original rates.
+public class OverflowEstimator {
+    private final double arrivalRate;
+    private final double serviceRate;
+    private final int servers;
+    private final double utilisation;
+    private final RandomGenerator random;
+    private long events;
+
+    public OverflowEstimator(QueueSimulation simulation, double lambda, long seed) {
+        if (!(simulation.getInterarrivalTimes() instanceof ExponentialDistribution)
+                || !(simulation.getServiceTimes() instanceof ExponentialDistribution)) {
+            throw new IllegalArgumentException("Overflow estimation covers M/M/c queues only");
+        }
+        if (!(lambda > 0.0 && lambda < 1.0)) {
+            throw new IllegalArgumentException("Lambda must be in (0, 1): " + lambda);
+        }
+        this.arrivalRate = simulation.arrivalRate(lambda);
+        this.serviceRate = simulation.getServiceRate();
+        this.servers = simulation.getServers();
+        this.utilisation = lambda;
+        this.random = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(seed);
+    }
+
+    public SimulationResult importanceSampling(int k, int cycles) {
+        return estimate(k, cycles, true);
+    }
+
+    public SimulationResult crude(int k, int cycles) {
+        return estimate(k, cycles, false);
+    }
+
+    // Stationary tail of the birth-death chain; the terms past max(k, c - 1) are geometric
+    // with ratio rho and are summed in closed form
+    public double theoretical(int k) {
+        checkLevel(k);
+        double offered = arrivalRate / serviceRate;
+        double term = 1.0;
+        double below = 0.0;
+        double above = 0.0;
+        int last = Math.max(k, servers - 1);
+        for (int n = 0; n <= last; n++) {
+            if (n > 0) {
+                term *= offered / Math.min(n, servers);
+            }
+            if (n <= k) {
+                below += term;
+            } else {
+                above += term;
+            }
+        }
+        // term is now p(last) up to the normalising constant
+        above += term * offered / servers / (1.0 - utilisation);
+        return above / (below + above);
+    }
+
+    // Jumps simulated so far, over every estimate
+    public long getEvents() {
+        return events;
+    }
+
+    private SimulationResult estimate(int k, int cycles, boolean importanceSampling) {
+        checkLevel(k);
+        if (cycles < 2) {
+            throw new IllegalArgumentException("Cycles must be at least 2: " + cycles);
+        }
+        StatisticsAccumulator timeAbove = new StatisticsAccumulator();
+        StatisticsAccumulator cycleLength = new StatisticsAccumulator();
+        for (int i = 0; i < cycles; i++) {
+            timeAbove.add(weightedTimeAbove(k, importanceSampling));
+            cycleLength.add(cycleLength());
+        }
+
+        // Delta method for the ratio of two independent sample means
+        double numerator = timeAbove.getMean();
+        double denominator = cycleLength.getMean();
+        double estimate = numerator / denominator;
+        double variance = (timeAbove.getVariance()
+                + estimate * estimate * cycleLength.getVariance()) / (denominator * denominator);
+        double standardError = Math.sqrt(variance / cycles);
+        double t = StudentT.quantile(1.0 - (1.0 - QueueSimulation.CONFIDENCE_LEVEL) / 2.0, cycles - 1);
+        return new SimulationResult(estimate, theoretical(k), Math.sqrt(variance), t * standardError,
+                QueueSimulation.CONFIDENCE_LEVEL, cycles);
+    }
+
+    // Time above k in one cycle, times the likelihood ratio of the path up to k + 1
+    private double weightedTimeAbove(int k, boolean importanceSampling) {
+        int customers = 1;
+        double weight = 1.0;
+        while (customers <= k) {
+            events++;
+            double death = Math.min(customers, servers) * serviceRate;
+            double up = arrivalRate / (arrivalRate + death);
+            if (importanceSampling && customers >= servers) {
+                // Swapped rates: arrivals at c * mu, services at the arrival rate
+                if (random.nextDouble() < 1.0 - up) {
+                    customers++;
+                    weight *= up / (1.0 - up);
+                } else {
+                    customers--;
+                    weight *= (1.0 - up) / up;
+                }
+            } else {
+                customers += random.nextDouble() < up ? 1 : -1;
+            }
+            if (customers == 0) {
+                return 0.0;
+            }
+        }
+
+        double time = 0.0;
+        while (customers > 0) {
+            events++;
+            double death = Math.min(customers, servers) * serviceRate;
+            double holding = random.nextExponential() / (arrivalRate + death);
+            if (customers > k) {
+                time += holding;
+            }
+            customers += random.nextDouble() * (arrivalRate + death) < arrivalRate ? 1 : -1;
+        }
+        return weight * time;
+    }
+
+    // Busy period plus the idle time that follows it
+    private double cycleLength() {
+        int customers = 1;
+        double time = 0.0;
+        while (customers > 0) {
+            events++;
+            double death = Math.min(customers, servers) * serviceRate;
+            time += random.nextExponential() / (arrivalRate + death);
+            customers += random.nextDouble() * (arrivalRate + death) < arrivalRate ? 1 : -1;
+        }
+        return time + random.nextExponential() / arrivalRate;
+    }
+
+    private static void checkLevel(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Level must be non-negative: " + k);
+        }
+    }
+}
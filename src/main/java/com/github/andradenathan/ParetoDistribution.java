@@ -0,0 +1,48 @@
+package com.github.andradenathan;
+
+// Pareto with shape alpha and minimum scale, sampled as scale * exp(E / alpha). The mean
+// needs alpha > 1; for alpha <= 2 the second moment, and so the M/G/1 delay, is infinite.
+public class ParetoDistribution implements Distribution {
+    private final double shape;
+    private final double scale;
+
+    public ParetoDistribution(double shape, double scale) {
+        if (!(shape > 1.0) || Double.isInfinite(shape)) {
+            throw new IllegalArgumentException("Shape must be greater than 1 for a finite mean: " + shape);
+        }
+        Distribution.checkPositive("Scale", scale);
+        this.shape = shape;
+        this.scale = scale;
+    }
+
+    @Override
+    public double sample(ExponentialVariates variates) {
+        return scale * Math.exp(variates.next() / shape);
+    }
+
+    @Override
+    public double getMean() {
+        return shape * scale / (shape - 1.0);
+    }
+
+    @Override
+    public double getSecondMoment() {
+        return shape > 2.0 ? shape * scale * scale / (shape - 2.0) : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public ParetoDistribution withMean(double mean) {
+        Distribution.checkPositive("Mean", mean);
+        return new ParetoDistribution(shape, mean * (shape - 1.0) / shape);
+    }
+
+    @Override
+    public String describe() {
+        return "Pareto(shape=" + shape + ", scale=" + scale + ")";
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pareto(shape=%.4f, scale=%.4f)", shape, scale);
+    }
+}
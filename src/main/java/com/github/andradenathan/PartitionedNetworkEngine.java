@@ -0,0 +1,195 @@
+package com.github.andradenathan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Conservative parallel engine for one network replication. Stations are split into
+// contiguous blocks, one thread and one event heap per block, and time advances in
+// windows [t, t + transit) where t is the earliest pending event anywhere: a customer
+// routed during a window arrives no earlier than its end, so no partition can receive
+// an event in its past. Transfers to other partitions go through single-producer
+// mailboxes that are only read after the barrier, so they need no locks.
+//
+// Partitions other than the first run on the executor, which must be able to run all of
+// them at once. Each window takes two phases of one Phaser: even phases close the window
+// and pick the next one, odd phases hand over the mailboxes. A failing partition
+// terminates the phaser, which releases the others wherever they are.
+final class PartitionedNetworkEngine {
+    // Idle threads are reused across replications and die after a minute
+    static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "network-partition");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final QueueNetwork network;
+    private final NetworkState state;
+    private final int partitions;
+    private final int[] owners;
+    private final Mailbox[][] mailboxes;
+    private final double[] nextTimes;
+    private final Phaser phaser;
+    private final AtomicReference<Throwable> failure;
+    private final Supplier<EventList> eventListFactory;
+
+    private double windowEnd;
+    private boolean finished;
+
+    PartitionedNetworkEngine(QueueNetwork network, NetworkState state, int partitions,
+                             Supplier<EventList> eventListFactory) {
+        int stations = network.getStations();
+        this.network = network;
+        this.state = state;
+        this.partitions = partitions;
+        this.owners = new int[stations];
+        this.mailboxes = new Mailbox[partitions][partitions];
+        this.nextTimes = new double[partitions];
+        this.phaser = new Phaser(partitions) {
+            @Override
+            protected boolean onAdvance(int phase, int registeredParties) {
+                if (phase % 2 == 0) {
+                    advanceWindow();
+                }
+                return false;
+            }
+        };
+        this.failure = new AtomicReference<>();
+        this.eventListFactory = eventListFactory;
+
+        for (int i = 0; i < stations; i++) {
+            owners[i] = (int) ((long) i * partitions / stations);
+        }
+        for (Mailbox[] row : mailboxes) {
+            Arrays.setAll(row, i -> new Mailbox());
+        }
+    }
+
+    NetworkSimulation.Replication run(Executor executor) {
+        List<CompletableFuture<Void>> workers = new ArrayList<>(partitions - 1);
+        try {
+            for (int p = 1; p < partitions; p++) {
+                int partition = p;
+                workers.add(CompletableFuture.runAsync(() -> runPartition(partition), executor));
+            }
+        } catch (RuntimeException e) {
+            // Partitions already submitted would wait for the missing ones forever
+            phaser.forceTermination();
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+            throw e;
+        }
+        runPartition(0);
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("Partition failed", cause);
+        }
+        return state.finish();
+    }
+
+    private void runPartition(int partition) {
+        try {
+            simulatePartition(partition);
+        } catch (Throwable t) {
+            // The first failure wins; terminating the phaser releases the other partitions,
+            // including those still inside their window
+            failure.compareAndSet(null, t);
+            phaser.forceTermination();
+        }
+    }
+
+    private void simulatePartition(int partition) {
+        EventList events = eventListFactory.get();
+        Mailbox[] outboxes = mailboxes[partition];
+        double simulationTime = state.getSimulationTime();
+        double transitTime = network.getTransitTime();
+
+        for (int i = 0; i < owners.length; i++) {
+            if (owners[i] == partition) {
+                state.scheduleFirstArrival(i, events);
+            }
+        }
+
+        while (true) {
+            for (int from = 0; from < partitions; from++) {
+                mailboxes[from][partition].drainInto(events);
+            }
+            nextTimes[partition] = events.isEmpty() ? Double.POSITIVE_INFINITY : events.nextTime();
+
+            if (phaser.arriveAndAwaitAdvance() < 0 || finished) {
+                return;
+            }
+
+            double end = windowEnd;
+            while (!events.isEmpty() && events.nextTime() < end && events.nextTime() <= simulationTime) {
+                double time = events.nextTime();
+                int station = events.nextStation();
+                Event.Type type = events.nextType();
+                events.removeNext();
+
+                int next = state.process(type, station, time, events);
+                if (next >= 0) {
+                    int target = owners[next];
+                    if (target == partition) {
+                        events.schedule(Event.Type.TRANSFER, next, time + transitTime);
+                    } else {
+                        outboxes[target].add(next, time + transitTime);
+                    }
+                }
+            }
+
+            if (phaser.arriveAndAwaitAdvance() < 0) {
+                return;
+            }
+        }
+    }
+
+    // Runs once per window on the last thread to arrive
+    private void advanceWindow() {
+        double earliest = Double.POSITIVE_INFINITY;
+        for (double time : nextTimes) {
+            earliest = Math.min(earliest, time);
+        }
+        finished = earliest > state.getSimulationTime();
+        windowEnd = earliest + network.getTransitTime();
+    }
+
+    // Transfers from one partition to another, written only by the sender during a window
+    // and drained only by the receiver after the barrier.
+    private static final class Mailbox {
+        private int[] stations = new int[16];
+        private double[] times = new double[16];
+        private int size;
+
+        void add(int station, double time) {
+            if (size == times.length) {
+                stations = Arrays.copyOf(stations, size * 2);
+                times = Arrays.copyOf(times, size * 2);
+            }
+            stations[size] = station;
+            times[size] = time;
+            size++;
+        }
+
+        void drainInto(EventList events) {
+            for (int i = 0; i < size; i++) {
+                events.schedule(Event.Type.TRANSFER, stations[i], times[i]);
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.andradenathan;
+
+// Records each departing customer's time in system and the number of customers each
+// arrival finds in the system.
+public class PercentileRecorder implements SimulationListener {
+    private final LogLinearHistogram timeInSystem;
+    private final LogLinearHistogram queueLength;
+
+    public PercentileRecorder() {
+        this(new LogLinearHistogram(), new LogLinearHistogram());
+    }
+
+    PercentileRecorder(LogLinearHistogram timeInSystem, LogLinearHistogram queueLength) {
+        this.timeInSystem = timeInSystem;
+        this.queueLength = queueLength;
+    }
+
+    @Override
+    public void onEvent(Event.Type type, double time, QueueState queue) {
+        if (type == Event.Type.ARRIVAL) {
+            queueLength.record(queue.getCustomersInQueue() - 1);
+        } else {
+            timeInSystem.record(queue.getLastTimeInSystem());
+        }
+    }
+
+    public void merge(PercentileRecorder other) {
+        timeInSystem.merge(other.timeInSystem);
+        queueLength.merge(other.queueLength);
+    }
+
+    public LogLinearHistogram getTimeInSystem() {
+        return timeInSystem;
+    }
+
+    public LogLinearHistogram getQueueLength() {
+        return queueLength;
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.andradenathan;
+
+// Mean-value formulas for the M/G/1 queue; they depend on the service time only through
+// its first two moments.
+public final class PollaczekKhinchine {
+    private PollaczekKhinchine() {
+    }
+
+    public static double meanWaitingTime(double arrivalRate, Distribution serviceTimes) {
+        double utilisation = arrivalRate * serviceTimes.getMean();
+        if (utilisation >= 1.0) {
+            throw new IllegalArgumentException("Unstable system: utilisation " + utilisation);
+        }
+        return arrivalRate * serviceTimes.getSecondMoment() / (2.0 * (1.0 - utilisation));
+    }
+
+    public static double meanResponseTime(double arrivalRate, Distribution serviceTimes) {
+        return meanWaitingTime(arrivalRate, serviceTimes) + serviceTimes.getMean();
+    }
+
+    public static double meanCustomers(double arrivalRate, Distribution serviceTimes) {
+        return arrivalRate * meanResponseTime(arrivalRate, serviceTimes);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.andradenathan;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public class PrecisionTarget {
+    private static final int DEFAULT_MIN_REPLICATIONS = 10;
+    private static final int DEFAULT_MAX_REPLICATIONS = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 16;
+
+    private final double relativeHalfWidth;
+    private final double confidenceLevel;
+    private final int minReplications;
+    private final int maxReplications;
+    private final int batchSize;
+    private final Duration timeBudget;
+    private final double simulationTime;
+
+    public PrecisionTarget(double relativeHalfWidth, double confidenceLevel,
+                           int minReplications, int maxReplications, int batchSize,
+                           Duration timeBudget, double simulationTime) {
+        if (!(relativeHalfWidth > 0)) {
+            throw new IllegalArgumentException("Relative half-width must be positive: " + relativeHalfWidth);
+        }
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new IllegalArgumentException("Confidence level must be in (0, 1): " + confidenceLevel);
+        }
+        if (minReplications < 2 || maxReplications < minReplications) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid replication bounds: min=%d, max=%d", minReplications, maxReplications));
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        Objects.requireNonNull(timeBudget, "Time budget must not be null");
+        if (timeBudget.isNegative() || timeBudget.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive: " + timeBudget);
+        }
+        if (!(simulationTime > 0)) {
+            throw new IllegalArgumentException("Simulation time must be positive: " + simulationTime);
+        }
+        this.relativeHalfWidth = relativeHalfWidth;
+        this.confidenceLevel = confidenceLevel;
+        this.minReplications = minReplications;
+        this.maxReplications = maxReplications;
+        this.batchSize = batchSize;
+        this.timeBudget = timeBudget;
+        this.simulationTime = simulationTime;
+    }
+
+    public PrecisionTarget(double relativeHalfWidth, double confidenceLevel) {
+        this(relativeHalfWidth, confidenceLevel, DEFAULT_MIN_REPLICATIONS, DEFAULT_MAX_REPLICATIONS,
+                DEFAULT_BATCH_SIZE, Duration.ofMinutes(10), QueueSimulation.SIMULATION_TIME);
+    }
+
+    public double getRelativeHalfWidth() {
+        return relativeHalfWidth;
+    }
+
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    public int getMinReplications() {
+        return minReplications;
+    }
+
+    public int getMaxReplications() {
+        return maxReplications;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Duration getTimeBudget() {
+        return timeBudget;
+    }
+
+    public double getSimulationTime() {
+        return simulationTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PrecisionTarget{relativeHalfWidth=%.4f, confidence=%.2f, replications=[%d, %d], batch=%d, horizon=%.1f}",
+                relativeHalfWidth, confidenceLevel, minReplications, maxReplications, batchSize, simulationTime);
+    }
+}
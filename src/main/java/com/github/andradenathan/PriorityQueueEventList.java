@@ -0,0 +1,63 @@
+package com.github.andradenathan;
+
+import java.util.PriorityQueue;
+
+public class PriorityQueueEventList implements EventList {
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private long nextSequence;
+
+    @Override
+    public void schedule(Event.Type type, double time) {
+        schedule(type, 0, time);
+    }
+
+    @Override
+    public void schedule(Event.Type type, int station, double time) {
+        events.add(new Event(type, station, time, nextSequence++));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return events.size();
+    }
+
+    @Override
+    public double nextTime() {
+        return next().getTime();
+    }
+
+    @Override
+    public Event.Type nextType() {
+        return next().getType();
+    }
+
+    @Override
+    public int nextStation() {
+        return next().getStation();
+    }
+
+    @Override
+    public void removeNext() {
+        next();
+        events.poll();
+    }
+
+    @Override
+    public void clear() {
+        events.clear();
+        nextSequence = 0;
+    }
+
+    private Event next() {
+        Event event = events.peek();
+        if (event == null) {
+            throw new IllegalStateException("Event list is empty");
+        }
+        return event;
+    }
+}
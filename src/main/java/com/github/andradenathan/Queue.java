@@ -1,11 +1,15 @@
 package com.github.andradenathan;
 
-import java.util.Random;
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
 
-public class Queue {
+public class Queue implements QueueState {
     private final double lambda;
-    private final boolean isServiceTimeConstant;
-    private final Random random;
+    private final Distribution interarrivalTimes;
+    private final Distribution serviceTimes;
+    private final ExponentialVariates arrivalVariates;
+    private final ExponentialVariates serviceVariates;
+    private final DoubleRingBuffer arrivalTimes;
 
     private int customersInQueue;
     private double currentTime;
@@ -13,57 +17,133 @@ public class Queue {
     private double totalWeightedTime;
     private int customersCompleted;
     private double totalTimeInSystem;
+    private double lastTimeInSystem;
+    private long eventsProcessed;
 
-    public Queue(double lambda, boolean isServiceTimeConstant, Random random) {
-        this.lambda = lambda;
-        this.isServiceTimeConstant = isServiceTimeConstant;
-        this.random = random;
+    public Queue(double lambda, boolean isServiceTimeConstant, RandomGenerator random) {
+        this(lambda, 1.0, isServiceTimeConstant, random);
+    }
+
+    public Queue(double lambda, double serviceRate, boolean isServiceTimeConstant, RandomGenerator random) {
+        this(new ExponentialDistribution(lambda), isServiceTimeConstant
+                ? new DeterministicDistribution(1.0 / serviceRate)
+                : new ExponentialDistribution(serviceRate), random);
+    }
+
+    public Queue(Distribution interarrivalTimes, Distribution serviceTimes, RandomGenerator random) {
+        this(interarrivalTimes, serviceTimes, new ExponentialVariates(random));
+    }
+
+    private Queue(Distribution interarrivalTimes, Distribution serviceTimes, ExponentialVariates variates) {
+        this(interarrivalTimes, serviceTimes, variates, variates);
+    }
+
+    // Separate sources keep arrivals and services on their own streams, for common random
+    // numbers across scenarios.
+    public Queue(Distribution interarrivalTimes, Distribution serviceTimes,
+                 ExponentialVariates arrivalVariates, ExponentialVariates serviceVariates) {
+        this.lambda = 1.0 / interarrivalTimes.getMean();
+        this.interarrivalTimes = interarrivalTimes;
+        this.serviceTimes = serviceTimes;
+        this.arrivalVariates = arrivalVariates;
+        this.serviceVariates = serviceVariates;
+        this.arrivalTimes = new DoubleRingBuffer();
         this.customersInQueue = 0;
         this.currentTime = 0.0;
         this.lastEventTime = 0.0;
         this.totalWeightedTime = 0.0;
         this.customersCompleted = 0;
         this.totalTimeInSystem = 0.0;
+        this.lastTimeInSystem = 0.0;
+        this.eventsProcessed = 0;
     }
 
     public double generateInterarrivalTime() {
-        return -Math.log(1 - random.nextDouble()) / lambda;
+        return interarrivalTimes.sample(arrivalVariates);
     }
 
     public double generateServiceTime() {
-        if (isServiceTimeConstant) {
-            return 1.0;
-        }
-        return -Math.log(1 - random.nextDouble());
+        return serviceTimes.sample(serviceVariates);
     }
 
     public void updateStatistics(double newTime) {
         totalWeightedTime += customersInQueue * (newTime - lastEventTime);
         lastEventTime = newTime;
         currentTime = newTime;
+        eventsProcessed++;
     }
 
     public void processArrival() {
         customersInQueue++;
+        arrivalTimes.add(currentTime);
     }
 
     public void processDeparture() {
+        if (arrivalTimes.isEmpty()) {
+            throw new IllegalStateException("No customer in the queue to depart");
+        }
         customersInQueue--;
         customersCompleted++;
+        lastTimeInSystem = currentTime - arrivalTimes.poll();
+        totalTimeInSystem += lastTimeInSystem;
+    }
+
+    Distribution getInterarrivalTimes() {
+        return interarrivalTimes;
+    }
+
+    Distribution getServiceTimes() {
+        return serviceTimes;
+    }
+
+    ExponentialVariates getArrivalVariates() {
+        return arrivalVariates;
+    }
+
+    ExponentialVariates getServiceVariates() {
+        return serviceVariates;
     }
 
     public boolean isEmpty() {
         return customersInQueue == 0;
     }
 
+    @Override
     public double getCurrentTime() {
         return currentTime;
     }
 
+    @Override
     public int getCustomersInQueue() {
         return customersInQueue;
     }
 
+    @Override
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    @Override
+    public int getCustomersCompleted() {
+        return customersCompleted;
+    }
+
+    @Override
+    public double getLastTimeInSystem() {
+        return lastTimeInSystem;
+    }
+
+    // Mean sojourn time measured per customer at departure (FIFO order).
+    @Override
+    public double getMeasuredAverageTimeInSystem() {
+        if (customersCompleted == 0) {
+            return 0.0;
+        }
+        return totalTimeInSystem / customersCompleted;
+    }
+
+    // Time-average estimate through Little's law: W = L / lambda.
+    @Override
     public double getAverageTimeInSystem() {
         if (customersCompleted == 0) {
             return 0.0;
@@ -73,6 +153,43 @@ public class Queue {
         return averageCustomers / lambda;
     }
 
+    // Counters, clock and the arrival times of the customers in the system; the
+    // distributions and variates are not part of it
+    int snapshotBytes() {
+        return 2 * Integer.BYTES + 5 * Double.BYTES + Long.BYTES + Integer.BYTES
+                + arrivalTimes.size() * Double.BYTES;
+    }
+
+    void writeSnapshot(ByteBuffer snapshot) {
+        snapshot.putInt(customersInQueue).putInt(customersCompleted)
+                .putDouble(currentTime).putDouble(lastEventTime).putDouble(totalWeightedTime)
+                .putDouble(totalTimeInSystem).putDouble(lastTimeInSystem)
+                .putLong(eventsProcessed)
+                .putInt(arrivalTimes.size());
+        for (int i = 0; i < arrivalTimes.size(); i++) {
+            snapshot.putDouble(arrivalTimes.get(i));
+        }
+    }
+
+    void readSnapshot(ByteBuffer snapshot) {
+        customersInQueue = snapshot.getInt();
+        customersCompleted = snapshot.getInt();
+        currentTime = snapshot.getDouble();
+        lastEventTime = snapshot.getDouble();
+        totalWeightedTime = snapshot.getDouble();
+        totalTimeInSystem = snapshot.getDouble();
+        lastTimeInSystem = snapshot.getDouble();
+        eventsProcessed = snapshot.getLong();
+        int waiting = snapshot.getInt();
+        if (waiting != customersInQueue || waiting > snapshot.remaining() / Double.BYTES) {
+            throw new IllegalArgumentException("Invalid queue state");
+        }
+        arrivalTimes.clear();
+        for (int i = 0; i < waiting; i++) {
+            arrivalTimes.add(snapshot.getDouble());
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("Queue{lambda=%.2f, customers=%d, time=%.2f}",
@@ -0,0 +1,203 @@
+package com.github.andradenathan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Downsampled trajectory of N(t) over simulated time. Each bucket covers a fixed time span
+// and keeps the minimum, maximum and area of N(t) plus the departures inside it. When the
+// buckets fill up, neighbours are merged pairwise and the span doubles, as in
+// BatchMeansAccumulator, so memory is fixed for any simulation time. The bucket still
+// filling up is reported as the last one.
+public class QueueLengthSampler implements SimulationListener {
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final double DEFAULT_INITIAL_WIDTH = 1.0;
+
+    private final int[] minimums;
+    private final int[] maximums;
+    private final double[] areas;
+    private final long[] departures;
+    private final double[] responseSums;
+    private int buckets;
+    private double width;
+    private double bucketEnd;
+
+    private int partialMinimum;
+    private int partialMaximum;
+    private double partialArea;
+    private long partialDepartures;
+    private double partialResponseSum;
+
+    private int customers;
+    private double lastTime;
+
+    public QueueLengthSampler() {
+        this(DEFAULT_CAPACITY, DEFAULT_INITIAL_WIDTH);
+    }
+
+    public QueueLengthSampler(int capacity, double initialWidth) {
+        if (capacity < 4 || capacity % 2 != 0) {
+            throw new IllegalArgumentException("Capacity must be even and at least 4: " + capacity);
+        }
+        if (!(initialWidth > 0) || Double.isInfinite(initialWidth)) {
+            throw new IllegalArgumentException("Bucket width must be positive and finite: " + initialWidth);
+        }
+        this.minimums = new int[capacity];
+        this.maximums = new int[capacity];
+        this.areas = new double[capacity];
+        this.departures = new long[capacity];
+        this.responseSums = new double[capacity];
+        this.width = initialWidth;
+        this.bucketEnd = initialWidth;
+    }
+
+    @Override
+    public void onEvent(Event.Type type, double time, QueueState queue) {
+        advance(time);
+        if (type == Event.Type.DEPARTURE) {
+            partialDepartures++;
+            partialResponseSum += queue.getLastTimeInSystem();
+        }
+        customers = queue.getCustomersInQueue();
+        partialMinimum = Math.min(partialMinimum, customers);
+        partialMaximum = Math.max(partialMaximum, customers);
+    }
+
+    // Carries the current N(t) up to time, closing every bucket boundary it crosses.
+    private void advance(double time) {
+        while (time >= bucketEnd) {
+            partialArea += customers * (bucketEnd - lastTime);
+            lastTime = bucketEnd;
+            closeBucket();
+        }
+        partialArea += customers * (time - lastTime);
+        lastTime = time;
+    }
+
+    private void closeBucket() {
+        if (buckets == minimums.length) {
+            // The partial bucket is now the first half of a doubled one and keeps filling up.
+            collapse();
+            bucketEnd = (buckets + 1) * width;
+            return;
+        }
+        minimums[buckets] = partialMinimum;
+        maximums[buckets] = partialMaximum;
+        areas[buckets] = partialArea;
+        departures[buckets] = partialDepartures;
+        responseSums[buckets] = partialResponseSum;
+        buckets++;
+        bucketEnd = (buckets + 1) * width;
+
+        partialMinimum = customers;
+        partialMaximum = customers;
+        partialArea = 0.0;
+        partialDepartures = 0;
+        partialResponseSum = 0.0;
+    }
+
+    private void collapse() {
+        int half = minimums.length / 2;
+        for (int i = 0; i < half; i++) {
+            minimums[i] = Math.min(minimums[2 * i], minimums[2 * i + 1]);
+            maximums[i] = Math.max(maximums[2 * i], maximums[2 * i + 1]);
+            areas[i] = areas[2 * i] + areas[2 * i + 1];
+            departures[i] = departures[2 * i] + departures[2 * i + 1];
+            responseSums[i] = responseSums[2 * i] + responseSums[2 * i + 1];
+        }
+        buckets = half;
+        width *= 2;
+    }
+
+    // Closed buckets plus the one still filling up
+    public int getBuckets() {
+        return buckets + 1;
+    }
+
+    public double getBucketWidth() {
+        return width;
+    }
+
+    public double getStart(int bucket) {
+        return bucket * width;
+    }
+
+    // The last bucket ends at the last event seen
+    public double getEnd(int bucket) {
+        return bucket < buckets ? (bucket + 1) * width : lastTime;
+    }
+
+    public int getMinimum(int bucket) {
+        return bucket < buckets ? minimums[bucket] : partialMinimum;
+    }
+
+    public int getMaximum(int bucket) {
+        return bucket < buckets ? maximums[bucket] : partialMaximum;
+    }
+
+    // Time average of N(t) over the bucket
+    public double getMean(int bucket) {
+        double span = getEnd(bucket) - getStart(bucket);
+        return span > 0 ? area(bucket) / span : customers;
+    }
+
+    public long getDepartures(int bucket) {
+        return bucket < buckets ? departures[bucket] : partialDepartures;
+    }
+
+    // Mean time in system of the customers departing inside the bucket
+    public double getMeanResponseTime(int bucket) {
+        long count = getDepartures(bucket);
+        return count > 0 ? responseSum(bucket) / count : Double.NaN;
+    }
+
+    // Running mean time in system of every customer departed by the end of the bucket
+    public double getCumulativeResponseTime(int bucket) {
+        long count = 0;
+        double sum = 0.0;
+        for (int i = 0; i <= bucket; i++) {
+            count += getDepartures(i);
+            sum += responseSum(i);
+        }
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    // Time average of N(t) over the whole run
+    public double getTimeAverage() {
+        if (!(lastTime > 0)) {
+            return 0.0;
+        }
+        double total = partialArea;
+        for (int i = 0; i < buckets; i++) {
+            total += areas[i];
+        }
+        return total / lastTime;
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("start,end,min,max,mean,departures,mean_response,cumulative_response");
+            writer.newLine();
+
+            long cumulativeCount = 0;
+            double cumulativeSum = 0.0;
+            for (int i = 0; i < getBuckets(); i++) {
+                cumulativeCount += getDepartures(i);
+                cumulativeSum += responseSum(i);
+                writer.write(getStart(i) + "," + getEnd(i) + "," + getMinimum(i) + "," + getMaximum(i) + ","
+                        + getMean(i) + "," + getDepartures(i) + "," + getMeanResponseTime(i) + ","
+                        + (cumulativeCount > 0 ? cumulativeSum / cumulativeCount : Double.NaN));
+                writer.newLine();
+            }
+        }
+    }
+
+    private double area(int bucket) {
+        return bucket < buckets ? areas[bucket] : partialArea;
+    }
+
+    private double responseSum(int bucket) {
+        return bucket < buckets ? responseSums[bucket] : partialResponseSum;
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Step function N(t): the queue holds getQueueLength(i) customers from getTime(i) until
+// the next change point.
+public class QueueLengthSeries {
+    private double[] times;
+    private int[] lengths;
+    private int size;
+
+    public QueueLengthSeries() {
+        this.times = new double[16];
+        this.lengths = new int[16];
+    }
+
+    public void add(double time, int length) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+        }
+        times[size] = time;
+        lengths[size] = length;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getTime(int index) {
+        return times[index];
+    }
+
+    public int getQueueLength(int index) {
+        return lengths[index];
+    }
+
+    public int getMaxQueueLength() {
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, lengths[i]);
+        }
+        return max;
+    }
+
+    // Integral of N(t) up to the last change point; the queue is empty before the first.
+    public double getArea() {
+        double area = 0.0;
+        for (int i = 0; i + 1 < size; i++) {
+            area += lengths[i] * (times[i + 1] - times[i]);
+        }
+        return area;
+    }
+
+    // Time average over [0, last change point], as the simulations start empty at time 0.
+    public double getTimeAverage() {
+        if (size == 0 || !(times[size - 1] > 0)) {
+            return 0.0;
+        }
+        return getArea() / times[size - 1];
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.andradenathan;
+
+import java.util.Arrays;
+
+// Open network of FIFO stations with exponential service. Routing is kept in compressed
+// sparse rows (cumulative probabilities per station), so memory grows with the number of
+// links rather than stations squared. Routed customers spend a fixed transit time between
+// stations; it adds to the sojourn time only and is the lookahead of the parallel engine.
+public class QueueNetwork {
+    private static final double TRAFFIC_TOLERANCE = 1e-12;
+    private static final int MAX_TRAFFIC_ITERATIONS = 1_000_000;
+
+    private final int stations;
+    private final double[] externalArrivalRates;
+    private final double[] serviceRates;
+    private final int[] servers;
+    private final int[] routeOffsets;
+    private final int[] routeTargets;
+    private final double[] routeCumulative;
+    private final double[] arrivalRates;
+    private final double transitTime;
+
+    public QueueNetwork(double[] externalArrivalRates, double[] serviceRates, int[] servers,
+                        int[] routeFrom, int[] routeTo, double[] routeProbability, double transitTime) {
+        this.stations = externalArrivalRates.length;
+        if (serviceRates.length != stations || servers.length != stations) {
+            throw new IllegalArgumentException("Station arrays must have the same length");
+        }
+        if (routeFrom.length != routeTo.length || routeFrom.length != routeProbability.length) {
+            throw new IllegalArgumentException("Routing arrays must have the same length");
+        }
+        if (transitTime < 0) {
+            throw new IllegalArgumentException("Transit time must be non-negative: " + transitTime);
+        }
+        for (int i = 0; i < stations; i++) {
+            if (externalArrivalRates[i] < 0 || serviceRates[i] <= 0 || servers[i] < 1) {
+                throw new IllegalArgumentException("Invalid parameters for station " + i);
+            }
+        }
+
+        this.externalArrivalRates = externalArrivalRates.clone();
+        this.serviceRates = serviceRates.clone();
+        this.servers = servers.clone();
+        this.transitTime = transitTime;
+        this.routeOffsets = new int[stations + 1];
+        this.routeTargets = new int[routeFrom.length];
+        this.routeCumulative = new double[routeFrom.length];
+
+        for (int from : routeFrom) {
+            checkStation(from);
+            routeOffsets[from + 1]++;
+        }
+        for (int i = 0; i < stations; i++) {
+            routeOffsets[i + 1] += routeOffsets[i];
+        }
+
+        int[] fill = Arrays.copyOf(routeOffsets, stations);
+        double[] probability = new double[routeFrom.length];
+        for (int k = 0; k < routeFrom.length; k++) {
+            checkStation(routeTo[k]);
+            if (routeProbability[k] < 0) {
+                throw new IllegalArgumentException("Negative routing probability: " + routeProbability[k]);
+            }
+            int slot = fill[routeFrom[k]]++;
+            routeTargets[slot] = routeTo[k];
+            probability[slot] = routeProbability[k];
+        }
+        for (int i = 0; i < stations; i++) {
+            double cumulative = 0.0;
+            for (int slot = routeOffsets[i]; slot < routeOffsets[i + 1]; slot++) {
+                cumulative += probability[slot];
+                routeCumulative[slot] = cumulative;
+            }
+            if (cumulative > 1.0 + 1e-9) {
+                throw new IllegalArgumentException("Routing probabilities of station " + i + " exceed 1");
+            }
+        }
+
+        this.arrivalRates = solveTrafficEquations();
+        for (int i = 0; i < stations; i++) {
+            if (arrivalRates[i] >= servers[i] * serviceRates[i]) {
+                throw new IllegalArgumentException(String.format(
+                        "Station %d is unstable: arrival rate %.4f, capacity %.4f",
+                        i, arrivalRates[i], servers[i] * serviceRates[i]));
+            }
+        }
+    }
+
+    public QueueNetwork(double[] externalArrivalRates, double[] serviceRates, int[] servers,
+                        int[] routeFrom, int[] routeTo, double[] routeProbability) {
+        this(externalArrivalRates, serviceRates, servers, routeFrom, routeTo, routeProbability, 0.0);
+    }
+
+    public QueueNetwork(double[] externalArrivalRates, double[] serviceRates, int[] servers,
+                        double[][] routing, double transitTime) {
+        this(externalArrivalRates, serviceRates, servers,
+                denseRoutes(routing, 0), denseRoutes(routing, 1), denseProbabilities(routing), transitTime);
+    }
+
+    public QueueNetwork(double[] externalArrivalRates, double[] serviceRates, int[] servers, double[][] routing) {
+        this(externalArrivalRates, serviceRates, servers, routing, 0.0);
+    }
+
+    public static QueueNetwork tandem(int stations, double arrivalRate, double serviceRate) {
+        return tandem(stations, arrivalRate, serviceRate, 0.0);
+    }
+
+    public static QueueNetwork tandem(int stations, double arrivalRate, double serviceRate, double transitTime) {
+        double[] external = new double[stations];
+        double[] service = new double[stations];
+        int[] servers = new int[stations];
+        int[] from = new int[stations - 1];
+        int[] to = new int[stations - 1];
+        double[] probability = new double[stations - 1];
+
+        external[0] = arrivalRate;
+        Arrays.fill(service, serviceRate);
+        Arrays.fill(servers, 1);
+        for (int i = 0; i < stations - 1; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+            probability[i] = 1.0;
+        }
+        return new QueueNetwork(external, service, servers, from, to, probability, transitTime);
+    }
+
+    // Fixed point of lambda = gamma + lambda P, iterated along the sparse rows.
+    private double[] solveTrafficEquations() {
+        double[] rates = externalArrivalRates.clone();
+        double[] next = new double[stations];
+
+        for (int iteration = 0; iteration < MAX_TRAFFIC_ITERATIONS; iteration++) {
+            System.arraycopy(externalArrivalRates, 0, next, 0, stations);
+            for (int i = 0; i < stations; i++) {
+                double previous = 0.0;
+                for (int slot = routeOffsets[i]; slot < routeOffsets[i + 1]; slot++) {
+                    next[routeTargets[slot]] += rates[i] * (routeCumulative[slot] - previous);
+                    previous = routeCumulative[slot];
+                }
+            }
+
+            double change = 0.0;
+            for (int i = 0; i < stations; i++) {
+                change = Math.max(change, Math.abs(next[i] - rates[i]) / Math.max(1.0, next[i]));
+            }
+            double[] swap = rates;
+            rates = next;
+            next = swap;
+
+            if (change < TRAFFIC_TOLERANCE) {
+                return rates;
+            }
+        }
+        throw new IllegalArgumentException("Traffic equations do not converge: the network is not open");
+    }
+
+    // Next station for a customer leaving `station`, or -1 when it leaves the network.
+    public int route(int station, double uniform) {
+        int low = routeOffsets[station];
+        int high = routeOffsets[station + 1];
+        if (low == high || uniform >= routeCumulative[high - 1]) {
+            return -1;
+        }
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (routeCumulative[middle] <= uniform) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return routeTargets[low];
+    }
+
+    public int getStations() {
+        return stations;
+    }
+
+    public double getExternalArrivalRate(int station) {
+        return externalArrivalRates[station];
+    }
+
+    public double getTotalExternalArrivalRate() {
+        double total = 0.0;
+        for (double rate : externalArrivalRates) {
+            total += rate;
+        }
+        return total;
+    }
+
+    public double getServiceRate(int station) {
+        return serviceRates[station];
+    }
+
+    public int getServers(int station) {
+        return servers[station];
+    }
+
+    public double getArrivalRate(int station) {
+        return arrivalRates[station];
+    }
+
+    public double getTransitTime() {
+        return transitTime;
+    }
+
+    public double getRoutingProbability(int station) {
+        int last = routeOffsets[station + 1] - 1;
+        return last < routeOffsets[station] ? 0.0 : Math.min(1.0, routeCumulative[last]);
+    }
+
+    // Jackson's theorem: each station behaves as an independent M/M/c queue.
+    public double getTheoreticalResponseTime(int station) {
+        return ErlangC.meanResponseTime(arrivalRates[station], serviceRates[station], servers[station]);
+    }
+
+    public double getTheoreticalNetworkResponseTime() {
+        double customers = 0.0;
+        for (int i = 0; i < stations; i++) {
+            customers += arrivalRates[i] * getTheoreticalResponseTime(i);
+            customers += arrivalRates[i] * getRoutingProbability(i) * transitTime;
+        }
+        return customers / getTotalExternalArrivalRate();
+    }
+
+    private void checkStation(int station) {
+        if (station < 0 || station >= stations) {
+            throw new IllegalArgumentException("Unknown station: " + station);
+        }
+    }
+
+    private static int[] denseRoutes(double[][] routing, int coordinate) {
+        int links = 0;
+        for (double[] row : routing) {
+            for (double probability : row) {
+                if (probability != 0.0) {
+                    links++;
+                }
+            }
+        }
+        int[] routes = new int[links];
+        int k = 0;
+        for (int i = 0; i < routing.length; i++) {
+            for (int j = 0; j < routing[i].length; j++) {
+                if (routing[i][j] != 0.0) {
+                    routes[k++] = coordinate == 0 ? i : j;
+                }
+            }
+        }
+        return routes;
+    }
+
+    private static double[] denseProbabilities(double[][] routing) {
+        return Arrays.stream(routing)
+                .flatMapToDouble(Arrays::stream)
+                .filter(probability -> probability != 0.0)
+                .toArray();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueueNetwork{stations=%d, links=%d, externalRate=%.4f, transit=%.4f}",
+                stations, routeTargets.length, getTotalExternalArrivalRate(), transitTime);
+    }
+}
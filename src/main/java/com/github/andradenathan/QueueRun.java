@@ -0,0 +1,163 @@
+package com.github.andradenathan;
+
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.util.function.Supplier;
+
+// A single-server replication that can be advanced in steps, saved, restored and forked.
+// runUntil(t1) followed by runUntil(t2) processes exactly the events of runUntil(t2), so
+// a run restored from a snapshot continues as if it had never stopped. Snapshots need
+// the LxmRandom streams of QueueSimulation.startSingleQueue.
+public class QueueRun {
+    private final Queue queue;
+    private final EventList events;
+    private final Supplier<EventList> eventListFactory;
+
+    QueueRun(Queue queue, Supplier<EventList> eventListFactory) {
+        this.queue = queue;
+        this.events = eventListFactory.get();
+        this.eventListFactory = eventListFactory;
+    }
+
+    void start() {
+        start(queue, events);
+    }
+
+    // The first arrival at time zero and its departure
+    static void start(Queue queue, EventList events) {
+        events.schedule(Event.Type.ARRIVAL, 0.0);
+        events.schedule(Event.Type.DEPARTURE, queue.generateServiceTime());
+    }
+
+    public QueueRun runUntil(double simulationTime) {
+        return runUntil(simulationTime, null);
+    }
+
+    // Stops after the first event past simulationTime, as QueueSimulation's replications do
+    public QueueRun runUntil(double simulationTime, SimulationListener listener) {
+        run(queue, events, simulationTime, listener);
+        return this;
+    }
+
+    // Shared with QueueSimulation's replications, which keep the event list local
+    static void run(Queue queue, EventList events, double simulationTime, SimulationListener listener) {
+        while (queue.getCurrentTime() <= simulationTime) {
+            if (events.isEmpty()) {
+                break;
+            }
+
+            double time = events.nextTime();
+            Event.Type type = events.nextType();
+            events.removeNext();
+            queue.updateStatistics(time);
+
+            if (type == Event.Type.ARRIVAL) {
+                queue.processArrival();
+
+                double nextArrivalTime = time + queue.generateInterarrivalTime();
+                events.schedule(Event.Type.ARRIVAL, nextArrivalTime);
+
+            } else {
+                queue.processDeparture();
+
+                if (!queue.isEmpty()) {
+                    double nextDepartureTime = time + queue.generateServiceTime();
+                    events.schedule(Event.Type.DEPARTURE, nextDepartureTime);
+                } else if (!events.isEmpty() && events.nextType() == Event.Type.ARRIVAL) {
+                    double nextDepartureTime = events.nextTime() + queue.generateServiceTime();
+                    events.schedule(Event.Type.DEPARTURE, nextDepartureTime);
+                }
+            }
+
+            if (listener != null) {
+                listener.onEvent(type, time, queue);
+            }
+        }
+    }
+
+    public QueueState getState() {
+        return queue;
+    }
+
+    public QueueSnapshot snapshot() {
+        ExponentialVariates arrivals = queue.getArrivalVariates();
+        ExponentialVariates services = queue.getServiceVariates();
+        boolean shared = arrivals == services;
+
+        // The event list has no iterator: drain it in firing order and schedule it again
+        int pending = events.size();
+        int[] codes = new int[pending];
+        double[] times = new double[pending];
+        for (int i = 0; i < pending; i++) {
+            times[i] = events.nextTime();
+            codes[i] = Event.pack(events.nextType(), events.nextStation());
+            events.removeNext();
+        }
+        for (int i = 0; i < pending; i++) {
+            events.schedule(Event.unpackType(codes[i]), Event.unpackStation(codes[i]), times[i]);
+        }
+
+        int size = QueueSnapshot.HEADER_BYTES
+                + Integer.BYTES + arrivals.snapshotBytes() + (shared ? 0 : services.snapshotBytes())
+                + queue.snapshotBytes()
+                + Integer.BYTES + pending * (Integer.BYTES + Double.BYTES);
+        ByteBuffer snapshot = ByteBuffer.allocate(size).order(QueueSnapshot.ORDER);
+        snapshot.putInt(QueueSnapshot.MAGIC).putInt(QueueSnapshot.VERSION);
+        snapshot.putInt(shared ? 1 : 0);
+        arrivals.writeSnapshot(snapshot);
+        if (!shared) {
+            services.writeSnapshot(snapshot);
+        }
+        queue.writeSnapshot(snapshot);
+        snapshot.putInt(pending);
+        for (int i = 0; i < pending; i++) {
+            snapshot.putInt(codes[i]).putDouble(times[i]);
+        }
+        return new QueueSnapshot(snapshot.array());
+    }
+
+    // Continues exactly like this run, on its own copy of the streams
+    public QueueRun fork() {
+        return restore(snapshot(), queue.getInterarrivalTimes(), queue.getServiceTimes(), eventListFactory, null);
+    }
+
+    // Continues from this state on a fresh stream, independent of this run
+    public QueueRun fork(long seed) {
+        return restore(snapshot(), queue.getInterarrivalTimes(), queue.getServiceTimes(), eventListFactory,
+                new ExponentialVariates(new LxmRandom(seed)));
+    }
+
+    // variates, when given, replaces the saved streams
+    static QueueRun restore(QueueSnapshot snapshot, Distribution interarrivalTimes, Distribution serviceTimes,
+                            Supplier<EventList> eventListFactory, ExponentialVariates variates) {
+        ByteBuffer body = snapshot.body();
+        try {
+            boolean shared = body.getInt() != 0;
+            ExponentialVariates arrivals = ExponentialVariates.readSnapshot(body);
+            ExponentialVariates services = shared ? arrivals : ExponentialVariates.readSnapshot(body);
+            if (variates != null) {
+                arrivals = variates;
+                services = variates;
+            }
+
+            Queue queue = new Queue(interarrivalTimes, serviceTimes, arrivals, services);
+            queue.readSnapshot(body);
+
+            QueueRun run = new QueueRun(queue, eventListFactory);
+            int pending = body.getInt();
+            if (pending < 0 || pending > body.remaining() / (Integer.BYTES + Double.BYTES)) {
+                throw new IllegalArgumentException("Invalid event list state");
+            }
+            for (int i = 0; i < pending; i++) {
+                int code = body.getInt();
+                run.events.schedule(Event.unpackType(code), Event.unpackStation(code), body.getDouble());
+            }
+            if (body.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes in queue snapshot");
+            }
+            return run;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated queue snapshot", e);
+        }
+    }
+}
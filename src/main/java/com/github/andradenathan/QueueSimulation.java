@@ -1,18 +1,67 @@
 package com.github.andradenathan;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 public class QueueSimulation {
-    private static final double[] LAMBDAS = {0.5, 0.8, 0.9, 0.99};
-    private static final int QUEUE_QUANTITY = 100;
-    private static final double SIMULATION_TIME = 10000.0;
+    static final double[] LAMBDAS = {0.5, 0.8, 0.9, 0.99};
+    static final int QUEUE_QUANTITY = 100;
+    static final double SIMULATION_TIME = 10000.0;
+    static final double CONFIDENCE_LEVEL = 0.95;
+    private static final double BATCH_MEANS_OBSERVATION_INTERVAL = 10.0;
+    private static final int BATCH_MEANS_BATCHES = 30;
+    static final String STREAM_ALGORITHM = "L64X128MixRandom";
 
-    private final boolean isServiceTimeConstant;
-    private final Random random;
+    private final Distribution interarrivalTimes;
+    private final Distribution serviceTimes;
+    private final long seed;
+    private final int servers;
+    private final double serviceRate;
+    private final RandomGenerator random;
+    private final Supplier<EventList> eventListFactory;
+
+    // The lambda passed to the simulate/run methods is the per-server utilisation
+    // lambda / (c * mu); with the default single server at mu = 1 it is the arrival rate.
+    // Only the shape of interarrivalTimes matters: it is rescaled to the mean 1 / arrival rate.
+    public QueueSimulation(Distribution interarrivalTimes, Distribution serviceTimes, long seed, int servers,
+                           Supplier<EventList> eventListFactory) {
+        if (servers < 1) {
+            throw new IllegalArgumentException("Servers must be positive: " + servers);
+        }
+        this.interarrivalTimes = interarrivalTimes;
+        this.serviceTimes = serviceTimes;
+        this.seed = seed;
+        this.servers = servers;
+        this.serviceRate = 1.0 / serviceTimes.getMean();
+        this.random = RandomGeneratorFactory.of(STREAM_ALGORITHM).create(seed);
+        this.eventListFactory = eventListFactory;
+    }
+
+    public QueueSimulation(Distribution interarrivalTimes, Distribution serviceTimes, long seed) {
+        this(interarrivalTimes, serviceTimes, seed, 1, TwoSlotEventList::new);
+    }
+
+    public QueueSimulation(boolean isServiceTimeConstant, long seed, int servers, double serviceRate,
+                           Supplier<EventList> eventListFactory) {
+        this(new ExponentialDistribution(1.0), serviceTimes(isServiceTimeConstant, serviceRate),
+                seed, servers, eventListFactory);
+    }
+
+    public QueueSimulation(boolean isServiceTimeConstant, long seed, int servers, double serviceRate) {
+        this(isServiceTimeConstant, seed, servers, serviceRate, TwoSlotEventList::new);
+    }
+
+    public QueueSimulation(boolean isServiceTimeConstant, long seed,
+                           Supplier<EventList> eventListFactory) {
+        this(isServiceTimeConstant, seed, 1, 1.0, eventListFactory);
+    }
 
     public QueueSimulation(boolean isServiceTimeConstant, long seed) {
-        this.isServiceTimeConstant = isServiceTimeConstant;
-        this.random = new Random(seed);
+        this(isServiceTimeConstant, seed, TwoSlotEventList::new);
     }
 
     public QueueSimulation(boolean isServiceTimeConstant) {
@@ -20,72 +69,331 @@ public class QueueSimulation {
     }
 
     public double simulateSingleQueue(double lambda) {
-        Queue queue = new Queue(lambda, isServiceTimeConstant, random);
-        PriorityQueue<Event> eventQueue = new PriorityQueue<>();
+        return simulateSingleQueue(lambda, random);
+    }
 
-        eventQueue.add(new Event(Event.Type.ARRIVAL, 0.0));
+    // Same replication with a listener, e.g. an EventRecorder, called after every event.
+    public double simulateSingleQueue(double lambda, SimulationListener listener) {
+        return runSingleQueue(lambda, SIMULATION_TIME, random, listener).getAverageTimeInSystem();
+    }
 
-        eventQueue.add(new Event(Event.Type.DEPARTURE, queue.generateServiceTime()));
+    double simulateSingleQueue(double lambda, RandomGenerator random) {
+        return runSingleQueue(lambda, SIMULATION_TIME, random).getAverageTimeInSystem();
+    }
 
-        while (queue.getCurrentTime() <= SIMULATION_TIME) {
-            if (eventQueue.isEmpty()) {
-                break;
-            }
+    QueueState runSingleQueue(double lambda, double simulationTime, RandomGenerator random) {
+        return runSingleQueue(lambda, simulationTime, random, null);
+    }
 
-            Event event = eventQueue.poll();
-            queue.updateStatistics(event.getTime());
+    QueueState runSingleQueue(double lambda, double simulationTime, RandomGenerator random,
+                              SimulationListener listener) {
+        ExponentialVariates variates = new ExponentialVariates(random);
+        return runSingleQueue(arrivalsAt(lambda), serviceTimes, variates, variates, simulationTime, listener);
+    }
 
-            if (event.getType() == Event.Type.ARRIVAL) {
-                queue.processArrival();
+    QueueState runSingleQueue(Distribution arrivals, Distribution services, ExponentialVariates arrivalVariates,
+                              ExponentialVariates serviceVariates, double simulationTime,
+                              SimulationListener listener) {
+        if (servers > 1) {
+            return runMultiServerQueue(new MultiServerQueue(arrivals, services, servers,
+                    arrivalVariates, serviceVariates), simulationTime, listener);
+        }
+        return runSingleServerQueue(new Queue(arrivals, services, arrivalVariates, serviceVariates),
+                simulationTime, listener);
+    }
+
+    private Queue runSingleServerQueue(Queue queue, double simulationTime, SimulationListener listener) {
+        EventList events = eventListFactory.get();
+        QueueRun.start(queue, events);
+        QueueRun.run(queue, events, simulationTime, listener);
+        return queue;
+    }
 
+    private MultiServerQueue runMultiServerQueue(MultiServerQueue queue, double simulationTime,
+                                                 SimulationListener listener) {
+        double nextArrivalTime = 0.0;
 
-                double nextArrivalTime = event.getTime() + queue.generateInterarrivalTime();
-                eventQueue.add(new Event(Event.Type.ARRIVAL, nextArrivalTime));
+        while (queue.getCurrentTime() <= simulationTime) {
+            Event.Type type;
 
+            if (nextArrivalTime <= queue.getNextDepartureTime()) {
+                type = Event.Type.ARRIVAL;
+                queue.updateStatistics(nextArrivalTime);
+                queue.processArrival();
+                nextArrivalTime += queue.generateInterarrivalTime();
             } else {
+                type = Event.Type.DEPARTURE;
+                queue.updateStatistics(queue.getNextDepartureTime());
                 queue.processDeparture();
+            }
 
-                if (!queue.isEmpty()) {
-                    double nextDepartureTime = event.getTime() + queue.generateServiceTime();
-                    eventQueue.add(new Event(Event.Type.DEPARTURE, nextDepartureTime));
-                } else {
-                    Event nextArrival = eventQueue.peek();
-                    if (nextArrival != null && nextArrival.getType() == Event.Type.ARRIVAL) {
-                        double nextDepartureTime = nextArrival.getTime() + queue.generateServiceTime();
-                        eventQueue.add(new Event(Event.Type.DEPARTURE, nextDepartureTime));
-                    }
-                }
+            if (listener != null) {
+                listener.onEvent(type, queue.getCurrentTime(), queue);
             }
         }
 
-        return queue.getAverageTimeInSystem();
+        return queue;
+    }
+
+    // A replication that can be paused, snapshotted and forked. Its stream is the one
+    // RandomGeneratorFactory.of(STREAM_ALGORITHM).create(seed) gives, in a generator whose
+    // state can be saved.
+    public QueueRun startSingleQueue(double lambda, long seed) {
+        checkSingleServer();
+        ExponentialVariates variates = new ExponentialVariates(new LxmRandom(seed));
+        QueueRun run = new QueueRun(new Queue(arrivalsAt(lambda), serviceTimes, variates, variates),
+                eventListFactory);
+        run.start();
+        return run;
+    }
+
+    // Continues a snapshot under this simulation's service times and the arrival rate of
+    // lambda, which need not be those it was taken with
+    public QueueRun restoreSingleQueue(QueueSnapshot snapshot, double lambda) {
+        checkSingleServer();
+        return QueueRun.restore(snapshot, arrivalsAt(lambda), serviceTimes, eventListFactory, null);
+    }
+
+    private void checkSingleServer() {
+        if (servers > 1) {
+            throw new IllegalStateException("Snapshots cover the single-server queue only");
+        }
     }
 
     public Map<Double, SimulationResult> runAllSimulations() {
         Map<Double, SimulationResult> results = new LinkedHashMap<>();
 
         for (double lambda : LAMBDAS) {
-            List<Double> averageTimes = new ArrayList<>();
+            StatisticsAccumulator averageTimes = new StatisticsAccumulator();
+            PercentileRecorder percentiles = new PercentileRecorder();
 
             for (int i = 0; i < QUEUE_QUANTITY; i++) {
-                double avgTime = simulateSingleQueue(lambda);
+                double avgTime = runSingleQueue(lambda, SIMULATION_TIME, random, percentiles)
+                        .getAverageTimeInSystem();
                 averageTimes.add(avgTime);
             }
 
-            double simulationMean = averageTimes.stream()
-                    .mapToDouble(Double::doubleValue)
-                    .average()
-                    .orElse(0.0);
+            double theoreticalResponseTime = theoreticalResponseTime(lambda);
+
+            results.put(lambda, new SimulationResult(averageTimes, theoreticalResponseTime,
+                    CONFIDENCE_LEVEL, percentiles));
+        }
+
+        return results;
+    }
+
+    // getResults() through a cache: repeated calls, from this or any simulation with the
+    // same definition and seed, reuse the results instead of rerunning them
+    public Map<Double, SimulationResult> getResults(ResultCache cache) {
+        Map<Double, SimulationResult> results = new LinkedHashMap<>();
+
+        for (double lambda : LAMBDAS) {
+            results.put(lambda, getResult(cache, lambda, SIMULATION_TIME, QUEUE_QUANTITY));
+        }
+
+        return results;
+    }
+
+    public SimulationResult getResult(ResultCache cache, double lambda, double simulationTime, int replications) {
+        return cache.get(scenarioKey(lambda, simulationTime, replications),
+                () -> runScenario(lambda, simulationTime, replications));
+    }
+
+    // Everything runScenario's result depends on. The event list enters only through its
+    // tie rule: with lattice distributions, such as empirical interarrivals, an arrival and
+    // a departure can fall on the same instant, and the order they are served in decides
+    // which variate the next draw from the shared stream goes to.
+    public ScenarioKey scenarioKey(double lambda, double simulationTime, int replications) {
+        return new ScenarioKey("QueueSimulation.runScenario/2"
+                + ";arrivals=" + arrivalsAt(lambda).describe()
+                + ";services=" + serviceTimes.describe()
+                + ";servers=" + servers
+                + ";ties=" + tieRule()
+                + ";lambda=" + lambda
+                + ";time=" + simulationTime
+                + ";replications=" + replications
+                + ";seed=" + seed
+                + ";confidence=" + CONFIDENCE_LEVEL);
+    }
+
+    // The multi-server loop serves a tied arrival first and uses no event list
+    private String tieRule() {
+        if (servers > 1) {
+            return "arrival-first";
+        }
+        EventList events = eventListFactory.get();
+        if (events instanceof TwoSlotEventList) {
+            return "departure-first";
+        }
+        if (events instanceof PriorityQueueEventList || events instanceof DaryHeapEventList
+                || events instanceof CalendarEventList) {
+            return "sequence";
+        }
+        return events.getClass().getName();
+    }
+
+    // The replications of one lambda as a function of the scenario alone: replication i runs
+    // on the i-th split of a root seeded from the seed and lambda, whatever ran before.
+    public SimulationResult runScenario(double lambda, double simulationTime, int replications) {
+        long lambdaBits = Double.doubleToLongBits(lambda) * 0x9E3779B97F4A7C15L;
+        RandomGenerator.SplittableGenerator root = (RandomGenerator.SplittableGenerator) RandomGeneratorFactory
+                .of(STREAM_ALGORITHM)
+                .create(seed ^ Long.rotateLeft(lambdaBits, 32));
+        StatisticsAccumulator averageTimes = new StatisticsAccumulator();
+        PercentileRecorder percentiles = new PercentileRecorder();
+
+        for (int i = 0; i < replications; i++) {
+            averageTimes.add(runSingleQueue(lambda, simulationTime, root.split(), percentiles)
+                    .getAverageTimeInSystem());
+        }
+
+        return new SimulationResult(averageTimes, theoreticalResponseTime(lambda), CONFIDENCE_LEVEL, percentiles);
+    }
+
+    // Each (lambda, replication) pair gets its own stream, split from the seed in a fixed
+    // order before any work is submitted, so the results do not depend on the executor.
+    public Map<Double, SimulationResult> runAllSimulations(Executor executor) {
+        RandomGenerator.SplittableGenerator root = replicationStreamRoot();
+        List<List<CompletableFuture<Replication>>> replications = new ArrayList<>();
+
+        for (double lambda : LAMBDAS) {
+            List<CompletableFuture<Replication>> futures = new ArrayList<>(QUEUE_QUANTITY);
+
+            for (int i = 0; i < QUEUE_QUANTITY; i++) {
+                RandomGenerator stream = root.split();
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> runReplication(lambda, stream), executor));
+            }
+            replications.add(futures);
+        }
+
+        Map<Double, SimulationResult> results = new LinkedHashMap<>();
+
+        for (int l = 0; l < LAMBDAS.length; l++) {
+            double lambda = LAMBDAS[l];
+            StatisticsAccumulator averageTimes = new StatisticsAccumulator();
+            PercentileRecorder percentiles = new PercentileRecorder();
 
-            double theoreticalResponseTime = 1.0 / (1.0 - lambda);
+            for (CompletableFuture<Replication> future : replications.get(l)) {
+                Replication replication = future.join();
+                averageTimes.add(replication.averageTimeInSystem);
+                percentiles.merge(replication.percentiles);
+            }
+
+            double theoreticalResponseTime = theoreticalResponseTime(lambda);
+
+            results.put(lambda, new SimulationResult(averageTimes, theoreticalResponseTime,
+                    CONFIDENCE_LEVEL, percentiles));
+        }
 
-            results.put(lambda, new SimulationResult(simulationMean, theoreticalResponseTime));
+        return results;
+    }
+
+    private Replication runReplication(double lambda, RandomGenerator random) {
+        PercentileRecorder percentiles = new PercentileRecorder();
+        QueueState queue = runSingleQueue(lambda, SIMULATION_TIME, random, percentiles);
+        return new Replication(queue.getAverageTimeInSystem(), percentiles);
+    }
+
+    public Map<Double, BatchMeansResult> runBatchMeansSimulations() {
+        BatchMeansSimulation batchMeans = new BatchMeansSimulation(this,
+                QUEUE_QUANTITY * SIMULATION_TIME, BATCH_MEANS_OBSERVATION_INTERVAL, BATCH_MEANS_BATCHES);
+        RandomGenerator.SplittableGenerator root = replicationStreamRoot();
+        Map<Double, BatchMeansResult> results = new LinkedHashMap<>();
+
+        for (double lambda : LAMBDAS) {
+            results.put(lambda, batchMeans.run(lambda, root.split(), CONFIDENCE_LEVEL));
+        }
+
+        return results;
+    }
+
+    public Map<Double, VarianceReductionResult> runVarianceReducedSimulations(boolean antithetic,
+                                                                            boolean controlVariates) {
+        VarianceReduction engine = new VarianceReduction(QUEUE_QUANTITY, SIMULATION_TIME, antithetic, controlVariates);
+        RandomGenerator seeds = replicationStreamRoot();
+        Map<Double, VarianceReductionResult> results = new LinkedHashMap<>();
+
+        for (double lambda : LAMBDAS) {
+            results.put(lambda, engine.estimate(this, lambda, seeds, CONFIDENCE_LEVEL));
         }
 
         return results;
     }
 
+    // This simulation minus the other at the same lambda, with common random numbers
+    public VarianceReductionResult compareWith(QueueSimulation other, double lambda, boolean antithetic,
+                                               boolean controlVariates) {
+        VarianceReduction engine = new VarianceReduction(QUEUE_QUANTITY, SIMULATION_TIME, antithetic, controlVariates);
+        return engine.compare(this, lambda, other, lambda, replicationStreamRoot(), CONFIDENCE_LEVEL);
+    }
+
+    // Interarrival distribution rescaled to the arrival rate of lambda
+    Distribution arrivalsAt(double lambda) {
+        return interarrivalTimes.withMean(1.0 / arrivalRate(lambda));
+    }
+
+    double arrivalRate(double lambda) {
+        return lambda * servers * serviceRate;
+    }
+
+    // Erlang-C for M/M/c and Pollaczek-Khinchine for M/G/1; other systems have no exact
+    // closed form and report NaN.
+    double theoreticalResponseTime(double lambda) {
+        if (!(interarrivalTimes instanceof ExponentialDistribution)) {
+            return Double.NaN;
+        }
+        if (serviceTimes instanceof ExponentialDistribution) {
+            return ErlangC.meanResponseTime(arrivalRate(lambda), serviceRate, servers);
+        }
+        if (servers == 1) {
+            return PollaczekKhinchine.meanResponseTime(arrivalRate(lambda), serviceTimes);
+        }
+        return Double.NaN;
+    }
+
+    private static Distribution serviceTimes(boolean isServiceTimeConstant, double serviceRate) {
+        if (!(serviceRate > 0)) {
+            throw new IllegalArgumentException("Service rate must be positive: " + serviceRate);
+        }
+        return isServiceTimeConstant
+                ? new DeterministicDistribution(1.0 / serviceRate)
+                : new ExponentialDistribution(serviceRate);
+    }
+
+    public int getServers() {
+        return servers;
+    }
+
+    public double getServiceRate() {
+        return serviceRate;
+    }
+
+    public Distribution getInterarrivalTimes() {
+        return interarrivalTimes;
+    }
+
+    public Distribution getServiceTimes() {
+        return serviceTimes;
+    }
+
+    RandomGenerator.SplittableGenerator replicationStreamRoot() {
+        return (RandomGenerator.SplittableGenerator) RandomGeneratorFactory
+                .of(STREAM_ALGORITHM)
+                .create(seed);
+    }
+
     public Map<Double, SimulationResult> getResults() {
         return runAllSimulations();
     }
+
+    private static final class Replication {
+        private final double averageTimeInSystem;
+        private final PercentileRecorder percentiles;
+
+        private Replication(double averageTimeInSystem, PercentileRecorder percentiles) {
+            this.averageTimeInSystem = averageTimeInSystem;
+            this.percentiles = percentiles;
+        }
+    }
 }
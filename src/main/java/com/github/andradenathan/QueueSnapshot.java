@@ -0,0 +1,67 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Saved state of a QueueRun, little-endian:
+//
+//   header     int magic, int version
+//   variates   int 1 if arrivals and services share one source, else 0, then one or two
+//              sources: mode, buffer size and position, the generator state the buffer
+//              was filled from and the current generator state
+//   queue      counters, clock, then the arrival times of the customers in the system
+//   events     int count, then (int Event.pack code, double time) in firing order
+//
+// The distributions are not saved; restoring supplies them, which is how a what-if
+// continuation changes the arrival rate or the service times.
+public final class QueueSnapshot {
+    static final int MAGIC = 0x4D4D514E;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final byte[] bytes;
+
+    QueueSnapshot(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public static QueueSnapshot fromByteArray(byte[] bytes) {
+        ByteBuffer header = ByteBuffer.wrap(bytes).order(ORDER);
+        if (bytes.length < HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a queue snapshot");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported queue snapshot version: " + header.getInt(4));
+        }
+        return new QueueSnapshot(bytes.clone());
+    }
+
+    public static QueueSnapshot read(Path path) throws IOException {
+        try {
+            return fromByteArray(Files.readAllBytes(path));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage() + ": " + path, e);
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        Files.write(path, bytes);
+    }
+
+    public byte[] toByteArray() {
+        return bytes.clone();
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    // Read-only view positioned after the header
+    ByteBuffer body() {
+        return ByteBuffer.wrap(bytes).order(ORDER).position(HEADER_BYTES).asReadOnlyBuffer().order(ORDER);
+    }
+}
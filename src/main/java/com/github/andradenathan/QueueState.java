@@ -0,0 +1,19 @@
+package com.github.andradenathan;
+
+// Read-only view shared by the single-server Queue and MultiServerQueue, used by
+// listeners and by the replication engines.
+public interface QueueState {
+    double getCurrentTime();
+
+    int getCustomersInQueue();
+
+    int getCustomersCompleted();
+
+    long getEventsProcessed();
+
+    double getLastTimeInSystem();
+
+    double getMeasuredAverageTimeInSystem();
+
+    double getAverageTimeInSystem();
+}
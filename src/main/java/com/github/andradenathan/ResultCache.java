@@ -0,0 +1,227 @@
+package com.github.andradenathan;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Memoises SimulationResults by ScenarioKey in two tiers: an LRU map of at most
+// maxEntries results, then optionally one file per key in a directory, which survives the
+// process and can be shared by several. Concurrent callers of a key that is neither in
+// memory nor on disk wait for a single computation instead of starting their own.
+//
+// Result files are written to a temporary name and moved into place, so a reader never
+// sees half a file; a file that does not parse is treated as missing and rewritten. A
+// file that cannot be written is only counted: the result still goes to memory and to
+// every caller waiting for it.
+public class ResultCache {
+    private static final int MAGIC = 0x4D4D5152;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".result";
+
+    private final int maxEntries;
+    private final Path directory;
+    private final LinkedHashMap<ScenarioKey, SimulationResult> memory;
+    private final ConcurrentHashMap<ScenarioKey, CompletableFuture<SimulationResult>> inFlight;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong sharedWaits = new AtomicLong();
+    private final AtomicLong computations = new AtomicLong();
+    private final AtomicLong diskWriteFailures = new AtomicLong();
+
+    public ResultCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    public ResultCache(int maxEntries, Path directory) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScenarioKey, SimulationResult> eldest) {
+                return size() > ResultCache.this.maxEntries;
+            }
+        };
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    public SimulationResult get(ScenarioKey key, Supplier<SimulationResult> computation) {
+        SimulationResult result = fromMemory(key);
+        if (result != null) {
+            memoryHits.incrementAndGet();
+            return result;
+        }
+
+        CompletableFuture<SimulationResult> owned = new CompletableFuture<>();
+        CompletableFuture<SimulationResult> running = inFlight.putIfAbsent(key, owned);
+        if (running != null) {
+            sharedWaits.incrementAndGet();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            // The previous owner may have finished between the memory check and putIfAbsent
+            result = fromMemory(key);
+            if (result != null) {
+                memoryHits.incrementAndGet();
+            } else {
+                result = fromDisk(key);
+                if (result != null) {
+                    diskHits.incrementAndGet();
+                } else {
+                    result = computation.get();
+                    computations.incrementAndGet();
+                    toDisk(key, result);
+                }
+                synchronized (memory) {
+                    memory.put(key, result);
+                }
+            }
+            owned.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    private SimulationResult fromMemory(ScenarioKey key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private SimulationResult fromDisk(ScenarioKey key) {
+        if (directory == null) {
+            return null;
+        }
+        Path path = directory.resolve(key.toHex() + SUFFIX);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            byte[] digest = new byte[ScenarioKey.DIGEST_BYTES];
+            in.readFully(digest);
+            if (!key.matches(digest)) {
+                return null;
+            }
+            double simulation = in.readDouble();
+            double theoretical = in.readDouble();
+            double standardDeviation = in.readDouble();
+            double halfWidth = in.readDouble();
+            double confidenceLevel = in.readDouble();
+            long replications = in.readLong();
+            PercentileRecorder percentiles = in.readBoolean()
+                    ? new PercentileRecorder(LogLinearHistogram.read(in), LogLinearHistogram.read(in))
+                    : null;
+            return new SimulationResult(simulation, theoretical, standardDeviation, halfWidth, confidenceLevel,
+                    replications, percentiles);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // Truncated or foreign file: recompute and overwrite it
+            return null;
+        }
+    }
+
+    private void toDisk(ScenarioKey key, SimulationResult result) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, key.toHex(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.write(key.getDigest());
+                    out.writeDouble(result.getSimulation());
+                    out.writeDouble(result.getTheoretical());
+                    out.writeDouble(result.getStandardDeviation());
+                    out.writeDouble(result.getHalfWidth());
+                    out.writeDouble(result.getConfidenceLevel());
+                    out.writeLong(result.getReplications());
+                    PercentileRecorder percentiles = result.getPercentiles();
+                    out.writeBoolean(percentiles != null);
+                    if (percentiles != null) {
+                        percentiles.getTimeInSystem().write(out);
+                        percentiles.getQueueLength().write(out);
+                    }
+                }
+                move(temporary, directory.resolve(key.toHex() + SUFFIX));
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            diskWriteFailures.incrementAndGet();
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Empties the memory tier; files on disk stay
+    public void clear() {
+        synchronized (memory) {
+            memory.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    // Callers that waited for another caller's computation of the same key
+    public long getSharedWaits() {
+        return sharedWaits.get();
+    }
+
+    public long getComputations() {
+        return computations.get();
+    }
+
+    // Results kept in memory only because their file could not be written
+    public long getDiskWriteFailures() {
+        return diskWriteFailures.get();
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.andradenathan;
+
+// One replication at a time; the reference for VectorTransientKernel and the fallback
+// when jdk.incubator.vector is not in the module graph.
+final class ScalarTransientKernel implements TransientKernel {
+
+    @Override
+    public int lanes() {
+        return 1;
+    }
+
+    @Override
+    public void run(TransientState state, double[] times, StatisticsAccumulator[] samples) {
+        double meanInterarrival = state.meanInterarrival;
+        double meanService = state.meanService;
+        boolean constantService = state.constantService;
+
+        for (int r = 0; r < state.replications; r++) {
+            double customers = state.customers[r];
+            double nextArrival = state.nextArrival[r];
+            double nextDeparture = state.nextDeparture[r];
+            long stream = state.streams[r];
+
+            for (int k = 0; k < times.length; k++) {
+                double time = times[k];
+
+                // Ties go to the departure, as in TwoSlotEventList
+                while (Math.min(nextArrival, nextDeparture) <= time) {
+                    if (nextArrival < nextDeparture) {
+                        double arrival = nextArrival;
+                        stream += TransientState.GOLDEN_GAMMA;
+                        nextArrival += TransientState.exponential(stream) * meanInterarrival;
+                        if (customers == 0.0) {
+                            if (constantService) {
+                                nextDeparture = arrival + meanService;
+                            } else {
+                                stream += TransientState.GOLDEN_GAMMA;
+                                nextDeparture = arrival + TransientState.exponential(stream) * meanService;
+                            }
+                        }
+                        customers += 1.0;
+                    } else {
+                        if (customers > 1.0) {
+                            if (constantService) {
+                                nextDeparture += meanService;
+                            } else {
+                                stream += TransientState.GOLDEN_GAMMA;
+                                nextDeparture += TransientState.exponential(stream) * meanService;
+                            }
+                        } else {
+                            nextDeparture = Double.POSITIVE_INFINITY;
+                        }
+                        customers -= 1.0;
+                    }
+                }
+                samples[k].add(customers);
+            }
+
+            state.customers[r] = customers;
+            state.nextArrival[r] = nextArrival;
+            state.nextDeparture[r] = nextDeparture;
+            state.streams[r] = stream;
+        }
+    }
+}
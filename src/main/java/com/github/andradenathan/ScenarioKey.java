@@ -0,0 +1,50 @@
+package com.github.andradenathan;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+// Content address of a scenario: the SHA-256 of its exact description, so the same
+// scenario gets the same key in every JVM and the description itself need not be kept.
+public final class ScenarioKey {
+    static final int DIGEST_BYTES = 32;
+
+    private final byte[] digest;
+
+    public ScenarioKey(String description) {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256").digest(description.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    byte[] getDigest() {
+        return digest.clone();
+    }
+
+    boolean matches(byte[] other) {
+        return Arrays.equals(digest, other);
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ScenarioKey key && Arrays.equals(digest, key.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(digest);
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioKey{" + toHex() + "}";
+    }
+}
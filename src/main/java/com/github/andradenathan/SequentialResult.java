@@ -0,0 +1,54 @@
+package com.github.andradenathan;
+
+import java.time.Duration;
+
+public class SequentialResult {
+    public enum StopReason {
+        PRECISION_REACHED,
+        REPLICATION_BUDGET,
+        TIME_BUDGET
+    }
+
+    private final SimulationResult result;
+    private final StopReason stopReason;
+    private final long eventsProcessed;
+    private final Duration elapsed;
+
+    public SequentialResult(SimulationResult result, StopReason stopReason,
+                            long eventsProcessed, Duration elapsed) {
+        this.result = result;
+        this.stopReason = stopReason;
+        this.eventsProcessed = eventsProcessed;
+        this.elapsed = elapsed;
+    }
+
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public boolean isTargetReached() {
+        return stopReason == StopReason.PRECISION_REACHED;
+    }
+
+    public long getReplications() {
+        return result.getReplications();
+    }
+
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SequentialResult{%s, stop=%s, replications=%d, events=%d, elapsed=%dms}",
+                result, stopReason, getReplications(), eventsProcessed, elapsed.toMillis());
+    }
+}
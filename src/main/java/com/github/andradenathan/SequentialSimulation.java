@@ -0,0 +1,93 @@
+package com.github.andradenathan;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
+
+// Launches replications in parallel batches until the confidence interval is tight enough.
+// Streams are split per lambda and per replication in a fixed order, so unless the time
+// budget cuts a run short the outcome depends only on the seed and the batch size.
+public class SequentialSimulation {
+    private final QueueSimulation simulation;
+    private final Executor executor;
+
+    public SequentialSimulation(QueueSimulation simulation, Executor executor) {
+        this.simulation = simulation;
+        this.executor = executor;
+    }
+
+    public Map<Double, SequentialResult> runAll(Map<Double, PrecisionTarget> targets) {
+        RandomGenerator.SplittableGenerator root = simulation.replicationStreamRoot();
+        Map<Double, SequentialResult> results = new LinkedHashMap<>();
+
+        for (Map.Entry<Double, PrecisionTarget> entry : targets.entrySet()) {
+            results.put(entry.getKey(), run(entry.getKey(), entry.getValue(), root.split()));
+        }
+
+        return results;
+    }
+
+    public SequentialResult run(double lambda, PrecisionTarget target) {
+        return run(lambda, target, simulation.replicationStreamRoot());
+    }
+
+    private SequentialResult run(double lambda, PrecisionTarget target,
+                                 RandomGenerator.SplittableGenerator streams) {
+        StatisticsAccumulator averageTimes = new StatisticsAccumulator();
+        long eventsProcessed = 0;
+        long start = System.nanoTime();
+        long deadline = start + target.getTimeBudget().toNanos();
+        SequentialResult.StopReason stopReason;
+
+        while (true) {
+            int batch = (int) Math.min(target.getBatchSize(),
+                    target.getMaxReplications() - averageTimes.getCount());
+            if (batch <= 0) {
+                stopReason = SequentialResult.StopReason.REPLICATION_BUDGET;
+                break;
+            }
+
+            List<CompletableFuture<QueueState>> futures = new ArrayList<>(batch);
+            for (int i = 0; i < batch; i++) {
+                RandomGenerator stream = streams.split();
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> simulation.runSingleQueue(lambda, target.getSimulationTime(), stream),
+                        executor));
+            }
+
+            for (CompletableFuture<QueueState> future : futures) {
+                QueueState queue = future.join();
+                averageTimes.add(queue.getAverageTimeInSystem());
+                eventsProcessed += queue.getEventsProcessed();
+            }
+
+            if (isPrecise(averageTimes, target)) {
+                stopReason = SequentialResult.StopReason.PRECISION_REACHED;
+                break;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                stopReason = SequentialResult.StopReason.TIME_BUDGET;
+                break;
+            }
+        }
+
+        SimulationResult result = new SimulationResult(averageTimes,
+                simulation.theoreticalResponseTime(lambda), target.getConfidenceLevel());
+
+        return new SequentialResult(result, stopReason, eventsProcessed,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static boolean isPrecise(StatisticsAccumulator averageTimes, PrecisionTarget target) {
+        if (averageTimes.getCount() < target.getMinReplications()) {
+            return false;
+        }
+        double halfWidth = averageTimes.getConfidenceHalfWidth(target.getConfidenceLevel());
+        return halfWidth <= target.getRelativeHalfWidth() * Math.abs(averageTimes.getMean());
+    }
+}
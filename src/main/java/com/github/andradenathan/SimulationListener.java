@@ -0,0 +1,7 @@
+package com.github.andradenathan;
+
+// Called after each event has been applied to the queue, so getCustomersInQueue()
+// already reflects the event.
+public interface SimulationListener {
+    void onEvent(Event.Type type, double time, QueueState queue);
+}
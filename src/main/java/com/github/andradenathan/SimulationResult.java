@@ -3,12 +3,56 @@ package com.github.andradenathan;
 import java.util.Map;
 
 public class SimulationResult {
+    private static final double[] DEFAULT_PERCENTILES = {50.0, 99.0, 99.9};
+
     private final double simulation;
     private final double theoretical;
+    private final double standardDeviation;
+    private final double halfWidth;
+    private final double confidenceLevel;
+    private final long replications;
+    private final PercentileRecorder percentiles;
 
     public SimulationResult(double simulation, double theoretical) {
         this.simulation = simulation;
         this.theoretical = theoretical;
+        this.standardDeviation = Double.NaN;
+        this.halfWidth = Double.NaN;
+        this.confidenceLevel = Double.NaN;
+        this.replications = 1;
+        this.percentiles = null;
+    }
+
+    // For estimators whose interval does not come from a plain sample mean
+    public SimulationResult(double simulation, double theoretical, double standardDeviation, double halfWidth,
+                            double confidenceLevel, long replications) {
+        this(simulation, theoretical, standardDeviation, halfWidth, confidenceLevel, replications, null);
+    }
+
+    SimulationResult(double simulation, double theoretical, double standardDeviation, double halfWidth,
+                     double confidenceLevel, long replications, PercentileRecorder percentiles) {
+        this.simulation = simulation;
+        this.theoretical = theoretical;
+        this.standardDeviation = standardDeviation;
+        this.halfWidth = halfWidth;
+        this.confidenceLevel = confidenceLevel;
+        this.replications = replications;
+        this.percentiles = percentiles;
+    }
+
+    public SimulationResult(StatisticsAccumulator statistics, double theoretical, double confidenceLevel) {
+        this(statistics, theoretical, confidenceLevel, null);
+    }
+
+    public SimulationResult(StatisticsAccumulator statistics, double theoretical, double confidenceLevel,
+                            PercentileRecorder percentiles) {
+        this.simulation = statistics.getMean();
+        this.theoretical = theoretical;
+        this.standardDeviation = statistics.getStandardDeviation();
+        this.halfWidth = statistics.getConfidenceHalfWidth(confidenceLevel);
+        this.confidenceLevel = confidenceLevel;
+        this.replications = statistics.getCount();
+        this.percentiles = percentiles;
     }
 
     public double getSimulation() {
@@ -23,29 +67,113 @@ public class SimulationResult {
         return Math.abs(simulation - theoretical) / theoretical * 100;
     }
 
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public double getHalfWidth() {
+        return halfWidth;
+    }
+
+    public double getRelativeHalfWidth() {
+        return halfWidth / Math.abs(simulation);
+    }
+
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    public double getConfidenceLower() {
+        return simulation - halfWidth;
+    }
+
+    public double getConfidenceUpper() {
+        return simulation + halfWidth;
+    }
+
+    public long getReplications() {
+        return replications;
+    }
+
+    public boolean hasConfidenceInterval() {
+        return !Double.isNaN(halfWidth);
+    }
+
+    public boolean containsTheoretical() {
+        return hasConfidenceInterval()
+                && theoretical >= getConfidenceLower()
+                && theoretical <= getConfidenceUpper();
+    }
+
+    PercentileRecorder getPercentiles() {
+        return percentiles;
+    }
+
+    public boolean hasPercentiles() {
+        return percentiles != null;
+    }
+
+    public double getTimeInSystemPercentile(double percentile) {
+        return hasPercentiles()
+                ? percentiles.getTimeInSystem().getValueAtPercentile(percentile)
+                : Double.NaN;
+    }
+
+    public double getQueueLengthPercentile(double percentile) {
+        return hasPercentiles()
+                ? percentiles.getQueueLength().getValueAtPercentile(percentile)
+                : Double.NaN;
+    }
+
     @Override
     public String toString() {
-        return String.format("{simulation: %.2f, theoretical: %.2f, error: %.2f%%}",
-                simulation, theoretical, getError());
+        if (!hasConfidenceInterval()) {
+            return String.format("{simulation: %.2f, theoretical: %.2f, error: %.2f%%}",
+                    simulation, theoretical, getError());
+        }
+        return String.format("{simulation: %.2f ± %.2f (%.0f%%, n=%d), theoretical: %.2f, error: %.2f%%}",
+                simulation, halfWidth, confidenceLevel * 100, replications, theoretical, getError());
     }
 
     public static void printResults(Map<Double, SimulationResult> results, String serviceType) {
-        System.out.println("\n" + "=".repeat(80));
+        printResults(results, serviceType, DEFAULT_PERCENTILES);
+    }
+
+    public static void printResults(Map<Double, SimulationResult> results, String serviceType,
+                                    double... percentiles) {
+        int width = 80 + 10 * percentiles.length;
+
+        System.out.println("\n" + "=".repeat(width));
         System.out.println("Service Time: " + serviceType);
-        System.out.println("=".repeat(80));
-        System.out.printf("%-10s %-15s %-15s %-15s%n",
-                "Lambda", "Simulation", "Theoretical", "Error %");
-        System.out.println("-".repeat(80));
+        System.out.println("=".repeat(width));
+        System.out.printf("%-10s %-15s %-15s %-15s %-15s",
+                "Lambda", "Simulation", "CI ±", "Theoretical", "Error %");
+        for (double percentile : percentiles) {
+            System.out.printf(" %-9s", "p" + formatPercentile(percentile));
+        }
+        System.out.println();
+        System.out.println("-".repeat(width));
 
         for (Map.Entry<Double, SimulationResult> entry : results.entrySet()) {
             double lambda = entry.getKey();
             SimulationResult result = entry.getValue();
-            System.out.printf("%-10.2f %-15.2f %-15.2f %-15.2f%n",
+            System.out.printf("%-10.2f %-15.2f %-15.2f %-15.2f %-15.2f",
                     lambda,
                     result.getSimulation(),
+                    result.getHalfWidth(),
                     result.getTheoretical(),
                     result.getError());
+            for (double percentile : percentiles) {
+                System.out.printf(" %-9.2f", result.getTimeInSystemPercentile(percentile));
+            }
+            System.out.println();
         }
-        System.out.println("=".repeat(80));
+        System.out.println("=".repeat(width));
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
     }
 }
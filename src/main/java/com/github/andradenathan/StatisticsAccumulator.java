@@ -0,0 +1,112 @@
+package com.github.andradenathan;
+
+// Welford's online algorithm; merge() uses Chan et al.'s pairwise update so partial
+// accumulators from different threads or shards combine without keeping the samples.
+public class StatisticsAccumulator {
+    private long count;
+    private double mean;
+    private double sumOfSquaredDeviations;
+    private double min;
+    private double max;
+
+    public StatisticsAccumulator() {
+        this.count = 0;
+        this.mean = 0.0;
+        this.sumOfSquaredDeviations = 0.0;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    // Restores an accumulator saved through its getters, e.g. from a checkpoint
+    StatisticsAccumulator(long count, double mean, double sumOfSquaredDeviations, double min, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.sumOfSquaredDeviations = sumOfSquaredDeviations;
+        this.min = min;
+        this.max = max;
+    }
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void merge(StatisticsAccumulator other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            sumOfSquaredDeviations = other.sumOfSquaredDeviations;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        sumOfSquaredDeviations += other.sumOfSquaredDeviations
+                + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public StatisticsAccumulator copy() {
+        StatisticsAccumulator copy = new StatisticsAccumulator();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    double getSumOfSquaredDeviations() {
+        return sumOfSquaredDeviations;
+    }
+
+    public double getVariance() {
+        return count < 2 ? Double.NaN : sumOfSquaredDeviations / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getStandardError() {
+        return Math.sqrt(getVariance() / count);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getConfidenceHalfWidth(double confidenceLevel) {
+        if (count < 2) {
+            return Double.NaN;
+        }
+        double t = StudentT.quantile(1.0 - (1.0 - confidenceLevel) / 2.0, count - 1);
+        return t * getStandardError();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StatisticsAccumulator{count=%d, mean=%.4f, sd=%.4f, min=%.4f, max=%.4f}",
+                count, getMean(), getStandardDeviation(), min, max);
+    }
+}
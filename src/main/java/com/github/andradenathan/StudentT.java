@@ -0,0 +1,108 @@
+package com.github.andradenathan;
+
+public final class StudentT {
+    private static final double EPSILON = 1e-14;
+    private static final int MAX_ITERATIONS = 300;
+    private static final double[] LANCZOS = {
+            76.18009172947146, -86.50532032941677, 24.01409824083091,
+            -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5
+    };
+
+    private StudentT() {
+    }
+
+    public static double cdf(double t, double degreesOfFreedom) {
+        double x = degreesOfFreedom / (degreesOfFreedom + t * t);
+        double tail = 0.5 * regularizedIncompleteBeta(x, degreesOfFreedom / 2.0, 0.5);
+        return t >= 0 ? 1.0 - tail : tail;
+    }
+
+    public static double quantile(double p, double degreesOfFreedom) {
+        if (!(p > 0.0 && p < 1.0)) {
+            throw new IllegalArgumentException("Probability must be in (0, 1): " + p);
+        }
+        if (degreesOfFreedom <= 0) {
+            throw new IllegalArgumentException("Degrees of freedom must be positive: " + degreesOfFreedom);
+        }
+        if (p < 0.5) {
+            return -quantile(1.0 - p, degreesOfFreedom);
+        }
+
+        double low = 0.0;
+        double high = 1.0;
+        while (cdf(high, degreesOfFreedom) < p) {
+            low = high;
+            high *= 2.0;
+        }
+
+        for (int i = 0; i < 200 && high - low > EPSILON * Math.max(1.0, high); i++) {
+            double middle = 0.5 * (low + high);
+            if (cdf(middle, degreesOfFreedom) < p) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return 0.5 * (low + high);
+    }
+
+    static double logGamma(double x) {
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : LANCZOS) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+
+    static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0.0) {
+            return 0.0;
+        }
+        if (x >= 1.0) {
+            return 1.0;
+        }
+
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b)
+                + a * Math.log(x) + b * Math.log(1.0 - x));
+
+        if (x < (a + 1.0) / (a + b + 2.0)) {
+            return front * betaContinuedFraction(x, a, b) / a;
+        }
+        return 1.0 - front * betaContinuedFraction(1.0 - x, b, a) / b;
+    }
+
+    // Modified Lentz evaluation of the continued fraction for I_x(a, b).
+    private static double betaContinuedFraction(double x, double a, double b) {
+        double tiny = 1e-300;
+        double c = 1.0;
+        double d = 1.0 - (a + b) * x / (a + 1.0);
+        d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+        double h = d;
+
+        for (int m = 1; m <= MAX_ITERATIONS; m++) {
+            int m2 = 2 * m;
+            double numerator = m * (b - m) * x / ((a + m2 - 1.0) * (a + m2));
+            d = 1.0 + numerator * d;
+            d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1.0 + numerator / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            h *= d * c;
+
+            numerator = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1.0));
+            d = 1.0 + numerator * d;
+            d = 1.0 / (Math.abs(d) < tiny ? tiny : d);
+            c = 1.0 + numerator / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            double delta = d * c;
+            h *= delta;
+
+            if (Math.abs(delta - 1.0) < EPSILON) {
+                break;
+            }
+        }
+        return h;
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+// Append-only checkpoint of a sweep, one file per shard in a shared directory,
+// little-endian:
+//
+//   header  int magic, int version, long sweep fingerprint
+//   record  int point, int chunk, long count, double mean, double sum of squared
+//           deviations, double min, double max
+//
+// A record is appended once its unit of work is finished, so a killed process loses at
+// most the units in flight. A torn record at the end of a file is ignored when reading
+// and cut off before the owning shard appends again. Records are left to the page cache,
+// which survives the process but not the machine.
+final class SweepCheckpoint implements AutoCloseable {
+    static final int MAGIC = 0x4D4D5153;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 48;
+    static final String SUFFIX = ".ckpt";
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ORDER);
+
+    private SweepCheckpoint(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    // Opens the shard's own file for appending, creating it if needed
+    static SweepCheckpoint open(Path directory, int shard, long fingerprint) throws IOException {
+        Files.createDirectories(directory);
+        Path path = directory.resolve("shard-" + shard + SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+                header.putInt(MAGIC).putInt(VERSION).putLong(fingerprint).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+            } else {
+                checkHeader(channel, path, fingerprint);
+                long records = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+                channel.truncate(HEADER_BYTES + records * RECORD_BYTES);
+            }
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new SweepCheckpoint(channel);
+    }
+
+    synchronized void append(int point, int chunk, StatisticsAccumulator statistics) throws IOException {
+        record.clear();
+        record.putInt(point).putInt(chunk).putLong(statistics.getCount()).putDouble(statistics.getMean())
+                .putDouble(statistics.getSumOfSquaredDeviations()).putDouble(statistics.getMin())
+                .putDouble(statistics.getMax()).flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    // Reads the complete records of every checkpoint file in the directory, keyed by unit.
+    // A unit found twice, e.g. after two shards were rerun with a different split, keeps
+    // the first copy; both copies hold the same bits.
+    static void readAll(Path directory, long fingerprint, int chunks, Map<Long, StatisticsAccumulator> units)
+            throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : files) {
+                read(path, fingerprint, chunks, units);
+            }
+        }
+    }
+
+    private static void read(Path path, long fingerprint, int chunks, Map<Long, StatisticsAccumulator> units)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                return;
+            }
+            checkHeader(channel, path, fingerprint);
+            long records = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 1024).order(ORDER);
+            long position = HEADER_BYTES;
+            long end = HEADER_BYTES + records * RECORD_BYTES;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                readFully(channel, buffer, position);
+                position += buffer.limit();
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    int point = buffer.getInt();
+                    int chunk = buffer.getInt();
+                    StatisticsAccumulator statistics = new StatisticsAccumulator(buffer.getLong(),
+                            buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+                    if (point < 0 || chunk < 0 || chunk >= chunks) {
+                        throw new IOException("Corrupt checkpoint record in " + path);
+                    }
+                    units.putIfAbsent(unit(point, chunk, chunks), statistics);
+                }
+            }
+        }
+    }
+
+    static long unit(int point, int chunk, int chunks) {
+        return (long) point * chunks + chunk;
+    }
+
+    private static void checkHeader(FileChannel channel, Path path, long fingerprint) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+        readFully(channel, header, 0);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a sweep checkpoint: " + path);
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported sweep checkpoint version: " + header.getInt(4));
+        }
+        if (header.getLong(8) != fingerprint) {
+            throw new IOException("Checkpoint belongs to a different sweep: " + path);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of checkpoint");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.andradenathan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cartesian grid of scenarios: utilisation lambda x service rate x servers x service time
+// shape. Arrivals are Poisson; each shape is rescaled to the mean 1 / service rate. Points
+// are numbered with lambda varying fastest, so an index names the same scenario in every
+// process that builds the same grid.
+public class SweepGrid {
+    private final double[] lambdas;
+    private final double[] serviceRates;
+    private final int[] servers;
+    private final List<String> shapeNames;
+    private final List<Distribution> shapes;
+
+    public SweepGrid(double[] lambdas, double[] serviceRates, int[] servers,
+                     Map<String, Distribution> serviceShapes) {
+        if (lambdas.length == 0 || serviceRates.length == 0 || servers.length == 0 || serviceShapes.isEmpty()) {
+            throw new IllegalArgumentException("Every axis of the grid needs at least one value");
+        }
+        for (double lambda : lambdas) {
+            Distribution.checkPositive("Lambda", lambda);
+        }
+        for (double serviceRate : serviceRates) {
+            Distribution.checkPositive("Service rate", serviceRate);
+        }
+        for (int count : servers) {
+            if (count < 1) {
+                throw new IllegalArgumentException("Servers must be positive: " + count);
+            }
+        }
+        for (String name : serviceShapes.keySet()) {
+            if (name.isEmpty() || name.contains(",") || name.contains("\n")) {
+                throw new IllegalArgumentException("Shape names must be non-empty CSV fields: " + name);
+            }
+        }
+        long size = (long) lambdas.length * serviceRates.length * servers.length * serviceShapes.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large: " + size + " points");
+        }
+        this.lambdas = lambdas.clone();
+        this.serviceRates = serviceRates.clone();
+        this.servers = servers.clone();
+        this.shapeNames = new ArrayList<>(serviceShapes.keySet());
+        this.shapes = new ArrayList<>(serviceShapes.values());
+    }
+
+    // Exponential and constant service, the two systems of QueueSimulation
+    public SweepGrid(double[] lambdas, double[] serviceRates, int[] servers) {
+        this(lambdas, serviceRates, servers, defaultShapes());
+    }
+
+    private static Map<String, Distribution> defaultShapes() {
+        Map<String, Distribution> shapes = new LinkedHashMap<>();
+        shapes.put("exponential", new ExponentialDistribution(1.0));
+        shapes.put("constant", new DeterministicDistribution(1.0));
+        return shapes;
+    }
+
+    public int size() {
+        return lambdas.length * serviceRates.length * servers.length * shapes.size();
+    }
+
+    public Point getPoint(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Point " + index + " of " + size());
+        }
+        int rest = index;
+        int lambda = rest % lambdas.length;
+        rest /= lambdas.length;
+        int serviceRate = rest % serviceRates.length;
+        rest /= serviceRates.length;
+        int server = rest % servers.length;
+        int shape = rest / servers.length;
+        return new Point(index, lambdas[lambda], serviceRates[serviceRate], servers[server],
+                shapeNames.get(shape), shapes.get(shape));
+    }
+
+    // Hash of every axis value and of the exact description of every shape, so a checkpoint
+    // is never resumed against another grid
+    long fingerprint() {
+        long hash = 17;
+        for (double lambda : lambdas) {
+            hash = 31 * hash + Double.doubleToLongBits(lambda);
+        }
+        hash = 31 * hash + lambdas.length;
+        for (double serviceRate : serviceRates) {
+            hash = 31 * hash + Double.doubleToLongBits(serviceRate);
+        }
+        hash = 31 * hash + serviceRates.length;
+        for (int count : servers) {
+            hash = 31 * hash + count;
+        }
+        hash = 31 * hash + servers.length;
+        for (int i = 0; i < shapes.size(); i++) {
+            hash = hash(hash, shapeNames.get(i));
+            hash = hash(hash, shapes.get(i).describe());
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return 31 * hash + text.length();
+    }
+
+    public static final class Point {
+        private final int index;
+        private final double lambda;
+        private final double serviceRate;
+        private final int servers;
+        private final String shapeName;
+        private final Distribution shape;
+
+        private Point(int index, double lambda, double serviceRate, int servers, String shapeName,
+                      Distribution shape) {
+            this.index = index;
+            this.lambda = lambda;
+            this.serviceRate = serviceRate;
+            this.servers = servers;
+            this.shapeName = shapeName;
+            this.shape = shape;
+        }
+
+        // The streams come from the sweep, so the simulation's own seed is never used
+        QueueSimulation simulation() {
+            return new QueueSimulation(new ExponentialDistribution(1.0), shape.withMean(1.0 / serviceRate),
+                    0L, servers, TwoSlotEventList::new);
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public double getLambda() {
+            return lambda;
+        }
+
+        public double getServiceRate() {
+            return serviceRate;
+        }
+
+        public int getServers() {
+            return servers;
+        }
+
+        public String getShapeName() {
+            return shapeName;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Point{lambda=%.4f, mu=%.4f, c=%d, %s}", lambda, serviceRate, servers, shapeName);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.andradenathan;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SweepResult {
+    private final SweepGrid grid;
+    private final StatisticsAccumulator[] points;
+    private final int computedUnits;
+    private final int restoredUnits;
+
+    SweepResult(SweepGrid grid, StatisticsAccumulator[] points, int computedUnits, int restoredUnits) {
+        this.grid = grid;
+        this.points = points;
+        this.computedUnits = computedUnits;
+        this.restoredUnits = restoredUnits;
+    }
+
+    public SweepGrid getGrid() {
+        return grid;
+    }
+
+    // False while some chunk of some point is missing, e.g. other shards still running
+    public boolean isComplete() {
+        return getCompletedPoints() == points.length;
+    }
+
+    public int getCompletedPoints() {
+        int completed = 0;
+        for (StatisticsAccumulator point : points) {
+            if (point != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    public boolean isComplete(int point) {
+        return points[point] != null;
+    }
+
+    // Replication averages of the point's time in system, or null if unfinished
+    public StatisticsAccumulator getStatistics(int point) {
+        return points[point] == null ? null : points[point].copy();
+    }
+
+    public SimulationResult getResult(int point) {
+        if (points[point] == null) {
+            throw new IllegalStateException("Point " + point + " is not finished");
+        }
+        SweepGrid.Point scenario = grid.getPoint(point);
+        double theoretical = scenario.simulation().theoreticalResponseTime(scenario.getLambda());
+        return new SimulationResult(points[point], theoretical, QueueSimulation.CONFIDENCE_LEVEL);
+    }
+
+    // Units run by the call that produced this result
+    public int getComputedUnits() {
+        return computedUnits;
+    }
+
+    // Units found in the checkpoints instead of being run
+    public int getRestoredUnits() {
+        return restoredUnits;
+    }
+
+    // One line per finished point
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("lambda,service_rate,servers,service_shape,replications,mean,half_width,theoretical");
+            writer.newLine();
+            for (int i = 0; i < points.length; i++) {
+                if (points[i] == null) {
+                    continue;
+                }
+                SweepGrid.Point point = grid.getPoint(i);
+                SimulationResult result = getResult(i);
+                writer.write(point.getLambda() + "," + point.getServiceRate() + "," + point.getServers() + ","
+                        + point.getShapeName() + "," + result.getReplications() + "," + result.getSimulation() + ","
+                        + result.getHalfWidth() + "," + result.getTheoretical());
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Resumable parameter sweep. The replications of every grid point are cut into chunks
+// of chunkReplications; a (point, chunk) unit runs on its own stream, seeded from the
+// sweep seed and the unit number alone, and its accumulator is appended to a checkpoint
+// as soon as it finishes. A rerun on the same directory skips every unit already there.
+// Results merge the chunks of a point in chunk order, so an interrupted, resumed or
+// sharded sweep gives bit for bit the numbers of an uninterrupted one.
+//
+// Units are dealt round robin to shards: run(directory, executor, shard, shards) in each
+// of several JVMs, each writing its own file in the shared directory, covers the grid,
+// and collect() merges whatever the directory holds. runWorkers() starts such JVMs.
+public class SweepRunner {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final SweepGrid grid;
+    private final int replications;
+    private final int chunkReplications;
+    private final int chunks;
+    private final double simulationTime;
+    private final long seed;
+    private final long fingerprint;
+    private final RandomGeneratorFactory<RandomGenerator> streams;
+
+    public SweepRunner(SweepGrid grid, int replications, int chunkReplications, double simulationTime, long seed) {
+        if (replications < 2) {
+            throw new IllegalArgumentException("At least 2 replications per point: " + replications);
+        }
+        if (chunkReplications < 1) {
+            throw new IllegalArgumentException("Chunk replications must be positive: " + chunkReplications);
+        }
+        Distribution.checkPositive("Simulation time", simulationTime);
+        this.grid = grid;
+        this.replications = replications;
+        this.chunkReplications = chunkReplications;
+        this.chunks = (replications + chunkReplications - 1) / chunkReplications;
+        this.simulationTime = simulationTime;
+        this.seed = seed;
+        if ((long) grid.size() * chunks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many units: " + (long) grid.size() * chunks);
+        }
+        long hash = grid.fingerprint();
+        hash = 31 * hash + replications;
+        hash = 31 * hash + chunkReplications;
+        hash = 31 * hash + Double.hashCode(simulationTime);
+        this.fingerprint = 31 * hash + seed;
+        this.streams = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM);
+    }
+
+    public SweepResult run(Path directory, Executor executor) throws IOException {
+        return run(directory, executor, 0, 1);
+    }
+
+    public SweepResult run(Path directory, Executor executor, int shard, int shards) throws IOException {
+        if (shards < 1 || shard < 0 || shard >= shards) {
+            throw new IllegalArgumentException("Invalid shard " + shard + " of " + shards);
+        }
+        Map<Long, StatisticsAccumulator> done = new HashMap<>();
+        SweepCheckpoint.readAll(directory, fingerprint, chunks, done);
+
+        AtomicInteger computed = new AtomicInteger();
+        try (SweepCheckpoint checkpoint = SweepCheckpoint.open(directory, shard, fingerprint)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            int units = grid.size() * chunks;
+            try {
+                for (int unit = shard; unit < units; unit += shards) {
+                    if (done.containsKey((long) unit)) {
+                        continue;
+                    }
+                    int point = unit / chunks;
+                    int chunk = unit % chunks;
+                    futures.add(CompletableFuture.runAsync(() -> {
+                        StatisticsAccumulator statistics = runUnit(point, chunk);
+                        try {
+                            checkpoint.append(point, chunk, statistics);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        computed.incrementAndGet();
+                    }, executor));
+                }
+            } catch (RuntimeException e) {
+                // Units already submitted still append to the checkpoint, so it must stay open
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(t -> null).join();
+                throw e;
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        return collect(directory, computed.get());
+    }
+
+    // Merges every checkpoint in the directory, e.g. once all worker processes are done
+    public SweepResult collect(Path directory) throws IOException {
+        return collect(directory, 0);
+    }
+
+    private SweepResult collect(Path directory, int computed) throws IOException {
+        Map<Long, StatisticsAccumulator> units = new HashMap<>();
+        SweepCheckpoint.readAll(directory, fingerprint, chunks, units);
+
+        StatisticsAccumulator[] points = new StatisticsAccumulator[grid.size()];
+        for (int point = 0; point < points.length; point++) {
+            StatisticsAccumulator merged = new StatisticsAccumulator();
+            for (int chunk = 0; chunk < chunks && merged != null; chunk++) {
+                StatisticsAccumulator statistics = units.get(SweepCheckpoint.unit(point, chunk, chunks));
+                if (statistics == null) {
+                    merged = null;
+                } else {
+                    merged.merge(statistics);
+                }
+            }
+            points[point] = merged;
+        }
+        return new SweepResult(grid, points, computed, units.size() - computed);
+    }
+
+    StatisticsAccumulator runUnit(int point, int chunk) {
+        QueueSimulation simulation = grid.getPoint(point).simulation();
+        double lambda = grid.getPoint(point).getLambda();
+        RandomGenerator.SplittableGenerator root = (RandomGenerator.SplittableGenerator)
+                streams.create(mix(seed + GOLDEN_GAMMA * (SweepCheckpoint.unit(point, chunk, chunks) + 1)));
+
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        int end = Math.min(replications, (chunk + 1) * chunkReplications);
+        for (int replication = chunk * chunkReplications; replication < end; replication++) {
+            statistics.add(simulation.runSingleQueue(lambda, simulationTime, root.split())
+                    .getAverageTimeInSystem());
+        }
+        return statistics;
+    }
+
+    // SplitMix64 finaliser, so neighbouring units get unrelated seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Starts one JVM per shard running mainClass with the current classpath, appending the
+    // shard number and the shard count to its arguments, and waits for all of them. The
+    // main method is expected to build the same runner and call run(directory, executor,
+    // shard, shards).
+    public static void runWorkers(Class<?> mainClass, int workers, List<String> arguments)
+            throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < workers; shard++) {
+                List<String> command = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+                        mainClass.getName()));
+                command.addAll(arguments);
+                command.add(Integer.toString(shard));
+                command.add(Integer.toString(workers));
+                processes.add(new ProcessBuilder(command).inheritIO().start());
+            }
+            for (int shard = 0; shard < workers; shard++) {
+                int exit = processes.get(shard).waitFor();
+                if (exit != 0) {
+                    throw new IOException("Sweep worker " + shard + " exited with status " + exit);
+                }
+            }
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    public SweepGrid getGrid() {
+        return grid;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+}
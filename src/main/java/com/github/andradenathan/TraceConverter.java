@@ -0,0 +1,77 @@
+package com.github.andradenathan;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Imports request logs from CSV into the binary trace format, one line at a time. Blank
+// lines and lines starting with '#' are skipped, and a first line whose arrival column is
+// not a number is taken as the header.
+public final class TraceConverter {
+    private static final int READ_BUFFER_CHARS = 1 << 16;
+
+    private TraceConverter() {
+    }
+
+    public static long fromCsv(Path csv, Path trace) throws IOException {
+        return fromCsv(csv, trace, 0, 1);
+    }
+
+    public static long fromCsv(Path csv, Path trace, int arrivalColumn, int serviceColumn) throws IOException {
+        if (arrivalColumn < 0 || serviceColumn < 0) {
+            throw new IllegalArgumentException("Columns must be non-negative");
+        }
+        try (BufferedReader reader = new BufferedReader(
+                Files.newBufferedReader(csv, StandardCharsets.UTF_8), READ_BUFFER_CHARS);
+             TraceWriter writer = new TraceWriter(trace)) {
+            String line;
+            long lineNumber = 0;
+            boolean first = true;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.charAt(0) == '#') {
+                    continue;
+                }
+
+                String arrival = column(line, arrivalColumn);
+                String service = column(line, serviceColumn);
+                if (first && !isNumber(arrival)) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+
+                try {
+                    writer.append(Double.parseDouble(arrival), Double.parseDouble(service));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(csv + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+            return writer.getRecords();
+        }
+    }
+
+    private static String column(String line, int column) {
+        int start = 0;
+        for (int i = 0; i < column; i++) {
+            start = line.indexOf(',', start) + 1;
+            if (start == 0) {
+                return "";
+            }
+        }
+        int end = line.indexOf(',', start);
+        return (end < 0 ? line.substring(start) : line.substring(start, end)).trim();
+    }
+
+    private static boolean isNumber(String field) {
+        try {
+            Double.parseDouble(field);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Binary columnar trace of (arrival time, service demand) records, little-endian:
+//
+//   header  int magic, int version, int block records, int reserved, long record count
+//   blocks  n arrival times (double) followed by the same n service demands (double)
+//
+// Every block holds `block records` records except possibly the last, so any record is
+// found by arithmetic and a reader can map one window of blocks at a time.
+final class TraceFormat {
+    static final int MAGIC = 0x4D4D5154;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int DEFAULT_BLOCK_RECORDS = 1 << 16;
+    // A block must fit in one int-indexed buffer slice
+    static final int MAX_BLOCK_RECORDS = Integer.MAX_VALUE / (2 * Double.BYTES);
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private TraceFormat() {
+    }
+
+    static long blockPosition(long block, int blockRecords) {
+        return HEADER_BYTES + block * blockRecords * 2L * Double.BYTES;
+    }
+
+    static ByteBuffer header(int blockRecords, long records) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+        header.putInt(MAGIC).putInt(VERSION).putInt(blockRecords).putInt(0).putLong(records);
+        return header.flip();
+    }
+
+    static void checkHeader(ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a queue trace file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Unsupported trace version: " + header.getInt(4));
+        }
+        int blockRecords = header.getInt(8);
+        if (blockRecords < 1 || blockRecords > MAX_BLOCK_RECORDS || header.getLong(16) < 0) {
+            throw new IOException("Corrupt trace header");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Cursor over a TraceFormat file. Blocks are read in place from a read-only mapping of a
+// bounded window, so the heap holds no record data and traces larger than memory, or than
+// one 2 GB mapping, stream through a fixed footprint.
+public class TraceReader implements AutoCloseable {
+    private static final long DEFAULT_WINDOW_BYTES = 64L << 20;
+
+    private final FileChannel channel;
+    private final int blockRecords;
+    private final long records;
+    private final long blocks;
+    private final long blocksPerWindow;
+
+    private MappedByteBuffer window;
+    private long windowFirstBlock;
+    private long block;
+    private DoubleBuffer arrivals;
+    private DoubleBuffer services;
+    private int index;
+    private int blockSize;
+
+    public TraceReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_BYTES);
+    }
+
+    TraceReader(Path path, long windowBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TraceFormat.HEADER_BYTES).order(TraceFormat.ORDER);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated trace header");
+                }
+            }
+            TraceFormat.checkHeader(header);
+            this.blockRecords = header.getInt(8);
+            this.records = header.getLong(16);
+            this.blocks = (records + blockRecords - 1) / blockRecords;
+            if (channel.size() < TraceFormat.HEADER_BYTES + records * 2L * Double.BYTES) {
+                throw new IOException("Trace file is shorter than its record count");
+            }
+            long blockBytes = 2L * blockRecords * Double.BYTES;
+            this.blocksPerWindow = Math.max(1, windowBytes / blockBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.block = -1;
+        this.windowFirstBlock = -1;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    // Moves to the next record; false once the trace is exhausted.
+    public boolean next() throws IOException {
+        if (++index < blockSize) {
+            return true;
+        }
+        if (block + 1 >= blocks) {
+            index = blockSize;
+            return false;
+        }
+        loadBlock(block + 1);
+        return true;
+    }
+
+    public double getArrivalTime() {
+        return arrivals.get(index);
+    }
+
+    public double getServiceDemand() {
+        return services.get(index);
+    }
+
+    // Zero-based index of the current record
+    public long getPosition() {
+        return block * blockRecords + index;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        arrivals = null;
+        services = null;
+        channel.close();
+    }
+
+    private void loadBlock(long next) throws IOException {
+        if (window == null || next >= windowFirstBlock + blocksPerWindow) {
+            long last = Math.min(blocks, next + blocksPerWindow);
+            long start = TraceFormat.blockPosition(next, blockRecords);
+            long end = TraceFormat.HEADER_BYTES + records * 2L * Double.BYTES;
+            if (last < blocks) {
+                end = TraceFormat.blockPosition(last, blockRecords);
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            window.order(TraceFormat.ORDER);
+            windowFirstBlock = next;
+        }
+
+        block = next;
+        blockSize = (int) Math.min(blockRecords, records - next * blockRecords);
+        int offset = (int) (TraceFormat.blockPosition(next, blockRecords)
+                - TraceFormat.blockPosition(windowFirstBlock, blockRecords));
+        arrivals = window.slice(offset, blockSize * Double.BYTES).order(TraceFormat.ORDER).asDoubleBuffer();
+        services = window.slice(offset + blockSize * Double.BYTES, blockSize * Double.BYTES)
+                .order(TraceFormat.ORDER).asDoubleBuffer();
+        index = 0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.andradenathan;
+
+public class TraceResult {
+    private final int servers;
+    private final long customers;
+    private final double totalResponseTime;
+    private final double totalWaitingTime;
+    private final double totalServiceDemand;
+    private final double firstArrivalTime;
+    private final double lastArrivalTime;
+    private final double lastDepartureTime;
+    private final LogLinearHistogram responseTimes;
+
+    public TraceResult(int servers, long customers, double totalResponseTime, double totalWaitingTime,
+                       double totalServiceDemand, double firstArrivalTime, double lastArrivalTime,
+                       double lastDepartureTime, LogLinearHistogram responseTimes) {
+        this.servers = servers;
+        this.customers = customers;
+        this.totalResponseTime = totalResponseTime;
+        this.totalWaitingTime = totalWaitingTime;
+        this.totalServiceDemand = totalServiceDemand;
+        this.firstArrivalTime = firstArrivalTime;
+        this.lastArrivalTime = lastArrivalTime;
+        this.lastDepartureTime = lastDepartureTime;
+        this.responseTimes = responseTimes;
+    }
+
+    public long getCustomers() {
+        return customers;
+    }
+
+    public double getMeanResponseTime() {
+        return customers == 0 ? 0.0 : totalResponseTime / customers;
+    }
+
+    public double getMeanWaitingTime() {
+        return customers == 0 ? 0.0 : totalWaitingTime / customers;
+    }
+
+    public double getMeanServiceDemand() {
+        return customers == 0 ? 0.0 : totalServiceDemand / customers;
+    }
+
+    public double getMaxResponseTime() {
+        return responseTimes.getMax();
+    }
+
+    public double getArrivalRate() {
+        double span = lastArrivalTime - firstArrivalTime;
+        return customers < 2 || span <= 0 ? Double.NaN : (customers - 1) / span;
+    }
+
+    // Fraction of server capacity used between the first arrival and the last departure
+    public double getUtilisation() {
+        double span = lastDepartureTime - firstArrivalTime;
+        return span <= 0 ? 0.0 : totalServiceDemand / (servers * span);
+    }
+
+    public double getResponseTimePercentile(double percentile) {
+        return responseTimes.getValueAtPercentile(percentile);
+    }
+
+    public LogLinearHistogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "TraceResult{customers=%d, servers=%d, W=%.4f, Wq=%.4f, p99=%.4f, utilisation=%.4f}",
+                customers, servers, getMeanResponseTime(), getMeanWaitingTime(),
+                getResponseTimePercentile(99.0), getUtilisation());
+    }
+}
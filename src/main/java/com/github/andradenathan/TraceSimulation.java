@@ -0,0 +1,76 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Replays a recorded trace through a FIFO queue with c servers. Each customer starts at
+// max(arrival, earliest server release) (Kiefer-Wolfowitz), so no event list is needed and
+// the trace is consumed in a single streaming pass.
+public class TraceSimulation {
+    private final int servers;
+
+    public TraceSimulation(int servers) {
+        if (servers < 1) {
+            throw new IllegalArgumentException("Servers must be positive: " + servers);
+        }
+        this.servers = servers;
+    }
+
+    public TraceSimulation() {
+        this(1);
+    }
+
+    public TraceResult run(Path trace) throws IOException {
+        try (TraceReader reader = new TraceReader(trace)) {
+            return run(reader);
+        }
+    }
+
+    public TraceResult run(TraceReader reader) throws IOException {
+        CompletionHeap busy = new CompletionHeap(Math.min(servers, 1024));
+        LogLinearHistogram responseTimes = new LogLinearHistogram();
+        long customers = 0;
+        double totalResponseTime = 0.0;
+        double totalWaitingTime = 0.0;
+        double totalServiceDemand = 0.0;
+        double firstArrivalTime = 0.0;
+        double lastArrivalTime = 0.0;
+        double lastDepartureTime = 0.0;
+
+        while (reader.next()) {
+            double arrivalTime = reader.getArrivalTime();
+            double serviceDemand = reader.getServiceDemand();
+            if (customers == 0) {
+                firstArrivalTime = arrivalTime;
+            }
+
+            // Servers that finished before this arrival are idle again
+            while (!busy.isEmpty() && busy.peekCompletionTime() <= arrivalTime) {
+                busy.removeFirst();
+            }
+            double startTime = arrivalTime;
+            if (busy.size() == servers) {
+                startTime = busy.peekCompletionTime();
+                busy.removeFirst();
+            }
+            double departureTime = startTime + serviceDemand;
+            busy.add(departureTime, arrivalTime);
+
+            double responseTime = departureTime - arrivalTime;
+            responseTimes.record(responseTime);
+            totalResponseTime += responseTime;
+            totalWaitingTime += startTime - arrivalTime;
+            totalServiceDemand += serviceDemand;
+            lastArrivalTime = arrivalTime;
+            lastDepartureTime = Math.max(lastDepartureTime, departureTime);
+            customers++;
+        }
+
+        return new TraceResult(servers, customers, totalResponseTime, totalWaitingTime, totalServiceDemand,
+                firstArrivalTime, lastArrivalTime, lastDepartureTime, responseTimes);
+    }
+
+    public int getServers() {
+        return servers;
+    }
+}
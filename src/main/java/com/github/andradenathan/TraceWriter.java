@@ -0,0 +1,89 @@
+package com.github.andradenathan;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streams records into a TraceFormat file one block at a time, so memory stays at two
+// direct block buffers however long the trace is. The record count is patched into the
+// header on close.
+public class TraceWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final int blockRecords;
+    private final ByteBuffer arrivals;
+    private final ByteBuffer services;
+    private final ByteBuffer[] block;
+    private long records;
+    private double lastArrivalTime;
+    private boolean closed;
+
+    public TraceWriter(Path path) throws IOException {
+        this(path, TraceFormat.DEFAULT_BLOCK_RECORDS);
+    }
+
+    public TraceWriter(Path path, int blockRecords) throws IOException {
+        if (blockRecords < 1 || blockRecords > TraceFormat.MAX_BLOCK_RECORDS) {
+            throw new IllegalArgumentException("Block records out of range: " + blockRecords);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.blockRecords = blockRecords;
+        this.arrivals = ByteBuffer.allocateDirect(blockRecords * Double.BYTES).order(TraceFormat.ORDER);
+        this.services = ByteBuffer.allocateDirect(blockRecords * Double.BYTES).order(TraceFormat.ORDER);
+        this.block = new ByteBuffer[]{arrivals, services};
+        this.lastArrivalTime = Double.NEGATIVE_INFINITY;
+        channel.position(TraceFormat.HEADER_BYTES);
+    }
+
+    public void append(double arrivalTime, double serviceDemand) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Trace writer is closed");
+        }
+        if (!(arrivalTime >= lastArrivalTime) || Double.isInfinite(arrivalTime)) {
+            throw new IllegalArgumentException(String.format(
+                    "Arrival times must be finite and non-decreasing: %s after %s", arrivalTime, lastArrivalTime));
+        }
+        if (!(serviceDemand >= 0) || Double.isInfinite(serviceDemand)) {
+            throw new IllegalArgumentException("Service demand must be non-negative and finite: " + serviceDemand);
+        }
+        arrivals.putDouble(arrivalTime);
+        services.putDouble(serviceDemand);
+        lastArrivalTime = arrivalTime;
+        records++;
+
+        if (!arrivals.hasRemaining()) {
+            flushBlock();
+        }
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            flushBlock();
+            channel.write(TraceFormat.header(blockRecords, records), 0);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (arrivals.position() == 0) {
+            return;
+        }
+        arrivals.flip();
+        services.flip();
+        while (services.hasRemaining()) {
+            channel.write(block);
+        }
+        arrivals.clear();
+        services.clear();
+    }
+}
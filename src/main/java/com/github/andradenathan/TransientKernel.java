@@ -0,0 +1,9 @@
+package com.github.andradenathan;
+
+// Advances every replication of a TransientState through the time points in order and
+// adds the number in system at each point to samples[k], replication by replication.
+interface TransientKernel {
+    int lanes();
+
+    void run(TransientState state, double[] times, StatisticsAccumulator[] samples);
+}
@@ -0,0 +1,80 @@
+package com.github.andradenathan;
+
+public class TransientResult {
+    private final double[] times;
+    private final double[] means;
+    private final double[] standardDeviations;
+    private final double[] halfWidths;
+    private final long replications;
+    private final double confidenceLevel;
+    private final double steadyState;
+
+    public TransientResult(double[] times, StatisticsAccumulator[] samples, double confidenceLevel,
+                           double steadyState) {
+        this.times = times.clone();
+        this.means = new double[times.length];
+        this.standardDeviations = new double[times.length];
+        this.halfWidths = new double[times.length];
+        for (int k = 0; k < times.length; k++) {
+            means[k] = samples[k].getMean();
+            standardDeviations[k] = samples[k].getStandardDeviation();
+            halfWidths[k] = samples[k].getConfidenceHalfWidth(confidenceLevel);
+        }
+        this.replications = times.length > 0 ? samples[0].getCount() : 0;
+        this.confidenceLevel = confidenceLevel;
+        this.steadyState = steadyState;
+    }
+
+    public int getPoints() {
+        return times.length;
+    }
+
+    public double getTime(int point) {
+        return times[point];
+    }
+
+    // Estimate of E[N(t)] at the point
+    public double getMean(int point) {
+        return means[point];
+    }
+
+    public double getStandardDeviation(int point) {
+        return standardDeviations[point];
+    }
+
+    public double getHalfWidth(int point) {
+        return halfWidths[point];
+    }
+
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    public long getReplications() {
+        return replications;
+    }
+
+    // Limit of E[N(t)], or NaN when the queue is unstable
+    public double getSteadyState() {
+        return steadyState;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TransientResult{points=%d, replications=%d, steadyState=%.4f}",
+                times.length, replications, steadyState);
+    }
+
+    public void printResults() {
+        System.out.println("\n" + "=".repeat(64));
+        System.out.printf("E[N(t)] over %d replications (steady state %.4f)%n", replications, steadyState);
+        System.out.println("=".repeat(64));
+        System.out.printf("%-15s %-15s %-15s %-15s%n", "Time", "Mean", "CI ±", "Std dev");
+        System.out.println("-".repeat(64));
+        for (int k = 0; k < times.length; k++) {
+            System.out.printf("%-15.2f %-15.4f %-15.4f %-15.4f%n",
+                    times[k], means[k], halfWidths[k], standardDeviations[k]);
+        }
+        System.out.println("=".repeat(64));
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Estimates the E[N(t)] curve of an M/M/1 or M/D/1 queue starting empty, from many
+// replications advanced together over a grid of time points. The state lives in a
+// structure-of-arrays TransientState and is advanced by VectorTransientKernel when it was
+// built (mvn -Pvector) and the JVM runs with --add-modules jdk.incubator.vector, and by
+// ScalarTransientKernel otherwise.
+public class TransientSimulation {
+    static final double CONFIDENCE_LEVEL = 0.95;
+    private static final String VECTOR_KERNEL = "com.github.andradenathan.VectorTransientKernel";
+    private static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && vectorKernelBuilt();
+
+    private final boolean isServiceTimeConstant;
+    private final long seed;
+    private final int replications;
+    private final double serviceRate;
+
+    public TransientSimulation(boolean isServiceTimeConstant, long seed, int replications, double serviceRate) {
+        if (replications < 2) {
+            throw new IllegalArgumentException("At least two replications are required: " + replications);
+        }
+        if (!(serviceRate > 0) || Double.isInfinite(serviceRate)) {
+            throw new IllegalArgumentException("Service rate must be positive and finite: " + serviceRate);
+        }
+        this.isServiceTimeConstant = isServiceTimeConstant;
+        this.seed = seed;
+        this.replications = replications;
+        this.serviceRate = serviceRate;
+    }
+
+    public TransientSimulation(boolean isServiceTimeConstant, long seed, int replications) {
+        this(isServiceTimeConstant, seed, replications, 1.0);
+    }
+
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    // Points are spread evenly over (0, horizon]. Unstable arrival rates are allowed: the
+    // transient curve exists even when there is no steady state.
+    public TransientResult run(double arrivalRate, double horizon, int points) {
+        return run(arrivalRate, horizon, points, VECTOR_API_AVAILABLE);
+    }
+
+    TransientResult run(double arrivalRate, double horizon, int points, boolean vectorized) {
+        if (!(arrivalRate > 0) || Double.isInfinite(arrivalRate)) {
+            throw new IllegalArgumentException("Arrival rate must be positive and finite: " + arrivalRate);
+        }
+        if (!(horizon > 0) || Double.isInfinite(horizon)) {
+            throw new IllegalArgumentException("Horizon must be positive and finite: " + horizon);
+        }
+        if (points < 1) {
+            throw new IllegalArgumentException("At least one time point is required: " + points);
+        }
+
+        TransientKernel kernel = vectorized ? vectorKernel() : new ScalarTransientKernel();
+        RandomGenerator seeds = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(seed);
+        TransientState state = new TransientState(replications, kernel.lanes(), arrivalRate, serviceRate,
+                isServiceTimeConstant, seeds);
+
+        double[] times = new double[points];
+        StatisticsAccumulator[] samples = new StatisticsAccumulator[points];
+        for (int k = 0; k < points; k++) {
+            times[k] = horizon * (k + 1) / points;
+            samples[k] = new StatisticsAccumulator();
+        }
+
+        kernel.run(state, times, samples);
+        return new TransientResult(times, samples, CONFIDENCE_LEVEL, steadyStateCustomers(arrivalRate));
+    }
+
+    private static boolean vectorKernelBuilt() {
+        try {
+            Class.forName(VECTOR_KERNEL, false, TransientSimulation.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static TransientKernel vectorKernel() {
+        if (!VECTOR_API_AVAILABLE) {
+            throw new IllegalStateException(
+                    "Vector kernel needs a -Pvector build and --add-modules jdk.incubator.vector");
+        }
+        try {
+            return (TransientKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load " + VECTOR_KERNEL, e);
+        }
+    }
+
+    private double steadyStateCustomers(double arrivalRate) {
+        if (!(arrivalRate < serviceRate)) {
+            return Double.NaN;
+        }
+        Distribution service = isServiceTimeConstant
+                ? new DeterministicDistribution(1.0 / serviceRate)
+                : new ExponentialDistribution(serviceRate);
+        return PollaczekKhinchine.meanCustomers(arrivalRate, service);
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public double getServiceRate() {
+        return serviceRate;
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+
+// Structure-of-arrays state of R independent single-server replications, one lane each,
+// starting empty at time 0. Arrays are padded to a multiple of the kernel width; padding
+// lanes never have an event due. Each lane draws from its own SplitMix64 stream, whose
+// state fits in a long lane, so both kernels consume identical variates per replication.
+final class TransientState {
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    final int replications;
+    final double meanInterarrival;
+    final double meanService;
+    final boolean constantService;
+    final double[] customers;
+    final double[] nextArrival;
+    final double[] nextDeparture;
+    final long[] streams;
+
+    TransientState(int replications, int lanes, double arrivalRate, double serviceRate,
+                   boolean constantService, RandomGenerator seeds) {
+        int padded = (replications + lanes - 1) / lanes * lanes;
+        this.replications = replications;
+        this.meanInterarrival = 1.0 / arrivalRate;
+        this.meanService = 1.0 / serviceRate;
+        this.constantService = constantService;
+        this.customers = new double[padded];
+        this.nextArrival = new double[padded];
+        this.nextDeparture = new double[padded];
+        this.streams = new long[padded];
+
+        for (int r = 0; r < padded; r++) {
+            nextDeparture[r] = Double.POSITIVE_INFINITY;
+            if (r < replications) {
+                streams[r] = seeds.nextLong() + GOLDEN_GAMMA;
+                nextArrival[r] = exponential(streams[r]) * meanInterarrival;
+            } else {
+                nextArrival[r] = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    // SplitMix64 output of the stream state as a unit exponential variate
+    static double exponential(long state) {
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return -Math.log(((z >>> 11) + 1) * 0x1.0p-53);
+    }
+}
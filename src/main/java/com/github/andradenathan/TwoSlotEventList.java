@@ -0,0 +1,86 @@
+package com.github.andradenathan;
+
+// A single-server queue never has more than one pending arrival and one pending
+// departure, so two slots replace the heap entirely. An arrival and a departure at the
+// same time are served departure first, whatever order they were scheduled in.
+public class TwoSlotEventList implements EventList {
+    private double arrivalTime;
+    private double departureTime;
+    private boolean hasArrival;
+    private boolean hasDeparture;
+
+    @Override
+    public void schedule(Event.Type type, double time) {
+        if (type == Event.Type.TRANSFER) {
+            throw new IllegalArgumentException("Two-slot event list has no transfers between stations");
+        }
+        if (type == Event.Type.ARRIVAL) {
+            if (hasArrival) {
+                throw new IllegalStateException("An arrival is already scheduled");
+            }
+            arrivalTime = time;
+            hasArrival = true;
+        } else {
+            if (hasDeparture) {
+                throw new IllegalStateException("A departure is already scheduled");
+            }
+            departureTime = time;
+            hasDeparture = true;
+        }
+    }
+
+    @Override
+    public void schedule(Event.Type type, int station, double time) {
+        if (station != 0) {
+            throw new IllegalArgumentException("Two-slot event list supports a single station: " + station);
+        }
+        schedule(type, time);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !hasArrival && !hasDeparture;
+    }
+
+    @Override
+    public int size() {
+        return (hasArrival ? 1 : 0) + (hasDeparture ? 1 : 0);
+    }
+
+    @Override
+    public double nextTime() {
+        return nextType() == Event.Type.ARRIVAL ? arrivalTime : departureTime;
+    }
+
+    @Override
+    public Event.Type nextType() {
+        if (hasArrival && (!hasDeparture || arrivalTime < departureTime)) {
+            return Event.Type.ARRIVAL;
+        }
+        if (hasDeparture) {
+            return Event.Type.DEPARTURE;
+        }
+        throw new IllegalStateException("Event list is empty");
+    }
+
+    @Override
+    public int nextStation() {
+        nextType();
+        return 0;
+    }
+
+    @Override
+    public void removeNext() {
+        if (nextType() == Event.Type.ARRIVAL) {
+            hasArrival = false;
+        } else {
+            hasDeparture = false;
+        }
+    }
+
+    @Override
+    public void clear() {
+        hasArrival = false;
+        hasDeparture = false;
+    }
+}
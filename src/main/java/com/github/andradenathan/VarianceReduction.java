@@ -0,0 +1,173 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// Replication engine with variance reduction for QueueSimulation. Every replication takes
+// two seeds in a fixed order, one for the arrival stream and one for the service stream,
+// and draws by inversion so equal seeds give synchronised samples:
+//
+//   common random numbers  compare() runs replication r of both scenarios on the same two
+//                          streams, so their difference has little noise of its own
+//   antithetic variates    replications come in pairs, the second on the complemented
+//                          streams, and the pair average is one observation
+//   control variates       the sample means of the interarrival and service times, whose
+//                          true means are known, are regressed out of the observations
+//
+// The crude variance reported next to the reduced one is estimated from the same runs as
+// if they had been independent plain replications.
+public class VarianceReduction {
+    private final int replications;
+    private final double simulationTime;
+    private final boolean antithetic;
+    private final boolean controlVariates;
+    private final RandomGeneratorFactory<RandomGenerator> streams;
+
+    public VarianceReduction(int replications, double simulationTime, boolean antithetic,
+                             boolean controlVariates) {
+        int observations = antithetic ? replications / 2 : replications;
+        if (observations < (controlVariates ? 6 : 2) || (antithetic && replications % 2 != 0)) {
+            throw new IllegalArgumentException("Not enough replications, or an odd count with antithetic pairs: "
+                    + replications);
+        }
+        if (!(simulationTime > 0)) {
+            throw new IllegalArgumentException("Simulation time must be positive: " + simulationTime);
+        }
+        this.replications = replications;
+        this.simulationTime = simulationTime;
+        this.antithetic = antithetic;
+        this.controlVariates = controlVariates;
+        this.streams = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM);
+    }
+
+    public VarianceReductionResult estimate(QueueSimulation simulation, double lambda, RandomGenerator seeds,
+                                            double confidenceLevel) {
+        ControlVariateEstimator estimator = new ControlVariateEstimator(controlVariates ? 2 : 0);
+        StatisticsAccumulator runs = new StatisticsAccumulator();
+
+        for (int unit = 0; unit < observations(); unit++) {
+            long arrivalSeed = seeds.nextLong();
+            long serviceSeed = seeds.nextLong();
+            Run sum = new Run();
+            for (int member = 0; member < members(); member++) {
+                Run run = run(simulation, lambda, arrivalSeed, serviceSeed, member == 1);
+                runs.add(run.responseTime);
+                sum.add(run);
+            }
+            sum.scale(1.0 / members());
+            add(estimator, sum.responseTime, sum.arrivalDeviation, sum.serviceDeviation);
+        }
+
+        return result(estimator.fit(), runs.getVariance() / replications,
+                simulation.theoreticalResponseTime(lambda), confidenceLevel);
+    }
+
+    // Difference first minus second under common random numbers
+    public VarianceReductionResult compare(QueueSimulation first, double firstLambda,
+                                           QueueSimulation second, double secondLambda,
+                                           RandomGenerator seeds, double confidenceLevel) {
+        ControlVariateEstimator estimator = new ControlVariateEstimator(controlVariates ? 4 : 0);
+        StatisticsAccumulator firstRuns = new StatisticsAccumulator();
+        StatisticsAccumulator secondRuns = new StatisticsAccumulator();
+
+        for (int unit = 0; unit < observations(); unit++) {
+            long arrivalSeed = seeds.nextLong();
+            long serviceSeed = seeds.nextLong();
+            Run firstSum = new Run();
+            Run secondSum = new Run();
+            for (int member = 0; member < members(); member++) {
+                Run firstRun = run(first, firstLambda, arrivalSeed, serviceSeed, member == 1);
+                Run secondRun = run(second, secondLambda, arrivalSeed, serviceSeed, member == 1);
+                firstRuns.add(firstRun.responseTime);
+                secondRuns.add(secondRun.responseTime);
+                firstSum.add(firstRun);
+                secondSum.add(secondRun);
+            }
+            firstSum.scale(1.0 / members());
+            secondSum.scale(1.0 / members());
+            add(estimator, firstSum.responseTime - secondSum.responseTime,
+                    firstSum.arrivalDeviation, firstSum.serviceDeviation,
+                    secondSum.arrivalDeviation, secondSum.serviceDeviation);
+        }
+
+        // Independent streams would add the variances of the two scenarios
+        double crudeVariance = (firstRuns.getVariance() + secondRuns.getVariance()) / replications;
+        double theoretical = first.theoreticalResponseTime(firstLambda) - second.theoreticalResponseTime(secondLambda);
+        return result(estimator.fit(), crudeVariance, theoretical, confidenceLevel);
+    }
+
+    private void add(ControlVariateEstimator estimator, double observation, double... controls) {
+        if (controlVariates) {
+            estimator.add(observation, controls);
+        } else {
+            estimator.add(observation);
+        }
+    }
+
+    private VarianceReductionResult result(ControlVariateEstimator.Fit fit, double crudeVariance,
+                                           double theoretical, double confidenceLevel) {
+        double halfWidth = fit.getConfidenceHalfWidth(confidenceLevel);
+        SimulationResult result = new SimulationResult(fit.getEstimate(), theoretical,
+                Math.sqrt(fit.getVariance() * observations()), halfWidth, confidenceLevel, observations());
+        return new VarianceReductionResult(result, crudeVariance, fit.getVariance(), replications,
+                antithetic, fit.getControlsUsed());
+    }
+
+    private Run run(QueueSimulation simulation, double lambda, long arrivalSeed, long serviceSeed,
+                    boolean antitheticMember) {
+        ObservedDistribution arrivals = new ObservedDistribution(simulation.arrivalsAt(lambda));
+        ObservedDistribution services = new ObservedDistribution(simulation.getServiceTimes());
+        QueueState queue = simulation.runSingleQueue(arrivals, services,
+                variates(arrivalSeed, antitheticMember), variates(serviceSeed, antitheticMember),
+                simulationTime, null);
+
+        Run run = new Run();
+        run.responseTime = queue.getAverageTimeInSystem();
+        run.arrivalDeviation = arrivals.getRelativeDeviation();
+        run.serviceDeviation = services.getRelativeDeviation();
+        return run;
+    }
+
+    private ExponentialVariates variates(long seed, boolean antitheticMember) {
+        RandomGenerator stream = streams.create(seed);
+        return ExponentialVariates.inversion(antitheticMember ? new AntitheticRandom(stream) : stream);
+    }
+
+    private int members() {
+        return antithetic ? 2 : 1;
+    }
+
+    private int observations() {
+        return replications / members();
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public boolean isAntithetic() {
+        return antithetic;
+    }
+
+    public boolean usesControlVariates() {
+        return controlVariates;
+    }
+
+    private static final class Run {
+        private double responseTime;
+        private double arrivalDeviation;
+        private double serviceDeviation;
+
+        private void add(Run other) {
+            responseTime += other.responseTime;
+            arrivalDeviation += other.arrivalDeviation;
+            serviceDeviation += other.serviceDeviation;
+        }
+
+        private void scale(double factor) {
+            responseTime *= factor;
+            arrivalDeviation *= factor;
+            serviceDeviation *= factor;
+        }
+    }
+}
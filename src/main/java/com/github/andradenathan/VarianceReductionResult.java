@@ -0,0 +1,87 @@
+package com.github.andradenathan;
+
+import java.util.Map;
+
+public class VarianceReductionResult {
+    private final SimulationResult result;
+    private final double crudeVariance;
+    private final double reducedVariance;
+    private final int replications;
+    private final boolean antithetic;
+    private final int controlsUsed;
+
+    public VarianceReductionResult(SimulationResult result, double crudeVariance, double reducedVariance,
+                                   int replications, boolean antithetic, int controlsUsed) {
+        this.result = result;
+        this.crudeVariance = crudeVariance;
+        this.reducedVariance = reducedVariance;
+        this.replications = replications;
+        this.antithetic = antithetic;
+        this.controlsUsed = controlsUsed;
+    }
+
+    // Estimate and confidence interval; getReplications() there counts independent
+    // observations, i.e. antithetic pairs when pairs are used
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    // Variance of the plain mean of the same number of independent replications
+    public double getCrudeVariance() {
+        return crudeVariance;
+    }
+
+    // Variance of the variance-reduced estimate
+    public double getReducedVariance() {
+        return reducedVariance;
+    }
+
+    public double getVarianceReduction() {
+        return crudeVariance / reducedVariance;
+    }
+
+    // Plain replications needed to match the precision of this estimate
+    public double getEquivalentReplications() {
+        return replications * getVarianceReduction();
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public boolean isAntithetic() {
+        return antithetic;
+    }
+
+    public int getControlsUsed() {
+        return controlsUsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VarianceReductionResult{%s, reduction=%.2fx, replications=%d, equivalent=%.0f}",
+                result, getVarianceReduction(), replications, getEquivalentReplications());
+    }
+
+    public static void printResults(Map<Double, VarianceReductionResult> results, String title) {
+        int width = 95;
+        System.out.println("\n" + "=".repeat(width));
+        System.out.println(title);
+        System.out.println("=".repeat(width));
+        System.out.printf("%-10s %-15s %-15s %-15s %-12s %-12s %-12s%n",
+                "Lambda", "Simulation", "CI ±", "Theoretical", "Reduction", "Runs", "Equivalent");
+        System.out.println("-".repeat(width));
+        for (Map.Entry<Double, VarianceReductionResult> entry : results.entrySet()) {
+            VarianceReductionResult reduced = entry.getValue();
+            System.out.printf("%-10.2f %-15.4f %-15.4f %-15.4f %-12.2f %-12d %-12.0f%n",
+                    entry.getKey(),
+                    reduced.result.getSimulation(),
+                    reduced.result.getHalfWidth(),
+                    reduced.result.getTheoretical(),
+                    reduced.getVarianceReduction(),
+                    reduced.replications,
+                    reduced.getEquivalentReplications());
+        }
+        System.out.println("=".repeat(width));
+    }
+}
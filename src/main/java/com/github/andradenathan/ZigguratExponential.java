@@ -0,0 +1,62 @@
+package com.github.andradenathan;
+
+import java.util.random.RandomGenerator;
+
+// Marsaglia-Tsang ziggurat for the unit-rate exponential with 256 layers. One nextLong()
+// supplies both the layer index (low 8 bits) and the 53-bit uniform (high bits); about 98.9%
+// of draws return from the rectangle test without calling Math.log or Math.exp.
+public final class ZigguratExponential {
+    private static final int LAYERS = 256;
+    private static final double R = 7.69711747013104972;
+    private static final double V = 3.949659822581572e-3;
+
+    private static final double[] X = new double[LAYERS + 1];
+    private static final double[] F = new double[LAYERS + 1];
+
+    static {
+        X[0] = V / Math.exp(-R);
+        X[1] = R;
+        for (int i = 1; i < LAYERS - 1; i++) {
+            X[i + 1] = -Math.log(V / X[i] + Math.exp(-X[i]));
+        }
+        X[LAYERS] = 0.0;
+        for (int i = 0; i <= LAYERS; i++) {
+            F[i] = Math.exp(-X[i]);
+        }
+    }
+
+    private ZigguratExponential() {
+    }
+
+    public static double next(RandomGenerator random) {
+        double offset = 0.0;
+
+        while (true) {
+            long bits = random.nextLong();
+            int layer = (int) (bits & 0xFF);
+            double x = (bits >>> 11) * 0x1.0p-53 * X[layer];
+
+            if (x < X[layer + 1]) {
+                return offset + x;
+            }
+            if (layer == 0) {
+                // The tail beyond R is again exponential: restart shifted by R.
+                offset += R;
+                continue;
+            }
+            if (F[layer] + random.nextDouble() * (F[layer + 1] - F[layer]) < Math.exp(-x)) {
+                return offset + x;
+            }
+        }
+    }
+
+    public static void fill(RandomGenerator random, double[] samples) {
+        fill(random, samples, 0, samples.length);
+    }
+
+    public static void fill(RandomGenerator random, double[] samples, int from, int to) {
+        for (int i = from; i < to; i++) {
+            samples[i] = next(random);
+        }
+    }
+}
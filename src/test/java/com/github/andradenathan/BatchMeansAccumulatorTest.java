@@ -0,0 +1,98 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Batch Means Tests")
+public class BatchMeansAccumulatorTest {
+
+    @Test
+    @DisplayName("Memória deve permanecer limitada para qualquer horizonte")
+    void testBoundedMemory() {
+        BatchMeansAccumulator accumulator = new BatchMeansAccumulator(64, 5);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            accumulator.add(random.nextDouble());
+        }
+
+        assertEquals(1_000_000, accumulator.getCount());
+        assertTrue(accumulator.getBuckets() <= 64);
+        assertTrue(accumulator.getBucketSize() > 5, "Buckets devem ter sido agrupados");
+    }
+
+    @Test
+    @DisplayName("Agrupamento deve dobrar o tamanho dos buckets")
+    void testCollapseDoublesBucketSize() {
+        BatchMeansAccumulator accumulator = new BatchMeansAccumulator(8, 1);
+
+        for (int i = 1; i <= 64; i++) {
+            accumulator.add(i);
+        }
+
+        StatisticsAccumulator batchMeans = accumulator.getBatchMeans(8);
+        assertEquals(8, accumulator.getBuckets());
+        assertEquals(8, accumulator.getBucketSize());
+        assertEquals(64, accumulator.getCount());
+        assertTrue(batchMeans.getMean() >= 32.5, "Média deve considerar apenas dados após aquecimento");
+    }
+
+    @Test
+    @DisplayName("Série estacionária não deve ter aquecimento relevante")
+    void testStationarySeries() {
+        BatchMeansAccumulator accumulator = new BatchMeansAccumulator();
+        Random random = new Random(2);
+
+        for (int i = 0; i < 50_000; i++) {
+            accumulator.add(10 + random.nextGaussian());
+        }
+
+        StatisticsAccumulator batchMeans = accumulator.getBatchMeans(30);
+        assertEquals(30, batchMeans.getCount());
+        assertEquals(10.0, batchMeans.getMean(), 0.05);
+        assertTrue(accumulator.getWarmupObservations() < 25_000);
+    }
+
+    @Test
+    @DisplayName("MSER deve remover o transiente inicial")
+    void testRemovesInitialTransient() {
+        BatchMeansAccumulator accumulator = new BatchMeansAccumulator();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 20_000; i++) {
+            double bias = i < 1_000 ? 50.0 * (1.0 - i / 1_000.0) : 0.0;
+            accumulator.add(5 + bias + random.nextGaussian());
+        }
+
+        assertTrue(accumulator.getWarmupObservations() >= 900,
+                "Aquecimento detectado: " + accumulator.getWarmupObservations());
+        assertEquals(5.0, accumulator.getBatchMeans(30).getMean(), 0.1);
+    }
+
+    @Test
+    @DisplayName("Batch means deve estimar o tempo teórico com uma única trajetória")
+    void testBatchMeansSimulation() {
+        Map<Double, BatchMeansResult> results =
+                new QueueSimulation(false, 12345L).runBatchMeansSimulations();
+
+        assertEquals(4, results.size());
+        for (double lambda : new double[]{0.5, 0.8, 0.9}) {
+            SimulationResult result = results.get(lambda).getResult();
+            assertEquals(result.getTheoretical(), result.getSimulation(),
+                    0.05 * result.getTheoretical());
+            assertTrue(result.getHalfWidth() > 0);
+        }
+        assertTrue(results.get(0.99).getWarmupTime() >= 0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar capacidade inválida")
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchMeansAccumulator(7, 5));
+    }
+}
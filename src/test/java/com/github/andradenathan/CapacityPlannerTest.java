@@ -0,0 +1,139 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Capacity Planner Tests")
+public class CapacityPlannerTest {
+
+    private static CapacityPlanner planner() {
+        return new CapacityPlanner(5000.0, 0.01, 42L);
+    }
+
+    @Nested
+    @DisplayName("Carga máxima")
+    class MaxLoad {
+
+        @Test
+        @DisplayName("M/M/1 com alvo na média deve encontrar a raiz de 1/(1 - λ)")
+        void testMeanTargetMatchesTheory() {
+            QueueSimulation simulation = new QueueSimulation(false, 42L);
+            CapacityPlan plan = planner().maxLoad(simulation, LatencyTarget.mean(5.0));
+
+            assertTrue(plan.isFeasible());
+            assertEquals(0.8, plan.getWarmStart(), 1e-9);
+            assertEquals(0.8, plan.getLambda(), 0.03);
+            assertTrue(plan.getLowerBound() <= plan.getLambda() && plan.getLambda() < plan.getUpperBound());
+            assertEquals(plan.getLambda(), plan.getArrivalRate(), 1e-12);
+            assertTrue(plan.getEstimate().getSimulation() <= 5.0);
+            // Partida analítica e CRN: poucas sondas em vez de uma varredura
+            assertTrue(plan.getProbes() <= 12, plan.toString());
+        }
+
+        @Test
+        @DisplayName("M/M/1 com alvo no p99 deve encontrar a raiz de ln(100)/(1 - λ)")
+        void testPercentileTargetMatchesTheory() {
+            QueueSimulation simulation = new QueueSimulation(false, 42L);
+            CapacityPlan plan = planner().maxLoad(simulation, LatencyTarget.percentile(99.0, Math.log(100) / 0.3));
+
+            assertTrue(plan.isFeasible());
+            assertEquals(0.7, plan.getWarmStart(), 1e-9);
+            assertEquals(0.7, plan.getLambda(), 0.03);
+        }
+
+        @Test
+        @DisplayName("Sem forma fechada a busca parte do intervalo inteiro")
+        void testWithoutClosedForm() {
+            LatencyTarget target = LatencyTarget.percentile(99.0, 15.0);
+            CapacityPlan markovian = planner().maxLoad(new QueueSimulation(false, 42L), target);
+            CapacityPlan deterministic = planner().maxLoad(new QueueSimulation(true, 42L), target);
+
+            assertTrue(Double.isNaN(deterministic.getWarmStart()));
+            assertTrue(deterministic.isFeasible());
+            assertTrue(deterministic.getEstimate().getSimulation() <= 15.0);
+            // Serviço constante tem caudas mais curtas e aguenta mais carga
+            assertTrue(deterministic.getLambda() > markovian.getLambda() + 0.05,
+                    deterministic + " vs " + markovian);
+        }
+
+        @Test
+        @DisplayName("Alvo abaixo do tempo de serviço deve ser inviável")
+        void testInfeasibleTarget() {
+            CapacityPlan plan = planner().maxLoad(new QueueSimulation(false, 42L), LatencyTarget.mean(0.5));
+
+            assertFalse(plan.isFeasible());
+            assertEquals(0.0, plan.getLambda());
+            assertTrue(Double.isNaN(plan.getWarmStart()));
+        }
+
+        @Test
+        @DisplayName("Mesma semente deve dar o mesmo plano")
+        void testDeterministic() {
+            LatencyTarget target = LatencyTarget.mean(4.0);
+            CapacityPlan first = planner().maxLoad(new QueueSimulation(false, 1L), target);
+            CapacityPlan second = planner().maxLoad(new QueueSimulation(false, 2L), target);
+
+            assertEquals(first.getLambda(), second.getLambda());
+            assertEquals(first.getReplications(), second.getReplications());
+        }
+    }
+
+    @Nested
+    @DisplayName("Número mínimo de servidores")
+    class MinServers {
+
+        @Test
+        @DisplayName("M/M/c deve concordar com Erlang-C")
+        void testMatchesErlangC() {
+            QueueSimulation simulation = new QueueSimulation(false, 42L, 1, 1.0);
+            double w4 = ErlangC.meanResponseTime(3.0, 1.0, 4);
+            double w5 = ErlangC.meanResponseTime(3.0, 1.0, 5);
+            CapacityPlan plan = planner().minServers(simulation, 3.0, LatencyTarget.mean(0.5 * (w4 + w5)));
+
+            assertEquals(5, plan.getServers(), plan.toString());
+            assertEquals(5.0, plan.getWarmStart());
+            assertEquals(0.6, plan.getLambda(), 1e-12);
+            assertEquals(3.0, plan.getArrivalRate(), 1e-12);
+            assertTrue(plan.isConclusive());
+        }
+
+        @Test
+        @DisplayName("Serviço constante deve precisar de no máximo tantos servidores quanto o exponencial")
+        void testConstantServiceNeedsFewerServers() {
+            LatencyTarget target = LatencyTarget.percentile(95.0, 4.0);
+            CapacityPlan markovian = planner().minServers(new QueueSimulation(false, 42L, 1, 1.0), 6.0, target);
+            CapacityPlan deterministic = planner().minServers(new QueueSimulation(true, 42L, 1, 1.0), 6.0, target);
+
+            assertTrue(markovian.getServers() >= 7);
+            assertTrue(deterministic.getServers() <= markovian.getServers());
+        }
+
+        @Test
+        @DisplayName("Alvo abaixo do p95 do serviço deve ser inviável com qualquer número de servidores")
+        void testInfeasibleTarget() {
+            // O p95 do serviço exponencial é ln(20) ≈ 3
+            CapacityPlan plan = planner().minServers(new QueueSimulation(false, 42L, 1, 1.0), 6.0,
+                    LatencyTarget.percentile(95.0, 2.5));
+
+            assertFalse(plan.isFeasible());
+            assertEquals(0, plan.getServers());
+        }
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPlanner(0.0, 0.01, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPlanner(100.0, 0.0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPlanner(100.0, 1, 10, 0.95, 0.01, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPlanner(100.0, 10, 5, 0.95, 0.01, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new CapacityPlanner(100.0, 10, 20, 1.0, 0.01, 1L));
+        assertThrows(IllegalArgumentException.class, () -> LatencyTarget.mean(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> LatencyTarget.percentile(100.0, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> planner().minServers(new QueueSimulation(false, 42L), 0.0, LatencyTarget.mean(1.0)));
+    }
+}
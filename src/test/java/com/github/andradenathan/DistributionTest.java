@@ -0,0 +1,182 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Distribution Tests")
+public class DistributionTest {
+
+    static Stream<Arguments> distributions() {
+        return Stream.of(
+                Arguments.of(new ExponentialDistribution(2.0)),
+                Arguments.of(new DeterministicDistribution(0.75)),
+                Arguments.of(new ErlangDistribution(4, 3.0)),
+                Arguments.of(HyperexponentialDistribution.balanced(1.5, 4.0)),
+                Arguments.of(LognormalDistribution.of(2.0, 0.5)),
+                Arguments.of(new ParetoDistribution(3.5, 1.0)),
+                Arguments.of(new EmpiricalDistribution(new double[]{0.5, 1.0, 4.0}, new double[]{3, 6, 1})));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("distributions")
+    @DisplayName("Média e segundo momento amostrais devem bater com os analíticos")
+    void testMoments(Distribution distribution) {
+        ExponentialVariates variates = new ExponentialVariates(new SplittableRandom(42));
+        StatisticsAccumulator samples = new StatisticsAccumulator();
+        StatisticsAccumulator squares = new StatisticsAccumulator();
+
+        for (int i = 0; i < 400_000; i++) {
+            double x = distribution.sample(variates);
+            assertTrue(x >= 0);
+            samples.add(x);
+            squares.add(x * x);
+        }
+
+        assertEquals(distribution.getMean(), samples.getMean(), 0.01 * distribution.getMean());
+        assertEquals(distribution.getSecondMoment(), squares.getMean(), 0.05 * distribution.getSecondMoment());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("distributions")
+    @DisplayName("Reescala deve mudar a média e preservar o SCV")
+    void testWithMean(Distribution distribution) {
+        Distribution scaled = distribution.withMean(10.0);
+
+        assertEquals(10.0, scaled.getMean(), 1e-9);
+        assertEquals(distribution.getSquaredCoefficientOfVariation(),
+                scaled.getSquaredCoefficientOfVariation(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Preenchimento em bloco deve seguir a mesma distribuição")
+    void testFill() {
+        ExponentialVariates variates = new ExponentialVariates(new SplittableRandom(3));
+        double[] samples = new double[100_000];
+
+        new ExponentialDistribution(4.0).fill(variates, samples, 0, samples.length);
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        for (double sample : samples) {
+            statistics.add(sample);
+        }
+        assertEquals(0.25, statistics.getMean(), 0.005);
+
+        new DeterministicDistribution(2.0).fill(variates, samples, 10, 20);
+        assertEquals(2.0, samples[10]);
+        assertEquals(2.0, samples[19]);
+        assertNotEquals(2.0, samples[20]);
+    }
+
+    @Test
+    @DisplayName("Método alias deve reproduzir os pesos empíricos")
+    void testAliasFrequencies() {
+        double[] values = {1, 2, 3, 4, 5};
+        double[] weights = {0.05, 0.4, 0.0, 0.25, 0.3};
+        EmpiricalDistribution distribution = new EmpiricalDistribution(values, weights);
+        ExponentialVariates variates = new ExponentialVariates(new SplittableRandom(11));
+        int[] counts = new int[values.length];
+
+        int draws = 500_000;
+        for (int i = 0; i < draws; i++) {
+            counts[(int) distribution.sample(variates) - 1]++;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(weights[i], (double) counts[i] / draws, 0.003, "value " + values[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialDistribution(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new ErlangDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ParetoDistribution(1.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> HyperexponentialDistribution.balanced(1.0, 0.5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HyperexponentialDistribution(new double[]{0.5, 0.4}, new double[]{1, 2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmpiricalDistribution(new double[]{1.0}, new double[]{0.0}));
+        assertEquals(Double.POSITIVE_INFINITY, new ParetoDistribution(1.8, 1.0).getSecondMoment());
+    }
+
+    @Nested
+    @DisplayName("Pollaczek-Khinchine")
+    class PollaczekKhinchineTests {
+
+        @Test
+        @DisplayName("Deve reduzir a M/M/1 e M/D/1")
+        void testSpecialCases() {
+            assertEquals(1.0 / (1.0 - 0.8),
+                    PollaczekKhinchine.meanResponseTime(0.8, new ExponentialDistribution(1.0)), 1e-12);
+            assertEquals(1.0 + 0.8 / (2 * 0.2),
+                    PollaczekKhinchine.meanResponseTime(0.8, new DeterministicDistribution(1.0)), 1e-12);
+            assertThrows(IllegalArgumentException.class,
+                    () -> PollaczekKhinchine.meanResponseTime(1.0, new DeterministicDistribution(1.0)));
+        }
+
+        @Test
+        @DisplayName("Serviço constante deve usar M/D/1 como valor teórico")
+        void testConstantServiceTheory() {
+            Map<Double, SimulationResult> results = new QueueSimulation(true, 12345L).runAllSimulations();
+
+            assertEquals(1.5, results.get(0.5).getTheoretical(), 1e-9);
+            assertEquals(5.5, results.get(0.9).getTheoretical(), 1e-9);
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("com.github.andradenathan.DistributionTest#serviceDistributions")
+        @DisplayName("M/G/1 simulada deve convergir para Pollaczek-Khinchine")
+        void testMG1MatchesTheory(Distribution service) {
+            QueueSimulation simulation = new QueueSimulation(new ExponentialDistribution(1.0), service, 2024L);
+            Map<Double, SimulationResult> results = simulation.runAllSimulations(ForkJoinPool.commonPool());
+
+            for (double lambda : new double[]{0.5, 0.8}) {
+                SimulationResult result = results.get(lambda);
+                assertEquals(result.getTheoretical(), result.getSimulation(), 0.05 * result.getTheoretical(),
+                        "lambda=" + lambda);
+            }
+        }
+
+        @Test
+        @DisplayName("Lindley deve aceitar distribuições gerais e concordar com a teoria")
+        void testLindleyWithDistributions() {
+            LindleySimulation lindley = new LindleySimulation(new ExponentialDistribution(1.0),
+                    new ErlangDistribution(3, 6.0), 5L);
+            Map<Double, SimulationResult> results = lindley.runAllSimulations();
+
+            SimulationResult result = results.get(0.8);
+            assertEquals(PollaczekKhinchine.meanResponseTime(0.8 / 0.5, new ErlangDistribution(3, 6.0)),
+                    result.getTheoretical(), 1e-9);
+            assertEquals(result.getTheoretical(), result.getSimulation(), 0.03 * result.getTheoretical());
+        }
+
+        @Test
+        @DisplayName("Chegadas não poissonianas não têm valor teórico exato")
+        void testGeneralArrivalsHaveNoTheory() {
+            QueueSimulation simulation = new QueueSimulation(new ErlangDistribution(2, 1.0),
+                    new ExponentialDistribution(1.0), 1L);
+
+            assertTrue(Double.isNaN(simulation.theoreticalResponseTime(0.5)));
+            assertTrue(simulation.simulateSingleQueue(0.5) > 1.0);
+        }
+    }
+
+    static Stream<Arguments> serviceDistributions() {
+        return Stream.of(
+                Arguments.of(new ErlangDistribution(2, 2.0)),
+                Arguments.of(HyperexponentialDistribution.balanced(1.0, 3.0)),
+                Arguments.of(LognormalDistribution.of(1.0, 1.5)),
+                Arguments.of(new EmpiricalDistribution(new double[]{0.2, 0.9, 3.0}, new double[]{0.5, 0.3, 0.2})));
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DoubleRingBuffer Tests")
+public class DoubleRingBufferTest {
+
+    @Test
+    @DisplayName("Deve manter ordem FIFO")
+    void testFifoOrder() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer();
+
+        buffer.add(1.0);
+        buffer.add(2.0);
+        buffer.add(3.0);
+
+        assertEquals(3, buffer.size());
+        assertEquals(1.0, buffer.poll());
+        assertEquals(2.0, buffer.poll());
+        assertEquals(3.0, buffer.peek());
+        assertEquals(3.0, buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve crescer preservando a ordem após dar a volta")
+    void testGrowAfterWrapAround() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(4);
+
+        for (int i = 0; i < 3; i++) {
+            buffer.add(i);
+        }
+        buffer.poll();
+        buffer.poll();
+        for (int i = 3; i < 20; i++) {
+            buffer.add(i);
+        }
+
+        assertTrue(buffer.capacity() >= 18);
+        for (int i = 2; i < 20; i++) {
+            assertEquals(i, buffer.get(i - 2));
+        }
+        for (int i = 2; i < 20; i++) {
+            assertEquals(i, buffer.poll());
+        }
+    }
+
+    @Test
+    @DisplayName("Buffer vazio deve lançar exceção")
+    void testEmptyBuffer() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer();
+
+        assertThrows(NoSuchElementException.class, buffer::poll);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(0));
+    }
+}
@@ -0,0 +1,251 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventList Tests")
+public class EventListTest {
+
+    static Stream<Arguments> heapImplementations() {
+        return Stream.of(
+                Arguments.of("PriorityQueue", (Supplier<EventList>) PriorityQueueEventList::new),
+                Arguments.of("DaryHeap", (Supplier<EventList>) DaryHeapEventList::new),
+                Arguments.of("BinaryHeap", (Supplier<EventList>) () -> new DaryHeapEventList(2, 1)),
+                Arguments.of("Calendar", (Supplier<EventList>) CalendarEventList::new),
+                Arguments.of("NarrowCalendar", (Supplier<EventList>) () -> new CalendarEventList(1e-6)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("heapImplementations")
+    @DisplayName("Deve retornar eventos em ordem de tempo")
+    void testOrdering(String name, Supplier<EventList> factory) {
+        EventList events = factory.get();
+
+        events.schedule(Event.Type.ARRIVAL, 5.0);
+        events.schedule(Event.Type.DEPARTURE, 2.0);
+        events.schedule(Event.Type.ARRIVAL, 8.0);
+        events.schedule(Event.Type.DEPARTURE, 1.0);
+
+        assertEquals(4, events.size());
+        assertEquals(1.0, events.nextTime(), 0.001);
+        assertEquals(Event.Type.DEPARTURE, events.nextType());
+        events.removeNext();
+        assertEquals(2.0, events.nextTime(), 0.001);
+        events.removeNext();
+        assertEquals(5.0, events.nextTime(), 0.001);
+        assertEquals(Event.Type.ARRIVAL, events.nextType());
+        events.removeNext();
+        assertEquals(8.0, events.nextTime(), 0.001);
+        events.removeNext();
+        assertTrue(events.isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("heapImplementations")
+    @DisplayName("Deve ordenar muitos eventos aleatórios")
+    void testRandomOrdering(String name, Supplier<EventList> factory) {
+        EventList events = factory.get();
+        Random random = new Random(42);
+        double[] times = new double[1000];
+
+        for (int i = 0; i < times.length; i++) {
+            times[i] = random.nextDouble() * 100;
+            events.schedule(Event.Type.ARRIVAL, times[i]);
+        }
+        Arrays.sort(times);
+
+        for (double time : times) {
+            assertEquals(time, events.nextTime());
+            events.removeNext();
+        }
+        assertTrue(events.isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("heapImplementations")
+    @DisplayName("Lista vazia deve lançar exceção ao consultar")
+    void testEmptyList(String name, Supplier<EventList> factory) {
+        EventList events = factory.get();
+
+        assertThrows(IllegalStateException.class, events::nextTime);
+        assertThrows(IllegalStateException.class, events::removeNext);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("heapImplementations")
+    @DisplayName("Deve preservar a estação de cada evento")
+    void testStationIsPreserved(String name, Supplier<EventList> factory) {
+        EventList events = factory.get();
+
+        events.schedule(Event.Type.DEPARTURE, 4095, 3.0);
+        events.schedule(Event.Type.ARRIVAL, 7, 1.0);
+        events.schedule(Event.Type.ARRIVAL, 2.0);
+        events.schedule(Event.Type.TRANSFER, 12, 4.0);
+
+        assertEquals(7, events.nextStation());
+        assertEquals(Event.Type.ARRIVAL, events.nextType());
+        events.removeNext();
+        assertEquals(0, events.nextStation());
+        events.removeNext();
+        assertEquals(4095, events.nextStation());
+        assertEquals(Event.Type.DEPARTURE, events.nextType());
+        events.removeNext();
+        assertEquals(12, events.nextStation());
+        assertEquals(Event.Type.TRANSFER, events.nextType());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("heapImplementations")
+    @DisplayName("Empates devem sair na ordem de agendamento")
+    void testTiesAreFifo(String name, Supplier<EventList> factory) {
+        EventList events = factory.get();
+
+        for (int station = 0; station < 100; station++) {
+            events.schedule(Event.Type.ARRIVAL, station, 5.0);
+            events.schedule(Event.Type.DEPARTURE, station, 0.5 + station);
+        }
+
+        for (int station = 0; station < 5; station++) {
+            assertEquals(Event.Type.DEPARTURE, events.nextType());
+            events.removeNext();
+        }
+        for (int station = 0; station < 100; station++) {
+            assertEquals(5.0, events.nextTime());
+            assertEquals(station, events.nextStation(), name);
+            assertEquals(Event.Type.ARRIVAL, events.nextType());
+            events.removeNext();
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("heapImplementations")
+    @DisplayName("Modelo hold deve produzir a mesma sequência que o heap de referência")
+    void testHoldModelMatchesReference(String name, Supplier<EventList> factory) {
+        EventList events = factory.get();
+        EventList reference = new PriorityQueueEventList();
+        Random random = new Random(9);
+
+        // Cresce até 20000 eventos e esvazia, forçando redimensionamentos nos dois sentidos
+        for (int step = 0; step < 60000; step++) {
+            boolean grow = step < 30000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+            if (grow || events.isEmpty()) {
+                double now = events.isEmpty() ? 0.0 : events.nextTime();
+                double time = now + (random.nextInt(8) == 0 ? 1000 * random.nextDouble() : random.nextDouble());
+                int station = random.nextInt(64);
+                events.schedule(Event.Type.DEPARTURE, station, time);
+                reference.schedule(Event.Type.DEPARTURE, station, time);
+            } else {
+                assertEquals(reference.nextTime(), events.nextTime(), name);
+                assertEquals(reference.nextStation(), events.nextStation(), name);
+                events.removeNext();
+                reference.removeNext();
+            }
+            assertEquals(reference.size(), events.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Calendário deve redimensionar e reajustar a largura dos baldes")
+    void testCalendarResizes() {
+        CalendarEventList events = new CalendarEventList(1000.0);
+
+        for (int i = 0; i < 10000; i++) {
+            events.schedule(Event.Type.ARRIVAL, i * 0.01);
+        }
+        assertTrue(events.getBuckets() >= 4096, "buckets=" + events.getBuckets());
+        assertTrue(events.getBucketWidth() < 1.0, "width=" + events.getBucketWidth());
+
+        for (int i = 0; i < 9990; i++) {
+            assertEquals(i * 0.01, events.nextTime(), 1e-9);
+            events.removeNext();
+        }
+        assertTrue(events.getBuckets() <= 32, "buckets=" + events.getBuckets());
+        assertTrue(events.getResizes() > 0);
+    }
+
+    @Test
+    @DisplayName("Calendário deve aceitar eventos anteriores ao dia corrente")
+    void testCalendarAcceptsEarlierEvents() {
+        CalendarEventList events = new CalendarEventList();
+
+        events.schedule(Event.Type.ARRIVAL, 100.0);
+        assertEquals(100.0, events.nextTime());
+        events.schedule(Event.Type.DEPARTURE, 3.0);
+        events.schedule(Event.Type.DEPARTURE, 1e12);
+
+        assertEquals(3.0, events.nextTime());
+        events.removeNext();
+        assertEquals(100.0, events.nextTime());
+        events.removeNext();
+        assertEquals(1e12, events.nextTime());
+        events.removeNext();
+        assertThrows(IllegalStateException.class, events::nextTime);
+        assertThrows(IllegalArgumentException.class, () -> events.schedule(Event.Type.ARRIVAL, Double.NaN));
+    }
+
+    @Test
+    @DisplayName("Heap d-ário deve rejeitar estação negativa")
+    void testDaryHeapRejectsNegativeStation() {
+        EventList events = new DaryHeapEventList();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> events.schedule(Event.Type.ARRIVAL, -1, 1.0));
+    }
+
+    @Test
+    @DisplayName("Lista de dois slots deve alternar entre chegada e saída")
+    void testTwoSlotOrdering() {
+        EventList events = new TwoSlotEventList();
+
+        events.schedule(Event.Type.ARRIVAL, 3.0);
+        events.schedule(Event.Type.DEPARTURE, 1.0);
+
+        assertEquals(2, events.size());
+        assertEquals(Event.Type.DEPARTURE, events.nextType());
+        events.removeNext();
+        assertEquals(Event.Type.ARRIVAL, events.nextType());
+        assertEquals(3.0, events.nextTime(), 0.001);
+        events.removeNext();
+        assertTrue(events.isEmpty());
+        assertThrows(IllegalStateException.class, events::nextType);
+    }
+
+    @Test
+    @DisplayName("Lista de dois slots deve rejeitar segundo evento do mesmo tipo")
+    void testTwoSlotRejectsDuplicate() {
+        EventList events = new TwoSlotEventList();
+        events.schedule(Event.Type.ARRIVAL, 1.0);
+
+        assertThrows(IllegalStateException.class,
+                () -> events.schedule(Event.Type.ARRIVAL, 2.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> events.schedule(Event.Type.TRANSFER, 2.0));
+    }
+
+    @Test
+    @DisplayName("Todas as implementações devem produzir a mesma simulação")
+    void testSameSimulationAcrossImplementations() {
+        double priorityQueue = new QueueSimulation(false, 777L, PriorityQueueEventList::new)
+                .simulateSingleQueue(0.9);
+        double daryHeap = new QueueSimulation(false, 777L, DaryHeapEventList::new)
+                .simulateSingleQueue(0.9);
+        double twoSlot = new QueueSimulation(false, 777L, TwoSlotEventList::new)
+                .simulateSingleQueue(0.9);
+        double calendar = new QueueSimulation(false, 777L, CalendarEventList::new)
+                .simulateSingleQueue(0.9);
+
+        assertEquals(priorityQueue, daryHeap);
+        assertEquals(priorityQueue, twoSlot);
+        assertEquals(priorityQueue, calendar);
+    }
+}
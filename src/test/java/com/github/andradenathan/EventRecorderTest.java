@@ -0,0 +1,139 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Event Recorder Tests")
+public class EventRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Gravação deve preservar todos os eventos através de várias trocas de buffer")
+    void testRoundTrip() throws IOException {
+        Path log = directory.resolve("events.bin");
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        List<Double> times = new ArrayList<>();
+        List<Event.Type> types = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+
+        // Blocos de 7 registros forçam uma escrita assíncrona a cada 7 eventos
+        try (EventRecorder recorder = new EventRecorder(log, 7)) {
+            simulation.runSingleQueue(0.9, 1000.0, new SplittableRandom(7), (type, time, queue) -> {
+                times.add(time);
+                types.add(type);
+                lengths.add(queue.getCustomersInQueue());
+                recorder.onEvent(type, time, queue);
+            });
+            assertEquals(times.size(), recorder.getRecords());
+        }
+        assertEquals(EventRecorder.HEADER_BYTES + times.size() * (long) EventRecorder.RECORD_BYTES,
+                Files.size(log));
+
+        try (EventRecordingReader reader = new EventRecordingReader(log)) {
+            assertEquals(times.size(), reader.getRecords());
+            for (int i = 0; i < times.size(); i++) {
+                assertTrue(reader.next());
+                assertEquals(i, reader.getPosition());
+                assertEquals(times.get(i), reader.getTime());
+                assertEquals(types.get(i), reader.getType());
+                assertEquals(lengths.get(i), reader.getQueueLength());
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Linhas do tempo devem reproduzir o tempo no sistema de cada cliente")
+    void testCustomerTimelines() throws IOException {
+        Path log = directory.resolve("timelines.bin");
+        QueueSimulation simulation = new QueueSimulation(true, 42L);
+        List<Double> timesInSystem = new ArrayList<>();
+
+        try (EventRecorder recorder = new EventRecorder(log, 64)) {
+            simulation.runSingleQueue(0.8, 5000.0, new SplittableRandom(3), (type, time, queue) -> {
+                if (type == Event.Type.DEPARTURE) {
+                    timesInSystem.add(queue.getLastTimeInSystem());
+                }
+                recorder.onEvent(type, time, queue);
+            });
+        }
+
+        List<CustomerTimeline> timelines;
+        try (EventRecordingReader reader = new EventRecordingReader(log)) {
+            timelines = reader.readCustomerTimelines();
+        }
+
+        assertEquals(timesInSystem.size(), timelines.size());
+        for (int i = 0; i < timelines.size(); i++) {
+            CustomerTimeline customer = timelines.get(i);
+            assertEquals(i, customer.getCustomer());
+            assertEquals(timesInSystem.get(i), customer.getTimeInSystem(), 1e-9);
+            // Serviço constante: cada cliente ocupa o servidor por exatamente 1.0
+            assertEquals(1.0, customer.getServiceTime(), 1e-9);
+            assertTrue(customer.getWaitingTime() >= 0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Série N(t) deve reproduzir a área medida pela fila")
+    void testQueueLengthSeries() throws IOException {
+        Path log = directory.resolve("series.bin");
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        QueueState queue;
+
+        try (EventRecorder recorder = new EventRecorder(log)) {
+            queue = simulation.runSingleQueue(0.9, 10000.0, new SplittableRandom(11), recorder);
+        }
+
+        QueueLengthSeries series;
+        try (EventRecordingReader reader = new EventRecordingReader(log)) {
+            series = reader.readQueueLengthSeries();
+        }
+
+        assertEquals(queue.getEventsProcessed(), series.size());
+        assertEquals(queue.getCurrentTime(), series.getTime(series.size() - 1));
+        // Lei de Little: W = L / lambda com a mesma área da fila
+        assertEquals(queue.getAverageTimeInSystem(), series.getTimeAverage() / 0.9, 1e-9);
+        assertTrue(series.getMaxQueueLength() > 0);
+    }
+
+    @Test
+    @DisplayName("Arquivos inválidos e gravador fechado devem ser rejeitados")
+    void testRejectsInvalidUse() throws IOException {
+        Path log = directory.resolve("closed.bin");
+        EventRecorder recorder = new EventRecorder(log);
+        recorder.close();
+        recorder.close();
+        QueueState queue = new Queue(1.0, false, new SplittableRandom(1));
+        assertThrows(IllegalStateException.class, () -> recorder.onEvent(Event.Type.ARRIVAL, 0.0, queue));
+        assertThrows(IllegalArgumentException.class, () -> new EventRecorder(log, 0));
+
+        try (EventRecordingReader reader = new EventRecordingReader(log)) {
+            assertEquals(0, reader.getRecords());
+            assertFalse(reader.next());
+        }
+
+        Path garbage = directory.resolve("garbage.bin");
+        Files.write(garbage, new byte[20]);
+        assertThrows(IOException.class, () -> new EventRecordingReader(garbage));
+
+        Path truncated = directory.resolve("truncated.bin");
+        byte[] bytes = Files.readAllBytes(log);
+        byte[] partial = new byte[bytes.length + 5];
+        System.arraycopy(bytes, 0, partial, 0, bytes.length);
+        Files.write(truncated, partial);
+        assertThrows(IOException.class, () -> new EventRecordingReader(truncated));
+    }
+}
@@ -45,6 +45,16 @@ public class EventTest {
         assertEquals(0, event1.compareTo(event2));
     }
 
+    @Test
+    @DisplayName("Empate de tempo deve ser decidido pela sequência de agendamento")
+    void testCompareEventsBySequence() {
+        Event first = new Event(Event.Type.DEPARTURE, 0, 3.0, 1);
+        Event second = new Event(Event.Type.ARRIVAL, 0, 3.0, 2);
+
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(first) > 0);
+    }
+
     @Test
     @DisplayName("Eventos devem ordenar corretamente em PriorityQueue")
     void testEventsInPriorityQueue() {
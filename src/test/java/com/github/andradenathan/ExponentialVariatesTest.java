@@ -0,0 +1,102 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Exponential Variates Tests")
+public class ExponentialVariatesTest {
+    private static final int SAMPLES = 200_000;
+
+    private static RandomGenerator generator(long seed) {
+        return RandomGeneratorFactory.of("L64X128MixRandom").create(seed);
+    }
+
+    private static double[] sample(long seed) {
+        double[] samples = new double[SAMPLES];
+        ZigguratExponential.fill(generator(seed), samples);
+        return samples;
+    }
+
+    // Kolmogorov-Smirnov statistic against the unit-rate exponential CDF.
+    private static double ksStatistic(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double d = 0.0;
+        for (int i = 0; i < sorted.length; i++) {
+            double cdf = 1.0 - Math.exp(-sorted[i]);
+            d = Math.max(d, Math.max((i + 1.0) / sorted.length - cdf, cdf - (double) i / sorted.length));
+        }
+        return d;
+    }
+
+    @Test
+    @DisplayName("Média e variância devem ser próximas de 1")
+    void testMeanAndVariance() {
+        StatisticsAccumulator stats = new StatisticsAccumulator();
+        for (double value : sample(1L)) {
+            stats.add(value);
+        }
+
+        // Erro padrão da média = 1/sqrt(n) ~ 0.0022; da variância ~ sqrt(8/n) ~ 0.0063
+        assertEquals(1.0, stats.getMean(), 0.01);
+        assertEquals(1.0, stats.getVariance(), 0.03);
+        assertTrue(stats.getMin() >= 0.0);
+    }
+
+    @Test
+    @DisplayName("Teste de Kolmogorov-Smirnov deve aceitar a distribuição exponencial")
+    void testKolmogorovSmirnov() {
+        // Valor crítico para alfa = 1%: 1.628 / sqrt(n)
+        double critical = 1.628 / Math.sqrt(SAMPLES);
+
+        for (long seed = 1; seed <= 3; seed++) {
+            assertTrue(ksStatistic(sample(seed)) < critical, "Seed " + seed);
+        }
+    }
+
+    @Test
+    @DisplayName("Cauda além da base do ziggurat deve ter a probabilidade correta")
+    void testTail() {
+        double[] samples = new double[2_000_000];
+        ZigguratExponential.fill(generator(4L), samples);
+        long beyond = Arrays.stream(samples).filter(x -> x > 7.69711747013104972).count();
+
+        double expected = samples.length * Math.exp(-7.69711747013104972);
+        assertEquals(expected, beyond, 5 * Math.sqrt(expected));
+    }
+
+    @Test
+    @DisplayName("Buffer deve reproduzir a sequência do gerador subjacente")
+    void testBufferMatchesDirectSampling() {
+        ExponentialVariates variates = new ExponentialVariates(generator(5L), 7);
+        RandomGenerator direct = generator(5L);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ZigguratExponential.next(direct), variates.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Preenchimento com taxa deve escalar a média")
+    void testFillWithRate() {
+        ExponentialVariates variates = new ExponentialVariates(generator(6L));
+        double[] samples = new double[SAMPLES];
+
+        variates.fill(samples, 4.0);
+
+        assertEquals(0.25, Arrays.stream(samples).average().orElseThrow(), 0.005);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar buffer de tamanho inválido")
+    void testInvalidBufferSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExponentialVariates(generator(7L), 0));
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Lindley Simulation Tests")
+public class LindleySimulationTest {
+
+    @Test
+    @DisplayName("Serviço constante sem fila deve ter tempo igual ao serviço")
+    void testNoQueueingWithTinyLambda() {
+        LindleySimulation simulation = new LindleySimulation(true, 1L);
+
+        double avgTime = simulation.simulateSingleQueue(0.001, 10000.0, new SplittableRandom(1));
+
+        assertEquals(1.0, avgTime, 0.01);
+    }
+
+    @Test
+    @DisplayName("Mesma seed deve produzir mesmos resultados")
+    void testReproducibility() {
+        double first = new LindleySimulation(false, 99L).simulateSingleQueue(0.8);
+        double second = new LindleySimulation(false, 99L).simulateSingleQueue(0.8);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Resultados devem concordar com o motor orientado a eventos")
+    void testCrossCheckWithEventDrivenEngine() {
+        for (boolean constant : new boolean[]{false, true}) {
+            Map<Double, SimulationResult> lindley =
+                    new LindleySimulation(constant, 12345L).runAllSimulations();
+            Map<Double, SimulationResult> events =
+                    new QueueSimulation(constant, 54321L).runAllSimulations(ForkJoinPool.commonPool());
+
+            for (double lambda : new double[]{0.5, 0.8, 0.9}) {
+                SimulationResult a = lindley.get(lambda);
+                SimulationResult b = events.get(lambda);
+                double tolerance = 3 * Math.hypot(a.getHalfWidth(), b.getHalfWidth());
+
+                assertEquals(b.getSimulation(), a.getSimulation(), tolerance,
+                        String.format("lambda=%.2f, constant=%b", lambda, constant));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Serviço exponencial deve convergir para 1/(1-lambda)")
+    void testMatchesTheory() {
+        Map<Double, SimulationResult> results =
+                new LindleySimulation(false, 2024L).runAllSimulations();
+
+        assertEquals(2.0, results.get(0.5).getSimulation(), 0.05);
+        assertEquals(5.0, results.get(0.8).getSimulation(), 0.25);
+    }
+}
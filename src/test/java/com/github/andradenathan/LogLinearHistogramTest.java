@@ -0,0 +1,86 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogLinearHistogram Tests")
+public class LogLinearHistogramTest {
+
+    @Test
+    @DisplayName("Percentis devem respeitar a precisão relativa")
+    void testPercentilesWithinPrecision() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        Random random = new Random(10);
+        double[] values = new double[100_000];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -Math.log(1 - random.nextDouble()) * 5;
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            double exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            assertEquals(exact, histogram.getValueAtPercentile(percentile),
+                    exact * histogram.getRelativePrecision(), "p" + percentile);
+        }
+        assertEquals(values.length, histogram.getTotalCount());
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Merge deve igualar o histograma combinado")
+    void testMerge() {
+        LogLinearHistogram combined = new LogLinearHistogram();
+        LogLinearHistogram first = new LogLinearHistogram();
+        LogLinearHistogram second = new LogLinearHistogram();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextDouble() * 100;
+            combined.record(value);
+            (i % 2 == 0 ? first : second).record(value);
+        }
+        first.merge(second);
+
+        assertEquals(combined.getTotalCount(), first.getTotalCount());
+        for (double percentile : new double[]{1, 50, 99}) {
+            assertEquals(combined.getValueAtPercentile(percentile), first.getValueAtPercentile(percentile));
+        }
+        assertEquals(combined.getMean(), first.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Deve tratar zero e valores fora da faixa")
+    void testZeroAndOverflow() {
+        LogLinearHistogram histogram = new LogLinearHistogram(6, -4, 4);
+
+        histogram.record(0.0);
+        histogram.record(1000.0);
+
+        assertEquals(0.0, histogram.getValueAtPercentile(50));
+        assertEquals(1000.0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    @DisplayName("Histograma vazio deve retornar NaN")
+    void testEmpty() {
+        assertTrue(Double.isNaN(new LogLinearHistogram().getValueAtPercentile(99)));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valores negativos e layouts diferentes")
+    void testInvalidInput() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> histogram.merge(new LogLinearHistogram(4, -16, 32)));
+    }
+}
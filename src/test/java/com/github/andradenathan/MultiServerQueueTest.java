@@ -0,0 +1,130 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Multi-Server Queue Tests")
+public class MultiServerQueueTest {
+
+    @Test
+    @DisplayName("Chegadas devem ocupar servidores livres antes de esperar")
+    void testArrivalsFillServers() {
+        MultiServerQueue queue = new MultiServerQueue(1.0, 1.0, 2, true, new Random(1));
+
+        queue.processArrival();
+        queue.processArrival();
+        queue.processArrival();
+
+        assertEquals(3, queue.getCustomersInQueue());
+        assertEquals(2, queue.getBusyServers());
+        assertEquals(1.0, queue.getNextDepartureTime(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Saída deve iniciar o serviço do próximo cliente em espera")
+    void testDepartureStartsWaitingCustomer() {
+        MultiServerQueue queue = new MultiServerQueue(1.0, 1.0, 1, true, new Random(1));
+
+        queue.processArrival(); // t=0, termina em t=1
+        queue.updateStatistics(0.5);
+        queue.processArrival(); // t=0.5, espera
+        queue.updateStatistics(queue.getNextDepartureTime());
+        queue.processDeparture();
+
+        assertEquals(1.0, queue.getLastTimeInSystem(), 0.001);
+        assertEquals(1, queue.getBusyServers());
+        assertEquals(2.0, queue.getNextDepartureTime(), 0.001);
+
+        queue.updateStatistics(queue.getNextDepartureTime());
+        queue.processDeparture();
+        assertEquals(1.5, queue.getLastTimeInSystem(), 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, queue.getNextDepartureTime());
+    }
+
+    @Test
+    @DisplayName("Saída sem cliente em serviço deve lançar exceção")
+    void testDepartureWithoutCustomer() {
+        MultiServerQueue queue = new MultiServerQueue(1.0, 1.0, 3, false, new Random(1));
+
+        assertThrows(IllegalStateException.class, queue::processDeparture);
+    }
+
+    @Test
+    @DisplayName("M/M/c deve convergir para o valor de Erlang-C")
+    void testMatchesErlangC() {
+        for (int servers : new int[]{2, 8, 100}) {
+            QueueSimulation simulation = new QueueSimulation(false, 2024L, servers, 0.5);
+            // Pelo menos 16000 chegadas por réplica em lambda = 0.8, e 500 tempos de serviço
+            // para diluir o viés de iniciar vazio
+            double simulationTime = Math.max(40000.0 / servers, 1000.0);
+
+            for (double lambda : new double[]{0.5, 0.8}) {
+                SimulationResult result = simulation.runScenario(lambda, simulationTime, 64);
+                assertEquals(result.getTheoretical(), result.getSimulation(),
+                        0.03 * result.getTheoretical(),
+                        String.format("servers=%d, lambda=%.2f", servers, lambda));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Medição direta deve concordar com a Lei de Little")
+    void testMeasuredAgreesWithLittle() {
+        QueueSimulation simulation = new QueueSimulation(false, 11L, 16, 1.0);
+        QueueState queue = simulation.runSingleQueue(0.9, 50000.0, new SplittableRandom(11));
+
+        assertEquals(queue.getAverageTimeInSystem(), queue.getMeasuredAverageTimeInSystem(),
+                0.03 * queue.getAverageTimeInSystem());
+    }
+
+    @Test
+    @DisplayName("Serviço constante deve ser mais rápido que exponencial com c servidores")
+    void testConstantFasterThanExponential() {
+        double exponential = new QueueSimulation(false, 5L, 4, 1.0).runScenario(0.9, 2000.0, 10).getSimulation();
+        double constant = new QueueSimulation(true, 5L, 4, 1.0).runScenario(0.9, 2000.0, 10).getSimulation();
+
+        assertTrue(constant < exponential);
+    }
+
+    @Nested
+    @DisplayName("Erlang-C Tests")
+    class ErlangCTests {
+
+        @Test
+        @DisplayName("Com um servidor deve reduzir a 1/(mu - lambda)")
+        void testSingleServer() {
+            assertEquals(0.8, ErlangC.probabilityOfWaiting(1, 0.8), 1e-12);
+            assertEquals(5.0, ErlangC.meanResponseTime(0.8, 1.0, 1), 1e-12);
+            assertEquals(0.5, ErlangC.meanResponseTime(2.0, 4.0, 1), 1e-12);
+        }
+
+        @Test
+        @DisplayName("Deve coincidir com valores conhecidos")
+        void testKnownValues() {
+            // c = 2, a = 1: C = 1/3, Wq = C / (c*mu - lambda) = 1/3
+            assertEquals(1.0 / 3.0, ErlangC.probabilityOfWaiting(2, 1.0), 1e-12);
+            assertEquals(1.0 / 3.0 + 1.0, ErlangC.meanResponseTime(1.0, 1.0, 2), 1e-12);
+        }
+
+        @Test
+        @DisplayName("Deve ser estável para milhares de servidores")
+        void testManyServers() {
+            double probability = ErlangC.probabilityOfWaiting(5000, 4950.0);
+
+            assertTrue(probability > 0 && probability < 1);
+            assertFalse(Double.isNaN(ErlangC.meanResponseTime(4950.0, 1.0, 5000)));
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar sistemas instáveis")
+        void testUnstable() {
+            assertThrows(IllegalArgumentException.class, () -> ErlangC.probabilityOfWaiting(2, 2.0));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Network Simulation Tests")
+public class NetworkSimulationTest {
+
+    @Nested
+    @DisplayName("Topologia da rede")
+    class Topology {
+
+        @Test
+        @DisplayName("Equações de tráfego devem incluir a realimentação")
+        void testTrafficEquationsWithFeedback() {
+            // Estação 0 devolve metade dos clientes para si mesma: lambda = 0.3 / 0.5
+            QueueNetwork network = new QueueNetwork(new double[]{0.3}, new double[]{1.0}, new int[]{1},
+                    new double[][]{{0.5}});
+
+            assertEquals(0.6, network.getArrivalRate(0), 1e-9);
+            assertEquals(1.0 / (1.0 - 0.6), network.getTheoreticalResponseTime(0), 1e-9);
+            assertEquals(0.6 * 2.5 / 0.3, network.getTheoreticalNetworkResponseTime(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Rede em série deve repassar a mesma taxa a todas as estações")
+        void testTandemRates() {
+            QueueNetwork network = QueueNetwork.tandem(5, 0.7, 1.0);
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0.7, network.getArrivalRate(i), 1e-9);
+            }
+            assertEquals(5 / (1.0 - 0.7), network.getTheoreticalNetworkResponseTime(), 1e-9);
+            assertEquals(1, network.route(0, 0.99));
+            assertEquals(-1, network.route(4, 0.0));
+        }
+
+        @Test
+        @DisplayName("Roteamento deve respeitar as probabilidades acumuladas")
+        void testRouting() {
+            QueueNetwork network = new QueueNetwork(new double[]{0.1, 0.0, 0.0}, new double[]{1, 1, 1},
+                    new int[]{1, 1, 1}, new double[][]{{0.0, 0.25, 0.5}, {0, 0, 0}, {0, 0, 0}});
+
+            assertEquals(1, network.route(0, 0.0));
+            assertEquals(1, network.route(0, 0.2499));
+            assertEquals(2, network.route(0, 0.25));
+            assertEquals(2, network.route(0, 0.7499));
+            assertEquals(-1, network.route(0, 0.75));
+        }
+
+        @Test
+        @DisplayName("Rede instável, fechada ou com roteamento inválido deve ser rejeitada")
+        void testRejectsUnstableNetworks() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> QueueNetwork.tandem(3, 1.0, 1.0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new QueueNetwork(new double[]{0.1}, new double[]{1.0}, new int[]{1},
+                            new double[][]{{1.0}}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new QueueNetwork(new double[]{0.1, 0.1}, new double[]{1.0, 1.0}, new int[]{1, 1},
+                            new int[]{0, 0}, new int[]{1, 1}, new double[]{0.7, 0.7}));
+        }
+    }
+
+    @Test
+    @DisplayName("Rede em série deve convergir para o produto de Jackson")
+    void testTandemMatchesJackson() {
+        QueueNetwork network = QueueNetwork.tandem(4, 0.7, 1.0);
+        NetworkResult result = new NetworkSimulation(network, 2024L)
+                .run(40, QueueSimulation.SIMULATION_TIME, ForkJoinPool.commonPool());
+
+        for (int i = 0; i < network.getStations(); i++) {
+            SimulationResult station = result.getStation(i);
+            assertEquals(station.getTheoretical(), station.getSimulation(), 0.05 * station.getTheoretical(),
+                    "station " + i);
+        }
+        SimulationResult total = result.getNetwork();
+        assertEquals(total.getTheoretical(), total.getSimulation(), 0.04 * total.getTheoretical());
+    }
+
+    @Test
+    @DisplayName("Rede com realimentação e vários servidores deve seguir Erlang-C por estação")
+    void testFeedbackNetworkMatchesJackson() {
+        QueueNetwork network = new QueueNetwork(
+                new double[]{1.0, 0.5, 0.0},
+                new double[]{1.0, 2.0, 0.8},
+                new int[]{2, 1, 3},
+                new double[][]{
+                        {0.0, 0.4, 0.5},
+                        {0.2, 0.0, 0.3},
+                        {0.1, 0.0, 0.0}});
+        NetworkResult result = new NetworkSimulation(network, 7L)
+                .run(40, QueueSimulation.SIMULATION_TIME, ForkJoinPool.commonPool());
+
+        for (int i = 0; i < network.getStations(); i++) {
+            SimulationResult station = result.getStation(i);
+            assertEquals(station.getTheoretical(), station.getSimulation(), 0.05 * station.getTheoretical(),
+                    "station " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Rede com milhares de estações deve conservar o fluxo")
+    void testLargeNetworkConservesFlow() {
+        int stations = 2000;
+        SplittableRandom topology = new SplittableRandom(3);
+        double[] external = new double[stations];
+        double[] service = new double[stations];
+        int[] servers = new int[stations];
+        int[] from = new int[2 * stations];
+        int[] to = new int[2 * stations];
+        double[] probability = new double[2 * stations];
+
+        for (int i = 0; i < stations; i++) {
+            external[i] = 0.05;
+            service[i] = 1.0;
+            servers[i] = 1;
+            for (int k = 0; k < 2; k++) {
+                from[2 * i + k] = i;
+                to[2 * i + k] = topology.nextInt(stations);
+                probability[2 * i + k] = 0.3;
+            }
+        }
+        QueueNetwork network = new QueueNetwork(external, service, servers, from, to, probability);
+        NetworkSimulation simulation = new NetworkSimulation(network, 5L);
+        RandomGenerator.SplittableGenerator random = (RandomGenerator.SplittableGenerator)
+                RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(5L);
+
+        NetworkSimulation.Replication replication = simulation.runReplication(1000.0, random);
+
+        // Cada cliente externo visita em média 1 / (1 - 0.6) estações
+        long visits = 0;
+        for (int i = 0; i < stations; i++) {
+            visits += replication.getArrivals(i);
+        }
+        double expectedExternal = 0.05 * stations * 1000.0;
+        assertEquals(expectedExternal, replication.getExternalArrivals(), 0.02 * expectedExternal);
+        assertEquals(2.5, (double) visits / replication.getExternalArrivals(), 0.05);
+        assertEquals(network.getTheoreticalNetworkResponseTime(), replication.getNetworkResponseTime(),
+                0.1 * network.getTheoreticalNetworkResponseTime());
+    }
+
+    @Test
+    @DisplayName("Resultados devem ser iguais com ou sem paralelismo")
+    void testParallelDeterminism() {
+        QueueNetwork network = QueueNetwork.tandem(3, 0.5, 1.0);
+        NetworkSimulation simulation = new NetworkSimulation(network, 99L);
+
+        NetworkResult sequential = simulation.run(8, 1000.0);
+        NetworkResult parallel = simulation.run(8, 1000.0, ForkJoinPool.commonPool());
+
+        assertEquals(sequential.getNetwork().getSimulation(), parallel.getNetwork().getSimulation());
+        assertEquals(sequential.getEventsProcessed(), parallel.getEventsProcessed());
+    }
+
+    @Nested
+    @DisplayName("Simulação paralela conservadora")
+    class Parallel {
+
+        private QueueNetwork randomNetwork(int stations, double transitTime) {
+            SplittableRandom topology = new SplittableRandom(17);
+            double[] external = new double[stations];
+            double[] service = new double[stations];
+            int[] servers = new int[stations];
+            int[] from = new int[3 * stations];
+            int[] to = new int[3 * stations];
+            double[] probability = new double[3 * stations];
+
+            for (int i = 0; i < stations; i++) {
+                external[i] = 0.1;
+                service[i] = 1.0 + topology.nextDouble();
+                servers[i] = 1 + topology.nextInt(3);
+                for (int k = 0; k < 3; k++) {
+                    from[3 * i + k] = i;
+                    to[3 * i + k] = topology.nextInt(stations);
+                    probability[3 * i + k] = 0.2;
+                }
+            }
+            return new QueueNetwork(external, service, servers, from, to, probability, transitTime);
+        }
+
+        @Test
+        @DisplayName("Resultados devem ser idênticos ao motor sequencial para qualquer número de partições")
+        void testIdenticalToSequential() {
+            QueueNetwork network = randomNetwork(300, 0.25);
+            NetworkResult sequential = new NetworkSimulation(network, 42L).run(2, 500.0);
+
+            for (int partitions : new int[]{2, 3, 8}) {
+                NetworkResult parallel = new NetworkSimulation(network, 42L, partitions).run(2, 500.0);
+
+                assertEquals(sequential.getEventsProcessed(), parallel.getEventsProcessed(),
+                        "partitions=" + partitions);
+                assertEquals(sequential.getNetwork().getSimulation(), parallel.getNetwork().getSimulation(),
+                        "partitions=" + partitions);
+                for (int i = 0; i < network.getStations(); i++) {
+                    assertEquals(sequential.getStation(i).getSimulation(), parallel.getStation(i).getSimulation(),
+                            "partitions=" + partitions + ", station=" + i);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Tempo de trânsito deve somar ao tempo na rede")
+        void testTransitTimeAddsToNetworkTime() {
+            QueueNetwork network = QueueNetwork.tandem(4, 0.5, 1.0, 0.5);
+            NetworkResult result = new NetworkSimulation(network, 8L, 4)
+                    .run(20, QueueSimulation.SIMULATION_TIME, ForkJoinPool.commonPool());
+
+            assertEquals(4 * 2.0 + 3 * 0.5, network.getTheoreticalNetworkResponseTime(), 1e-9);
+            SimulationResult total = result.getNetwork();
+            assertEquals(total.getTheoretical(), total.getSimulation(), 0.03 * total.getTheoretical());
+        }
+
+        @Test
+        @DisplayName("Falha no meio de uma janela deve ser relançada sem travar as outras partições")
+        void testFailureMidWindowIsRethrown() {
+            QueueNetwork network = randomNetwork(300, 0.25);
+            AtomicInteger lists = new AtomicInteger();
+            // Só a primeira lista criada falha, enquanto as outras partições seguem processando
+            NetworkSimulation simulation = new NetworkSimulation(network, 42L, 4, () -> {
+                boolean failing = lists.getAndIncrement() % 4 == 0;
+                return new DaryHeapEventList() {
+                    private int removed;
+
+                    @Override
+                    public void removeNext() {
+                        if (failing && ++removed == 2000) {
+                            throw new IllegalStateException("station failure");
+                        }
+                        super.removeNext();
+                    }
+                };
+            });
+
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                for (int i = 0; i < 20; i++) {
+                    IllegalStateException e = assertThrows(IllegalStateException.class,
+                            () -> simulation.run(1, 500.0));
+                    assertEquals("station failure", e.getMessage());
+                }
+            });
+        }
+
+        @Test
+        @DisplayName("Executor que rejeita partições deve liberar as já submetidas")
+        void testRejectedPartitionIsRethrown() {
+            QueueNetwork network = randomNetwork(300, 0.25);
+            AtomicInteger submitted = new AtomicInteger();
+            NetworkSimulation simulation = new NetworkSimulation(network, 42L, 4, DaryHeapEventList::new,
+                    task -> {
+                        if (submitted.incrementAndGet() > 2) {
+                            throw new RejectedExecutionException("full");
+                        }
+                        new Thread(task).start();
+                    });
+
+            assertTimeoutPreemptively(Duration.ofSeconds(30),
+                    () -> assertThrows(RejectedExecutionException.class, () -> simulation.run(1, 500.0)));
+        }
+
+        @Test
+        @DisplayName("Partições devem exigir tempo de trânsito positivo")
+        void testRequiresLookahead() {
+            QueueNetwork network = QueueNetwork.tandem(4, 0.5, 1.0);
+
+            assertThrows(IllegalArgumentException.class, () -> new NetworkSimulation(network, 1L, 2));
+            assertThrows(IllegalArgumentException.class, () -> new NetworkSimulation(network, 1L, 0));
+            assertEquals(4, new NetworkSimulation(QueueNetwork.tandem(4, 0.5, 1.0, 0.1), 1L, 16).getPartitions());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Overflow Estimator Tests")
+public class OverflowEstimatorTest {
+
+    private static OverflowEstimator mm1(double lambda) {
+        return new OverflowEstimator(new QueueSimulation(false, 42L), lambda, 7L);
+    }
+
+    @Nested
+    @DisplayName("Amostragem por importância")
+    class ImportanceSampling {
+
+        @ParameterizedTest
+        @ValueSource(ints = {0, 5, 20, 50, 100})
+        @DisplayName("M/M/1 deve concordar com ρ^(k+1)")
+        void testMatchesClosedForm(int k) {
+            OverflowEstimator estimator = mm1(0.5);
+            SimulationResult result = estimator.importanceSampling(k, 20000);
+
+            assertEquals(Math.pow(0.5, k + 1), result.getTheoretical(), 1e-12 * Math.pow(0.5, k + 1));
+            assertEquals(result.getTheoretical(), result.getSimulation(), 2 * result.getHalfWidth(),
+                    result.toString());
+            assertTrue(result.getRelativeHalfWidth() < 0.05, result.toString());
+        }
+
+        @Test
+        @DisplayName("Erro relativo deve ficar limitado quando k cresce")
+        void testBoundedRelativeError() {
+            double near = mm1(0.8).importanceSampling(10, 5000).getRelativeHalfWidth();
+            double far = mm1(0.8).importanceSampling(200, 5000).getRelativeHalfWidth();
+
+            // P(N > 200) ≈ 3e-20: nenhuma simulação direta chegaria a observar o evento
+            assertTrue(far < 2 * near, near + " vs " + far);
+        }
+
+        @Test
+        @DisplayName("M/M/c deve concordar com Erlang-C vezes ρ^(k+1-c)")
+        void testMultiServer() {
+            QueueSimulation simulation = new QueueSimulation(false, 42L, 3, 1.0);
+            OverflowEstimator estimator = new OverflowEstimator(simulation, 0.7, 7L);
+
+            double erlangC = ErlangC.probabilityOfWaiting(3, 2.1);
+            assertEquals(erlangC * Math.pow(0.7, 30 + 1 - 3), estimator.theoretical(30), 1e-15);
+            double empty = 1.0 / (1.0 + 2.1 + 2.1 * 2.1 / 2 + 2.1 * 2.1 * 2.1 / 6 / (1.0 - 0.7));
+            assertEquals(1.0 - empty - 2.1 * empty, estimator.theoretical(1), 1e-12);
+
+            for (int k : new int[]{1, 30}) {
+                SimulationResult result = estimator.importanceSampling(k, 20000);
+                assertEquals(result.getTheoretical(), result.getSimulation(), 2 * result.getHalfWidth(),
+                        "k = " + k + ": " + result);
+            }
+        }
+
+        @Test
+        @DisplayName("Mesma semente deve dar a mesma estimativa")
+        void testDeterministic() {
+            assertEquals(mm1(0.6).importanceSampling(15, 1000).getSimulation(),
+                    mm1(0.6).importanceSampling(15, 1000).getSimulation());
+        }
+    }
+
+    @Test
+    @DisplayName("Estimador direto deve concordar em k pequeno e falhar em k grande")
+    void testCrudeEstimator() {
+        SimulationResult small = mm1(0.5).crude(2, 20000);
+        assertEquals(0.125, small.getSimulation(), 2 * small.getHalfWidth());
+
+        OverflowEstimator crude = mm1(0.5);
+        SimulationResult large = crude.crude(30, 20000);
+        OverflowEstimator weighted = mm1(0.5);
+        SimulationResult importance = weighted.importanceSampling(30, 20000);
+
+        // P(N > 30) ≈ 5e-10: 20000 ciclos diretos não passam de 30
+        assertEquals(0.0, large.getSimulation());
+        assertTrue(importance.getRelativeHalfWidth() < 0.05);
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OverflowEstimator(new QueueSimulation(true, 42L), 0.5, 1L));
+        assertThrows(IllegalArgumentException.class, () -> mm1(1.0));
+        assertThrows(IllegalArgumentException.class, () -> mm1(0.0));
+        assertThrows(IllegalArgumentException.class, () -> mm1(0.5).importanceSampling(-1, 100));
+        assertThrows(IllegalArgumentException.class, () -> mm1(0.5).importanceSampling(5, 1));
+        assertThrows(IllegalArgumentException.class, () -> mm1(0.5).theoretical(-1));
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Queue Length Sampler Tests")
+public class QueueLengthSamplerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Buckets devem coincidir com o cálculo direto sobre a trajetória completa")
+    void testMatchesBruteForce() {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        // Capacidade 8 com largura 0.5 força várias fusões em 2000 unidades de tempo
+        QueueLengthSampler sampler = new QueueLengthSampler(8, 0.5);
+        List<double[]> events = new ArrayList<>();
+
+        simulation.runSingleQueue(0.9, 2000.0, new SplittableRandom(5), (type, time, queue) -> {
+            events.add(new double[]{time, queue.getCustomersInQueue(), type == Event.Type.DEPARTURE ? 1 : 0});
+            sampler.onEvent(type, time, queue);
+        });
+
+        assertTrue(sampler.getBuckets() <= 9);
+        assertEquals(0.5 * 512, sampler.getBucketWidth());
+
+        for (int b = 0; b < sampler.getBuckets(); b++) {
+            double start = sampler.getStart(b);
+            double end = sampler.getEnd(b);
+            boolean last = b == sampler.getBuckets() - 1;
+
+            // N(t) imediatamente antes do início do bucket
+            int customers = 0;
+            double time = 0.0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            double area = 0.0;
+            long departures = 0;
+            for (double[] event : events) {
+                double t = event[0];
+                if (t < start) {
+                    customers = (int) event[1];
+                    continue;
+                }
+                if (!last && t >= end) {
+                    break;
+                }
+                if (min == Integer.MAX_VALUE) {
+                    min = max = customers;
+                    time = start;
+                }
+                area += customers * (t - time);
+                time = t;
+                customers = (int) event[1];
+                min = Math.min(min, customers);
+                max = Math.max(max, customers);
+                departures += (long) event[2];
+            }
+            if (min == Integer.MAX_VALUE) {
+                min = max = customers;
+                time = start;
+            }
+            area += customers * (end - time);
+
+            assertEquals(min, sampler.getMinimum(b), "bucket " + b);
+            assertEquals(max, sampler.getMaximum(b), "bucket " + b);
+            assertEquals(departures, sampler.getDepartures(b), "bucket " + b);
+            assertEquals(area / (end - start), sampler.getMean(b), 1e-9, "bucket " + b);
+        }
+    }
+
+    @Test
+    @DisplayName("Médias acumuladas devem coincidir com as estatísticas da fila")
+    void testAgreesWithQueue() {
+        QueueSimulation simulation = new QueueSimulation(true, 42L);
+        QueueLengthSampler sampler = new QueueLengthSampler();
+
+        QueueState queue = simulation.runSingleQueue(0.8, 50000.0, new SplittableRandom(9), sampler);
+        int last = sampler.getBuckets() - 1;
+
+        assertTrue(sampler.getBuckets() <= 1025);
+        assertEquals(queue.getAverageTimeInSystem(), sampler.getTimeAverage() / 0.8, 1e-9);
+        assertEquals(queue.getMeasuredAverageTimeInSystem(), sampler.getCumulativeResponseTime(last), 1e-9);
+
+        long departures = 0;
+        for (int b = 0; b <= last; b++) {
+            departures += sampler.getDepartures(b);
+        }
+        assertEquals(queue.getCustomersCompleted(), departures);
+        assertEquals(queue.getCurrentTime(), sampler.getEnd(last));
+    }
+
+    @Test
+    @DisplayName("Exportação CSV deve ter cabeçalho e uma linha por bucket")
+    void testCsvExport() throws IOException {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        QueueLengthSampler sampler = new QueueLengthSampler(16, 10.0);
+        simulation.runSingleQueue(0.5, 100.0, new SplittableRandom(1), sampler);
+
+        Path csv = directory.resolve("n.csv");
+        sampler.writeCsv(csv);
+        List<String> lines = Files.readAllLines(csv);
+
+        assertEquals("start,end,min,max,mean,departures,mean_response,cumulative_response", lines.get(0));
+        assertEquals(sampler.getBuckets() + 1, lines.size());
+        String[] first = lines.get(1).split(",");
+        assertEquals(8, first.length);
+        assertEquals(0.0, Double.parseDouble(first[0]));
+        assertEquals(10.0, Double.parseDouble(first[1]));
+        assertEquals(sampler.getMean(0), Double.parseDouble(first[4]));
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new QueueLengthSampler(3, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new QueueLengthSampler(2, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new QueueLengthSampler(8, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new QueueLengthSampler(8, Double.NaN));
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,6 +111,8 @@ public class QueueSimulationTest {
 
                 assertEquals(theoretical, result.getTheoretical(), 0.001,
                         "Valor teórico deve ser 1/(1-lambda)");
+                assertEquals(100, result.getReplications());
+                assertTrue(result.getHalfWidth() > 0, "Intervalo de confiança deve ser positivo");
             }
         }
 
@@ -145,6 +150,63 @@ public class QueueSimulationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Parallel Simulation Tests")
+    class ParallelSimulationTests {
+
+        @Test
+        @DisplayName("Resultados paralelos devem ser idênticos para qualquer número de threads")
+        void testParallelResultsIndependentOfThreadCount() {
+            ExecutorService single = Executors.newSingleThreadExecutor();
+            ForkJoinPool pool = new ForkJoinPool(4);
+
+            try {
+                Map<Double, SimulationResult> sequential =
+                        exponentialSimulation.runAllSimulations(single);
+                Map<Double, SimulationResult> parallel =
+                        new QueueSimulation(false, 12345L).runAllSimulations(pool);
+
+                for (double lambda : new double[]{0.5, 0.8, 0.9, 0.99}) {
+                    assertEquals(sequential.get(lambda).getSimulation(),
+                            parallel.get(lambda).getSimulation(),
+                            "Mesma seed deve produzir resultados bit a bit idênticos");
+                }
+            } finally {
+                single.shutdown();
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Percentis paralelos devem ser idênticos para qualquer número de threads")
+        void testParallelPercentilesIndependentOfThreadCount() {
+            ForkJoinPool pool = new ForkJoinPool(3);
+
+            try {
+                Map<Double, SimulationResult> first =
+                        exponentialSimulation.runAllSimulations(pool);
+                Map<Double, SimulationResult> second =
+                        new QueueSimulation(false, 12345L).runAllSimulations(ForkJoinPool.commonPool());
+
+                assertEquals(first.get(0.9).getTimeInSystemPercentile(99.9),
+                        second.get(0.9).getTimeInSystemPercentile(99.9));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("Resultados paralelos devem estar próximos da teoria")
+        void testParallelResultsCloseToTheory() {
+            Map<Double, SimulationResult> results =
+                    exponentialSimulation.runAllSimulations(ForkJoinPool.commonPool());
+
+            assertEquals(4, results.size());
+            assertEquals(2.0, results.get(0.5).getSimulation(), 0.1);
+            assertEquals(5.0, results.get(0.8).getSimulation(), 0.5);
+        }
+    }
+
     @Nested
     @DisplayName("SimulationResult Tests")
     class SimulationResultTests {
@@ -178,6 +240,31 @@ public class QueueSimulationTest {
             assertEquals(4.0, result.getTheoretical(), 0.001);
         }
 
+        @Test
+        @DisplayName("Deve construir intervalo de confiança a partir do acumulador")
+        void testConfidenceInterval() {
+            StatisticsAccumulator stats = new StatisticsAccumulator();
+            for (double value : new double[]{9.0, 10.0, 11.0}) {
+                stats.add(value);
+            }
+
+            SimulationResult result = new SimulationResult(stats, 10.0, 0.95);
+
+            assertEquals(10.0, result.getSimulation(), 1e-12);
+            assertEquals(3, result.getReplications());
+            assertEquals(4.302653 / Math.sqrt(3), result.getHalfWidth(), 1e-5);
+            assertTrue(result.containsTheoretical());
+        }
+
+        @Test
+        @DisplayName("Resultado pontual não deve ter intervalo de confiança")
+        void testPointResultHasNoInterval() {
+            SimulationResult result = new SimulationResult(5.0, 4.0);
+
+            assertFalse(result.hasConfidenceInterval());
+            assertFalse(result.containsTheoretical());
+        }
+
         @Test
         @DisplayName("ToString deve conter valores formatados")
         void testToString() {
@@ -256,6 +343,43 @@ public class QueueSimulationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Percentile Tests")
+    class PercentileTests {
+
+        @Test
+        @DisplayName("Percentis do tempo no sistema devem seguir a distribuição exponencial")
+        void testTimeInSystemPercentiles() {
+            Map<Double, SimulationResult> results =
+                    exponentialSimulation.runAllSimulations(ForkJoinPool.commonPool());
+            SimulationResult result = results.get(0.5);
+
+            // M/M/1: T ~ Exp(1 - lambda), logo p = -ln(1 - q) / (1 - lambda)
+            assertEquals(Math.log(2) / 0.5, result.getTimeInSystemPercentile(50), 0.05 * Math.log(2) / 0.5);
+            assertEquals(Math.log(100) / 0.5, result.getTimeInSystemPercentile(99), 0.05 * Math.log(100) / 0.5);
+            assertTrue(result.getTimeInSystemPercentile(99.9) > result.getTimeInSystemPercentile(99));
+        }
+
+        @Test
+        @DisplayName("Percentis do tamanho da fila devem crescer com lambda")
+        void testQueueLengthPercentiles() {
+            Map<Double, SimulationResult> results =
+                    constantSimulation.runAllSimulations();
+
+            assertTrue(results.get(0.99).getQueueLengthPercentile(99)
+                    > results.get(0.5).getQueueLengthPercentile(99));
+        }
+
+        @Test
+        @DisplayName("Resultado sem histograma deve retornar NaN")
+        void testResultWithoutHistogram() {
+            SimulationResult result = new SimulationResult(5.0, 4.0);
+
+            assertFalse(result.hasPercentiles());
+            assertTrue(Double.isNaN(result.getTimeInSystemPercentile(99)));
+        }
+    }
+
     @Nested
     @DisplayName("Edge Cases and Robustness")
     class EdgeCaseTests {
@@ -272,7 +396,11 @@ public class QueueSimulationTest {
         @Test
         @DisplayName("Deve lidar com lambda próximo de 1")
         void testLambdaNearOne() {
-            double avgTime = exponentialSimulation.simulateSingleQueue(0.999);
+            // Uma única replicação com lambda ~1 varia muito; a média de várias é estável
+            double avgTime = 0.0;
+            for (int i = 0; i < 20; i++) {
+                avgTime += exponentialSimulation.simulateSingleQueue(0.999) / 20;
+            }
 
             assertTrue(avgTime > 0);
             // Lambda muito alto = sistema quase instável
@@ -0,0 +1,176 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Queue Snapshot Tests")
+public class QueueSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static void assertSameState(QueueState expected, QueueState actual) {
+        assertEquals(expected.getCurrentTime(), actual.getCurrentTime());
+        assertEquals(expected.getEventsProcessed(), actual.getEventsProcessed());
+        assertEquals(expected.getCustomersInQueue(), actual.getCustomersInQueue());
+        assertEquals(expected.getCustomersCompleted(), actual.getCustomersCompleted());
+        assertEquals(expected.getLastTimeInSystem(), actual.getLastTimeInSystem());
+        assertEquals(expected.getMeasuredAverageTimeInSystem(), actual.getMeasuredAverageTimeInSystem());
+        assertEquals(expected.getAverageTimeInSystem(), actual.getAverageTimeInSystem());
+    }
+
+    @Test
+    @DisplayName("LxmRandom deve reproduzir o L64X128MixRandom do JDK")
+    void testLxmMatchesJdk() {
+        for (long seed : new long[]{0L, 1L, 42L, -7L, Long.MAX_VALUE}) {
+            RandomGenerator jdk = RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(seed);
+            LxmRandom lxm = new LxmRandom(seed);
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(jdk.nextLong(), lxm.nextLong());
+                assertEquals(jdk.nextDouble(), lxm.nextDouble());
+                assertEquals(jdk.nextGaussian(), lxm.nextGaussian());
+                assertEquals(jdk.nextInt(10), lxm.nextInt(10));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Execução retomável deve coincidir com a replicação comum de mesma semente")
+    void testMatchesPlainReplication() {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        QueueState expected = simulation.runSingleQueue(0.9, 5000.0,
+                RandomGeneratorFactory.of(QueueSimulation.STREAM_ALGORITHM).create(17L));
+
+        QueueRun run = simulation.startSingleQueue(0.9, 17L);
+        for (double time = 250.0; time <= 5000.0; time += 250.0) {
+            run.runUntil(time);
+        }
+        assertSameState(expected, run.getState());
+    }
+
+    @Nested
+    @DisplayName("Snapshot e restauração")
+    class SnapshotRestore {
+
+        private void assertResumesExactly(QueueSimulation simulation) {
+            QueueState straight = simulation.startSingleQueue(0.8, 5L).runUntil(4000.0).getState();
+
+            QueueRun paused = simulation.startSingleQueue(0.8, 5L).runUntil(1234.5);
+            byte[] bytes = paused.snapshot().toByteArray();
+            QueueRun restored = simulation.restoreSingleQueue(QueueSnapshot.fromByteArray(bytes), 0.8);
+
+            assertSameState(paused.getState(), restored.getState());
+            assertSameState(straight, restored.runUntil(4000.0).getState());
+            // O snapshot não altera a execução original
+            assertSameState(straight, paused.runUntil(4000.0).getState());
+        }
+
+        @Test
+        @DisplayName("Deve continuar exatamente do ponto salvo (exponencial)")
+        void testExponential() {
+            assertResumesExactly(new QueueSimulation(false, 42L));
+        }
+
+        @Test
+        @DisplayName("Deve continuar exatamente do ponto salvo (constante)")
+        void testConstant() {
+            assertResumesExactly(new QueueSimulation(true, 42L));
+        }
+
+        @Test
+        @DisplayName("Deve continuar exatamente com sorteios diretos do gerador (hiperexponencial)")
+        void testHyperexponential() {
+            Distribution services = new HyperexponentialDistribution(new double[]{0.9, 0.1}, new double[]{2.0, 0.2});
+            assertResumesExactly(new QueueSimulation(new ExponentialDistribution(1.0), services.withMean(1.0), 42L));
+        }
+
+        @Test
+        @DisplayName("Deve ser salvo e lido de arquivo com tamanho compacto")
+        void testFileRoundTrip() throws IOException {
+            QueueSimulation simulation = new QueueSimulation(false, 42L);
+            QueueRun run = simulation.startSingleQueue(0.9, 3L).runUntil(10000.0);
+            QueueSnapshot snapshot = run.snapshot();
+
+            // Estado fixo pequeno mais 8 bytes por cliente no sistema
+            assertTrue(snapshot.size() <= 200 + 8 * run.getState().getCustomersInQueue());
+
+            Path file = directory.resolve("warm.snapshot");
+            snapshot.write(file);
+            QueueRun restored = simulation.restoreSingleQueue(QueueSnapshot.read(file), 0.9);
+            assertSameState(run.runUntil(20000.0).getState(), restored.runUntil(20000.0).getState());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fork")
+    class Forks {
+
+        @Test
+        @DisplayName("Fork deve continuar de forma idêntica e independente")
+        void testIdenticalFork() {
+            QueueRun warm = new QueueSimulation(false, 42L).startSingleQueue(0.9, 8L).runUntil(2000.0);
+            QueueRun copy = warm.fork();
+
+            copy.runUntil(3000.0);
+            assertEquals(2000.0, warm.getState().getCurrentTime(), 10.0);
+            assertSameState(copy.getState(), warm.runUntil(3000.0).getState());
+        }
+
+        @Test
+        @DisplayName("Forks com novas sementes devem divergir a partir do mesmo estado aquecido")
+        void testSeededForks() {
+            QueueRun warm = new QueueSimulation(false, 42L).startSingleQueue(0.9, 8L).runUntil(2000.0);
+            long events = warm.getState().getEventsProcessed();
+
+            double[] averages = new double[4];
+            for (int i = 0; i < averages.length; i++) {
+                QueueRun branch = warm.fork(100L + i);
+                assertEquals(events, branch.getState().getEventsProcessed());
+                averages[i] = branch.runUntil(4000.0).getState().getAverageTimeInSystem();
+            }
+            assertEquals(averages.length, Arrays.stream(averages).distinct().count());
+            assertEquals(events, warm.getState().getEventsProcessed());
+        }
+
+        @Test
+        @DisplayName("Cenário what-if deve continuar com outros parâmetros")
+        void testWhatIf() {
+            QueueRun warm = new QueueSimulation(false, 42L).startSingleQueue(0.9, 8L).runUntil(5000.0);
+            QueueSnapshot snapshot = warm.snapshot();
+
+            QueueState constant = new QueueSimulation(true, 42L).restoreSingleQueue(snapshot, 0.5)
+                    .runUntil(50000.0).getState();
+            QueueState exponential = new QueueSimulation(false, 42L).restoreSingleQueue(snapshot, 0.9)
+                    .runUntil(50000.0).getState();
+
+            assertTrue(constant.getCustomersCompleted() > warm.getState().getCustomersCompleted());
+            assertTrue(constant.getMeasuredAverageTimeInSystem() < exponential.getMeasuredAverageTimeInSystem());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshots inválidos e filas multi-servidor devem ser rejeitados")
+    void testRejectsInvalidSnapshots() {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        byte[] bytes = simulation.startSingleQueue(0.5, 1L).runUntil(100.0).snapshot().toByteArray();
+
+        byte[] corrupt = bytes.clone();
+        corrupt[0] ^= 1;
+        assertThrows(IllegalArgumentException.class, () -> QueueSnapshot.fromByteArray(corrupt));
+        QueueSnapshot truncated = QueueSnapshot.fromByteArray(Arrays.copyOf(bytes, bytes.length - 4));
+        assertThrows(IllegalArgumentException.class, () -> simulation.restoreSingleQueue(truncated, 0.5));
+
+        QueueSimulation multiServer = new QueueSimulation(false, 42L, 2, 1.0);
+        assertThrows(IllegalStateException.class, () -> multiServer.startSingleQueue(0.5, 1L));
+    }
+}
@@ -156,6 +156,39 @@ public class QueueTest {
         assertEquals(3.0, avgTime, 0.001);
     }
 
+    @Test
+    @DisplayName("Tempo no sistema deve ser medido por cliente na saída")
+    void testMeasuredTimeInSystem() {
+        Queue queue = new Queue(0.5, true, new Random());
+
+        queue.processArrival(); // chega em t=0
+        queue.updateStatistics(2.0);
+        queue.processArrival(); // chega em t=2
+        queue.updateStatistics(5.0);
+        queue.processDeparture(); // primeiro sai em t=5 (5s)
+        queue.updateStatistics(6.0);
+        queue.processDeparture(); // segundo sai em t=6 (4s)
+
+        assertEquals(2, queue.getCustomersCompleted());
+        assertEquals(4.5, queue.getMeasuredAverageTimeInSystem(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Saída com fila vazia deve lançar exceção")
+    void testDepartureFromEmptyQueue() {
+        assertThrows(IllegalStateException.class, queueConstant::processDeparture);
+    }
+
+    @Test
+    @DisplayName("Medição direta deve concordar com a Lei de Little")
+    void testMeasuredAgreesWithLittle() {
+        QueueSimulation simulation = new QueueSimulation(false, 4242L);
+        QueueState queue = simulation.runSingleQueue(0.8, 200000.0, new Random(4242));
+
+        assertEquals(queue.getAverageTimeInSystem(), queue.getMeasuredAverageTimeInSystem(),
+                0.05 * queue.getAverageTimeInSystem());
+    }
+
     @Test
     @DisplayName("Diferentes lambdas devem gerar tempos entre chegadas diferentes")
     void testDifferentLambdas() {
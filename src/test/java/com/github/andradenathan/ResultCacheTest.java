@@ -0,0 +1,203 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Result Cache Tests")
+public class ResultCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static void assertSameResult(SimulationResult expected, SimulationResult actual) {
+        assertEquals(expected.getSimulation(), actual.getSimulation());
+        assertEquals(expected.getTheoretical(), actual.getTheoretical());
+        assertEquals(expected.getStandardDeviation(), actual.getStandardDeviation());
+        assertEquals(expected.getHalfWidth(), actual.getHalfWidth());
+        assertEquals(expected.getReplications(), actual.getReplications());
+        for (double percentile : new double[]{50.0, 99.0, 99.9}) {
+            assertEquals(expected.getTimeInSystemPercentile(percentile), actual.getTimeInSystemPercentile(percentile));
+            assertEquals(expected.getQueueLengthPercentile(percentile), actual.getQueueLengthPercentile(percentile));
+        }
+    }
+
+    @Test
+    @DisplayName("Chamadas repetidas devem reutilizar o resultado em memória")
+    void testMemoryHits() {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        ResultCache cache = new ResultCache(16);
+
+        SimulationResult first = simulation.getResult(cache, 0.8, 1000.0, 10);
+        SimulationResult second = new QueueSimulation(false, 42L).getResult(cache, 0.8, 1000.0, 10);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getComputations());
+        assertEquals(1, cache.getMemoryHits());
+        assertSameResult(simulation.runScenario(0.8, 1000.0, 10), first);
+    }
+
+    @Test
+    @DisplayName("Chave deve depender de toda a definição do cenário")
+    void testScenarioKey() {
+        ScenarioKey key = new QueueSimulation(false, 42L).scenarioKey(0.9, 100.0, 10);
+
+        assertNotEquals(key, new QueueSimulation(false, 42L, CalendarEventList::new).scenarioKey(0.9, 100.0, 10));
+        assertEquals(new QueueSimulation(false, 42L, CalendarEventList::new).scenarioKey(0.9, 100.0, 10),
+                new QueueSimulation(false, 42L, DaryHeapEventList::new).scenarioKey(0.9, 100.0, 10));
+        // Com vários servidores a lista de eventos não é usada
+        assertEquals(new QueueSimulation(false, 42L, 2, 1.0, CalendarEventList::new).scenarioKey(0.9, 100.0, 10),
+                new QueueSimulation(false, 42L, 2, 1.0).scenarioKey(0.9, 100.0, 10));
+        assertNotEquals(key, new QueueSimulation(false, 43L).scenarioKey(0.9, 100.0, 10));
+        assertNotEquals(key, new QueueSimulation(true, 42L).scenarioKey(0.9, 100.0, 10));
+        assertNotEquals(key, new QueueSimulation(false, 42L, 1, 1.0000001).scenarioKey(0.9, 100.0, 10));
+        assertNotEquals(key, new QueueSimulation(false, 42L).scenarioKey(0.9, 100.0, 11));
+        assertNotEquals(key, new QueueSimulation(false, 42L).scenarioKey(0.9, 101.0, 10));
+        assertNotEquals(key, new QueueSimulation(false, 42L).scenarioKey(0.91, 100.0, 10));
+        assertEquals(64, key.toHex().length());
+    }
+
+    @Test
+    @DisplayName("Regras de desempate diferentes devem dar chaves diferentes com distribuições em reticulado")
+    void testTieRuleInKey() {
+        // Com lambda = 0.5 os tempos ficam em múltiplos de 0.5 e chegadas e saídas empatam
+        Distribution arrivals = new EmpiricalDistribution(new double[]{1.0, 3.0});
+        Distribution services = new EmpiricalDistribution(new double[]{0.5, 1.5});
+        QueueSimulation departureFirst = new QueueSimulation(arrivals, services, 42L, 1, TwoSlotEventList::new);
+        QueueSimulation sequence = new QueueSimulation(arrivals, services, 42L, 1, CalendarEventList::new);
+
+        assertNotEquals(departureFirst.runScenario(0.5, 200.0, 5).getSimulation(),
+                sequence.runScenario(0.5, 200.0, 5).getSimulation());
+        assertNotEquals(departureFirst.scenarioKey(0.5, 200.0, 5), sequence.scenarioKey(0.5, 200.0, 5));
+    }
+
+    @Test
+    @DisplayName("Memória deve descartar o resultado usado há mais tempo")
+    void testLeastRecentlyUsedEviction() {
+        ResultCache cache = new ResultCache(2);
+        SimulationResult result = new SimulationResult(1.0, 1.0);
+        ScenarioKey a = new ScenarioKey("a");
+        ScenarioKey b = new ScenarioKey("b");
+        ScenarioKey c = new ScenarioKey("c");
+
+        cache.get(a, () -> result);
+        cache.get(b, () -> result);
+        cache.get(a, () -> result);
+        cache.get(c, () -> result);
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.getComputations());
+
+        cache.get(a, () -> result);
+        assertEquals(3, cache.getComputations());
+        cache.get(b, () -> result);
+        assertEquals(4, cache.getComputations());
+    }
+
+    @Test
+    @DisplayName("Camada em disco deve sobreviver a uma nova instância e ignorar arquivos corrompidos")
+    void testDiskTier() throws IOException {
+        QueueSimulation simulation = new QueueSimulation(true, 7L);
+        Map<Double, SimulationResult> computed = simulation.getResults(new ResultCache(8, directory));
+
+        ResultCache restarted = new ResultCache(8, directory);
+        Map<Double, SimulationResult> loaded = simulation.getResults(restarted);
+        assertEquals(0, restarted.getComputations());
+        assertEquals(QueueSimulation.LAMBDAS.length, restarted.getDiskHits());
+        for (double lambda : QueueSimulation.LAMBDAS) {
+            assertSameResult(computed.get(lambda), loaded.get(lambda));
+        }
+
+        Path file = directory.resolve(simulation.scenarioKey(0.5, QueueSimulation.SIMULATION_TIME,
+                QueueSimulation.QUEUE_QUANTITY).toHex() + ".result");
+        Files.write(file, new byte[]{1, 2, 3});
+        ResultCache corrupted = new ResultCache(8, directory);
+        assertSameResult(computed.get(0.5), simulation.getResults(corrupted).get(0.5));
+        assertEquals(1, corrupted.getComputations());
+        assertTrue(Files.size(file) > 3);
+    }
+
+    @Test
+    @DisplayName("Chamadas concorrentes para a mesma chave devem compartilhar uma computação")
+    void testConcurrentCallersShareComputation() throws Exception {
+        int threads = 8;
+        ResultCache cache = new ResultCache(4);
+        ScenarioKey key = new ScenarioKey("slow");
+        AtomicInteger runs = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationResult>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(key, () -> {
+                        runs.incrementAndGet();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new SimulationResult(2.0, 2.0);
+                    });
+                }));
+            }
+            SimulationResult first = futures.get(0).get();
+            for (Future<SimulationResult> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, runs.get());
+        assertEquals(1, cache.getComputations());
+        assertEquals(threads - 1, cache.getSharedWaits() + cache.getMemoryHits());
+    }
+
+    @Test
+    @DisplayName("Falhas não devem ser guardadas no cache")
+    void testFailuresAreNotCached() {
+        ResultCache cache = new ResultCache(4);
+        ScenarioKey key = new ScenarioKey("failing");
+
+        assertThrows(IllegalStateException.class, () -> cache.get(key, () -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals(3.0, cache.get(key, () -> new SimulationResult(3.0, 3.0)).getSimulation());
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(0));
+    }
+
+    @Test
+    @DisplayName("Falha ao gravar em disco não deve descartar o resultado calculado")
+    void testUnwritableDirectory() throws IOException {
+        // Um arquivo no lugar do diretório falha mesmo para root, ao contrário de permissões
+        Path blocked = Files.writeString(directory.resolve("blocked"), "not a directory");
+        ResultCache cache = new ResultCache(4, blocked);
+        ScenarioKey key = new ScenarioKey("unwritable");
+        AtomicInteger computations = new AtomicInteger();
+
+        SimulationResult first = cache.get(key, () -> new SimulationResult(computations.incrementAndGet(), 1.0));
+        SimulationResult second = cache.get(key, () -> new SimulationResult(computations.incrementAndGet(), 1.0));
+
+        assertEquals(1.0, first.getSimulation());
+        assertSame(first, second);
+        assertEquals(1, computations.get());
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(1, cache.getDiskWriteFailures());
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sequential Simulation Tests")
+public class SequentialSimulationTest {
+
+    @Test
+    @DisplayName("Deve parar quando a precisão alvo for atingida")
+    void testStopsWhenPrecisionReached() {
+        SequentialSimulation sequential =
+                new SequentialSimulation(new QueueSimulation(false, 12345L), ForkJoinPool.commonPool());
+        PrecisionTarget target = new PrecisionTarget(0.02, 0.95, 10, 1000, 8,
+                Duration.ofMinutes(1), 1000.0);
+
+        SequentialResult result = sequential.run(0.5, target);
+
+        assertTrue(result.isTargetReached());
+        assertTrue(result.getReplications() >= 10);
+        assertTrue(result.getResult().getRelativeHalfWidth() <= 0.02);
+        assertTrue(result.getEventsProcessed() > 0);
+        assertEquals(2.0, result.getResult().getSimulation(), 0.1);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o orçamento de replicações")
+    void testReplicationBudget() {
+        SequentialSimulation sequential =
+                new SequentialSimulation(new QueueSimulation(false, 12345L), ForkJoinPool.commonPool());
+        PrecisionTarget target = new PrecisionTarget(1e-6, 0.95, 10, 20, 8,
+                Duration.ofMinutes(1), 500.0);
+
+        SequentialResult result = sequential.run(0.9, target);
+
+        assertEquals(SequentialResult.StopReason.REPLICATION_BUDGET, result.getStopReason());
+        assertEquals(20, result.getReplications());
+    }
+
+    @Test
+    @DisplayName("Lambda alto deve exigir mais replicações que lambda baixo")
+    void testHeavyLoadNeedsMoreWork() {
+        SequentialSimulation sequential =
+                new SequentialSimulation(new QueueSimulation(false, 12345L), ForkJoinPool.commonPool());
+        Map<Double, PrecisionTarget> targets = new LinkedHashMap<>();
+        targets.put(0.5, new PrecisionTarget(0.05, 0.95, 10, 2000, 8, Duration.ofMinutes(1), 1000.0));
+        targets.put(0.9, new PrecisionTarget(0.05, 0.95, 10, 2000, 8, Duration.ofMinutes(1), 1000.0));
+
+        Map<Double, SequentialResult> results = sequential.runAll(targets);
+
+        assertTrue(results.get(0.5).isTargetReached());
+        assertTrue(results.get(0.9).isTargetReached());
+        assertTrue(results.get(0.9).getReplications() > results.get(0.5).getReplications());
+    }
+
+    @Test
+    @DisplayName("Resultado deve independer do número de threads")
+    void testIndependentOfThreadCount() {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        PrecisionTarget target = new PrecisionTarget(0.03, 0.95, 10, 500, 8,
+                Duration.ofMinutes(1), 1000.0);
+
+        try {
+            SequentialResult sequential =
+                    new SequentialSimulation(new QueueSimulation(true, 7L), single).run(0.8, target);
+            SequentialResult parallel =
+                    new SequentialSimulation(new QueueSimulation(true, 7L), pool).run(0.8, target);
+
+            assertEquals(sequential.getReplications(), parallel.getReplications());
+            assertEquals(sequential.getResult().getSimulation(), parallel.getResult().getSimulation());
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar alvos inválidos")
+    void testInvalidTarget() {
+        assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(0.0, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(0.01, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(Double.NaN, 0.95));
+        assertThrows(IllegalArgumentException.class, () -> new PrecisionTarget(0.01, Double.NaN));
+        assertThrows(NullPointerException.class,
+                () -> new PrecisionTarget(0.01, 0.95, 10, 100, 8, null, 1000.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(0.01, 0.95, 10, 100, 8, Duration.ZERO, 1000.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(0.01, 0.95, 10, 100, 8, Duration.ofSeconds(-1), 1000.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(0.01, 0.95, 10, 100, 8, Duration.ofMinutes(1), 0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PrecisionTarget(0.01, 0.95, 10, 100, 8, Duration.ofMinutes(1), Double.NaN));
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatisticsAccumulator Tests")
+public class StatisticsAccumulatorTest {
+
+    @Test
+    @DisplayName("Deve calcular média, variância, mínimo e máximo")
+    void testBasicStatistics() {
+        StatisticsAccumulator stats = new StatisticsAccumulator();
+        for (double value : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            stats.add(value);
+        }
+
+        assertEquals(8, stats.getCount());
+        assertEquals(5.0, stats.getMean(), 1e-12);
+        assertEquals(32.0 / 7.0, stats.getVariance(), 1e-12);
+        assertEquals(2.0, stats.getMin());
+        assertEquals(9.0, stats.getMax());
+    }
+
+    @Test
+    @DisplayName("Acumulador vazio deve retornar NaN")
+    void testEmptyAccumulator() {
+        StatisticsAccumulator stats = new StatisticsAccumulator();
+
+        assertEquals(0, stats.getCount());
+        assertTrue(Double.isNaN(stats.getMean()));
+        assertTrue(Double.isNaN(stats.getVariance()));
+        assertTrue(Double.isNaN(stats.getConfidenceHalfWidth(0.95)));
+    }
+
+    @Test
+    @DisplayName("Merge de partes deve igualar o acumulador completo")
+    void testMergeMatchesSequential() {
+        Random random = new Random(2024);
+        StatisticsAccumulator full = new StatisticsAccumulator();
+        StatisticsAccumulator[] shards = new StatisticsAccumulator[4];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new StatisticsAccumulator();
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            double value = random.nextGaussian() * 3 + 10;
+            full.add(value);
+            shards[i % shards.length].add(value);
+        }
+
+        StatisticsAccumulator merged = new StatisticsAccumulator();
+        for (StatisticsAccumulator shard : shards) {
+            merged.merge(shard);
+        }
+
+        assertEquals(full.getCount(), merged.getCount());
+        assertEquals(full.getMean(), merged.getMean(), 1e-10);
+        assertEquals(full.getVariance(), merged.getVariance(), 1e-9);
+        assertEquals(full.getMin(), merged.getMin());
+        assertEquals(full.getMax(), merged.getMax());
+    }
+
+    @Test
+    @DisplayName("Merge com acumulador vazio não deve alterar resultado")
+    void testMergeWithEmpty() {
+        StatisticsAccumulator stats = new StatisticsAccumulator();
+        stats.add(1.0);
+        stats.add(3.0);
+
+        stats.merge(new StatisticsAccumulator());
+
+        assertEquals(2, stats.getCount());
+        assertEquals(2.0, stats.getMean(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Intervalo de confiança deve usar quantil t de Student")
+    void testConfidenceHalfWidth() {
+        StatisticsAccumulator stats = new StatisticsAccumulator();
+        for (double value : new double[]{1, 2, 3, 4, 5}) {
+            stats.add(value);
+        }
+
+        // t(0.975, 4) = 2.776445, sd = sqrt(2.5), n = 5
+        double expected = 2.776445 * Math.sqrt(2.5 / 5);
+        assertEquals(expected, stats.getConfidenceHalfWidth(0.95), 1e-5);
+    }
+
+    @Nested
+    @DisplayName("StudentT Tests")
+    class StudentTTests {
+
+        @Test
+        @DisplayName("Quantis devem coincidir com valores tabelados")
+        void testKnownQuantiles() {
+            assertEquals(12.7062, StudentT.quantile(0.975, 1), 1e-4);
+            assertEquals(2.2281, StudentT.quantile(0.975, 10), 1e-4);
+            assertEquals(1.9842, StudentT.quantile(0.975, 99), 1e-4);
+            assertEquals(2.6259, StudentT.quantile(0.995, 100), 1e-4);
+            assertEquals(-2.2281, StudentT.quantile(0.025, 10), 1e-4);
+        }
+
+        @Test
+        @DisplayName("CDF deve ser simétrica em torno de zero")
+        void testCdfSymmetry() {
+            assertEquals(0.5, StudentT.cdf(0.0, 7), 1e-12);
+            assertEquals(1.0, StudentT.cdf(1.3, 7) + StudentT.cdf(-1.3, 7), 1e-12);
+        }
+
+        @Test
+        @DisplayName("Deve rejeitar probabilidades fora de (0, 1)")
+        void testInvalidProbability() {
+            assertThrows(IllegalArgumentException.class, () -> StudentT.quantile(1.0, 5));
+            assertThrows(IllegalArgumentException.class, () -> StudentT.quantile(0.0, 5));
+        }
+    }
+}
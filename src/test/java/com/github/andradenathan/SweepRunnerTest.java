@@ -0,0 +1,217 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sweep Runner Tests")
+public class SweepRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    // 16 pontos x 3 chunks = 48 unidades
+    private static SweepRunner runner(long seed) {
+        SweepGrid grid = new SweepGrid(new double[]{0.5, 0.8}, new double[]{1.0, 2.0}, new int[]{1, 2});
+        return new SweepRunner(grid, 6, 2, 200.0, seed);
+    }
+
+    private static void assertSameResults(SweepResult expected, SweepResult actual) {
+        assertTrue(expected.isComplete());
+        assertTrue(actual.isComplete());
+        for (int point = 0; point < expected.getGrid().size(); point++) {
+            StatisticsAccumulator a = expected.getStatistics(point);
+            StatisticsAccumulator b = actual.getStatistics(point);
+            assertEquals(a.getCount(), b.getCount(), "point " + point);
+            assertEquals(a.getMean(), b.getMean(), "point " + point);
+            assertEquals(a.getVariance(), b.getVariance(), "point " + point);
+            assertEquals(a.getMin(), b.getMin(), "point " + point);
+            assertEquals(a.getMax(), b.getMax(), "point " + point);
+        }
+    }
+
+    @Test
+    @DisplayName("Varredura interrompida e retomada deve reproduzir a execução sem interrupção")
+    void testResumeMatchesUninterruptedRun() throws IOException {
+        SweepResult uninterrupted = runner(42L).run(directory.resolve("full"), ForkJoinPool.commonPool());
+        assertEquals(48, uninterrupted.getComputedUnits());
+
+        // Simula a morte do processo depois de 20 unidades
+        AtomicInteger submitted = new AtomicInteger();
+        Executor dying = task -> {
+            if (submitted.getAndIncrement() >= 20) {
+                throw new RejectedExecutionException("killed");
+            }
+            task.run();
+        };
+        Path resumed = directory.resolve("resumed");
+        assertThrows(RejectedExecutionException.class, () -> runner(42L).run(resumed, dying));
+
+        SweepResult result = runner(42L).run(resumed, Runnable::run);
+        assertEquals(28, result.getComputedUnits());
+        assertEquals(20, result.getRestoredUnits());
+        assertSameResults(uninterrupted, result);
+
+        // Uma terceira execução não recalcula nada
+        assertEquals(0, runner(42L).run(resumed, Runnable::run).getComputedUnits());
+    }
+
+    @Test
+    @DisplayName("Rejeição no meio da submissão deve preservar as unidades ainda em execução")
+    void testRejectionKeepsRunningUnits() {
+        // As unidades aceitas ainda estão rodando quando a vigésima primeira é rejeitada
+        AtomicInteger submitted = new AtomicInteger();
+        Executor dying = task -> {
+            if (submitted.getAndIncrement() >= 20) {
+                throw new RejectedExecutionException("killed");
+            }
+            new Thread(() -> {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                task.run();
+            }).start();
+        };
+        assertThrows(RejectedExecutionException.class, () -> runner(42L).run(directory, dying));
+
+        SweepResult result = assertDoesNotThrow(() -> runner(42L).run(directory, Runnable::run));
+        assertEquals(20, result.getRestoredUnits());
+        assertEquals(28, result.getComputedUnits());
+    }
+
+    @Test
+    @DisplayName("Shards independentes devem cobrir a grade e combinar no mesmo resultado")
+    void testShardsMergeToSameResult() throws IOException {
+        SweepResult single = runner(7L).run(directory.resolve("single"), Runnable::run);
+
+        Path sharded = directory.resolve("sharded");
+        SweepResult first = runner(7L).run(sharded, Runnable::run, 0, 3);
+        assertFalse(first.isComplete());
+        assertEquals(16, first.getComputedUnits());
+        runner(7L).run(sharded, Runnable::run, 1, 3);
+        runner(7L).run(sharded, Runnable::run, 2, 3);
+
+        assertSameResults(single, runner(7L).collect(sharded));
+    }
+
+    @Test
+    @DisplayName("Registro truncado no fim do checkpoint deve ser descartado")
+    void testIgnoresTornRecord() throws IOException {
+        Path checkpoint = directory.resolve("torn");
+        SweepResult complete = runner(3L).run(checkpoint, Runnable::run);
+
+        Path file = checkpoint.resolve("shard-0" + SweepCheckpoint.SUFFIX);
+        long size = Files.size(file);
+        Files.write(file, new byte[SweepCheckpoint.RECORD_BYTES / 2], StandardOpenOption.APPEND);
+
+        SweepResult resumed = runner(3L).run(checkpoint, Runnable::run);
+        assertEquals(0, resumed.getComputedUnits());
+        assertEquals(size, Files.size(file));
+        assertSameResults(complete, resumed);
+    }
+
+    @Test
+    @DisplayName("Checkpoint de outra varredura deve ser rejeitado")
+    void testRejectsOtherSweep() throws IOException {
+        Path checkpoint = directory.resolve("other");
+        runner(1L).run(checkpoint, Runnable::run, 0, 4);
+        assertThrows(IOException.class, () -> runner(2L).run(checkpoint, Runnable::run));
+    }
+
+    @Test
+    @DisplayName("Formas com os mesmos dois momentos e o mesmo nome devem dar varreduras diferentes")
+    void testRejectsSameMomentShape() throws IOException {
+        // Média 2 e variância 1 nas duas
+        Distribution twoPoint = new EmpiricalDistribution(new double[]{1.0, 3.0});
+        Distribution threePoint = new EmpiricalDistribution(new double[]{0.0, 2.0, 4.0},
+                new double[]{0.125, 0.75, 0.125});
+        assertEquals(twoPoint.getMean(), threePoint.getMean(), 1e-12);
+        assertEquals(twoPoint.getSecondMoment(), threePoint.getSecondMoment(), 1e-12);
+
+        double[] lambdas = {0.5};
+        double[] serviceRates = {1.0};
+        int[] servers = {1};
+        SweepGrid first = new SweepGrid(lambdas, serviceRates, servers, Map.of("empirical", twoPoint));
+        SweepGrid second = new SweepGrid(lambdas, serviceRates, servers, Map.of("empirical", threePoint));
+        assertNotEquals(first.fingerprint(), second.fingerprint());
+
+        Path checkpoint = directory.resolve("shape");
+        new SweepRunner(first, 4, 2, 100.0, 1L).run(checkpoint, Runnable::run);
+        assertThrows(IOException.class, () -> new SweepRunner(second, 4, 2, 100.0, 1L).run(checkpoint, Runnable::run));
+    }
+
+    @Test
+    @DisplayName("Resultados devem concordar com a teoria e ser exportados em CSV")
+    void testResultsAndCsv() throws IOException {
+        SweepGrid grid = new SweepGrid(new double[]{0.5}, new double[]{1.0, 4.0}, new int[]{1, 3});
+        SweepResult result = new SweepRunner(grid, 40, 8, 2000.0, 11L)
+                .run(directory.resolve("theory"), ForkJoinPool.commonPool());
+
+        for (int point = 0; point < grid.size(); point++) {
+            SimulationResult simulation = result.getResult(point);
+            assertEquals(40, simulation.getReplications());
+            if (Double.isNaN(simulation.getTheoretical())) {
+                // M/D/c sem forma fechada
+                continue;
+            }
+            assertEquals(simulation.getTheoretical(), simulation.getSimulation(),
+                    Math.max(4 * simulation.getHalfWidth(), 0.02 * simulation.getTheoretical()),
+                    grid.getPoint(point).toString());
+        }
+
+        Path csv = directory.resolve("sweep.csv");
+        result.writeCsv(csv);
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(grid.size() + 1, lines.size());
+        assertEquals("0.5,4.0,3,constant", lines.get(lines.size() - 1).substring(0, 18));
+    }
+
+    @Test
+    @DisplayName("Workers em JVMs separadas devem completar a varredura")
+    void testWorkerProcesses() throws IOException, InterruptedException {
+        Path checkpoint = directory.resolve("workers");
+        SweepRunner.runWorkers(Worker.class, 2, List.of(checkpoint.toString()));
+
+        SweepResult collected = runner(5L).collect(checkpoint);
+        assertTrue(Files.exists(checkpoint.resolve("shard-1" + SweepCheckpoint.SUFFIX)));
+        assertSameResults(runner(5L).run(directory.resolve("local"), Runnable::run), collected);
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testRejectsInvalidParameters() {
+        SweepGrid grid = new SweepGrid(new double[]{0.5}, new double[]{1.0}, new int[]{1});
+        assertThrows(IllegalArgumentException.class, () -> new SweepGrid(new double[0], new double[]{1.0},
+                new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> new SweepGrid(new double[]{0.5}, new double[]{1.0},
+                new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> new SweepRunner(grid, 1, 1, 10.0, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new SweepRunner(grid, 10, 0, 10.0, 0L));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SweepRunner(grid, 10, 2, 10.0, 0L).run(directory, Runnable::run, 2, 2));
+    }
+
+    public static final class Worker {
+        public static void main(String[] args) throws IOException {
+            int shard = Integer.parseInt(args[1]);
+            int shards = Integer.parseInt(args[2]);
+            runner(5L).run(Path.of(args[0]), ForkJoinPool.commonPool(), shard, shards);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Trace Simulation Tests")
+public class TraceSimulationTest {
+
+    @TempDir
+    Path directory;
+
+    private Path writeTrace(String name, double[] arrivals, double[] services, int blockRecords)
+            throws IOException {
+        Path trace = directory.resolve(name);
+        try (TraceWriter writer = new TraceWriter(trace, blockRecords)) {
+            for (int i = 0; i < arrivals.length; i++) {
+                writer.append(arrivals[i], services[i]);
+            }
+        }
+        return trace;
+    }
+
+    private Path writePoissonTrace(String name, double arrivalRate, Distribution service, int customers)
+            throws IOException {
+        Path trace = directory.resolve(name);
+        ExponentialVariates variates = new ExponentialVariates(new SplittableRandom(31));
+        try (TraceWriter writer = new TraceWriter(trace)) {
+            double time = 0.0;
+            for (int i = 0; i < customers; i++) {
+                writer.append(time, service.sample(variates));
+                time += variates.next() / arrivalRate;
+            }
+        }
+        return trace;
+    }
+
+    @Nested
+    @DisplayName("Formato binário")
+    class Format {
+
+        @Test
+        @DisplayName("Leitura deve devolver todos os registros através de blocos e janelas")
+        void testRoundTrip() throws IOException {
+            int n = 1000;
+            double[] arrivals = new double[n];
+            double[] services = new double[n];
+            for (int i = 0; i < n; i++) {
+                arrivals[i] = i * 0.5;
+                services[i] = i % 13;
+            }
+            Path trace = writeTrace("round-trip.trace", arrivals, services, 7);
+
+            // Janela menor que um bloco força um novo mapeamento a cada bloco
+            for (long window : new long[]{1, 200, 1 << 20}) {
+                try (TraceReader reader = new TraceReader(trace, window)) {
+                    assertEquals(n, reader.getRecords());
+                    for (int i = 0; i < n; i++) {
+                        assertTrue(reader.next());
+                        assertEquals(i, reader.getPosition());
+                        assertEquals(arrivals[i], reader.getArrivalTime());
+                        assertEquals(services[i], reader.getServiceDemand());
+                    }
+                    assertFalse(reader.next());
+                    assertFalse(reader.next());
+                }
+            }
+            assertEquals(24 + n * 16L, Files.size(trace));
+        }
+
+        @Test
+        @DisplayName("Trace vazio deve ser válido")
+        void testEmptyTrace() throws IOException {
+            Path trace = writeTrace("empty.trace", new double[0], new double[0], 16);
+
+            try (TraceReader reader = new TraceReader(trace)) {
+                assertEquals(0, reader.getRecords());
+                assertFalse(reader.next());
+            }
+            assertEquals(0, new TraceSimulation().run(trace).getCustomers());
+        }
+
+        @Test
+        @DisplayName("Chegadas fora de ordem e arquivos inválidos devem ser rejeitados")
+        void testRejectsInvalidInput() throws IOException {
+            try (TraceWriter writer = new TraceWriter(directory.resolve("bad.trace"))) {
+                writer.append(2.0, 1.0);
+                assertThrows(IllegalArgumentException.class, () -> writer.append(1.0, 1.0));
+                assertThrows(IllegalArgumentException.class, () -> writer.append(3.0, -1.0));
+            }
+
+            Path garbage = directory.resolve("garbage.trace");
+            Files.write(garbage, new byte[64]);
+            assertThrows(IOException.class, () -> new TraceReader(garbage));
+
+            Path truncated = directory.resolve("truncated.trace");
+            Files.write(truncated, new byte[3]);
+            assertThrows(IOException.class, () -> new TraceReader(truncated));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conversão de CSV")
+    class Csv {
+
+        @Test
+        @DisplayName("Deve importar CSV com cabeçalho, comentários e colunas extras")
+        void testImport() throws IOException {
+            Path csv = directory.resolve("requests.csv");
+            Files.writeString(csv, """
+                    request_id,arrival,service,status
+                    # exportado do balanceador
+                    a1, 0.0, 1.5, 200
+
+                    a2, 0.5, 0.25, 200
+                    a3, 4.0, 2.0, 500
+                    """);
+            Path trace = directory.resolve("requests.trace");
+
+            assertEquals(3, TraceConverter.fromCsv(csv, trace, 1, 2));
+            try (TraceReader reader = new TraceReader(trace)) {
+                assertTrue(reader.next());
+                assertEquals(0.0, reader.getArrivalTime());
+                assertEquals(1.5, reader.getServiceDemand());
+                assertTrue(reader.next());
+                assertTrue(reader.next());
+                assertEquals(4.0, reader.getArrivalTime());
+                assertEquals(2.0, reader.getServiceDemand());
+                assertFalse(reader.next());
+            }
+        }
+
+        @Test
+        @DisplayName("Linha inválida deve indicar o número da linha")
+        void testReportsLine() throws IOException {
+            Path csv = directory.resolve("broken.csv");
+            Files.writeString(csv, "0.0,1.0\n1.0,abc\n");
+
+            IOException error = assertThrows(IOException.class,
+                    () -> TraceConverter.fromCsv(csv, directory.resolve("broken.trace")));
+            assertTrue(error.getMessage().contains(":2:"), error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Replay deve reproduzir tempos calculados à mão")
+    void testHandComputedReplay() throws IOException {
+        double[] arrivals = {0.0, 1.0, 1.5, 10.0};
+        double[] services = {3.0, 1.0, 2.0, 1.0};
+        Path trace = writeTrace("hand.trace", arrivals, services, 2);
+
+        // Um servidor: saídas em 3, 4, 6 e 11
+        TraceResult single = new TraceSimulation(1).run(trace);
+        assertEquals(4, single.getCustomers());
+        assertEquals((3.0 + 3.0 + 4.5 + 1.0) / 4, single.getMeanResponseTime(), 1e-12);
+        assertEquals((0.0 + 2.0 + 2.5 + 0.0) / 4, single.getMeanWaitingTime(), 1e-12);
+        assertEquals(7.0 / 11.0, single.getUtilisation(), 1e-12);
+
+        // Dois servidores: o terceiro cliente espera até t=2
+        TraceResult dual = new TraceSimulation(2).run(trace);
+        assertEquals((3.0 + 1.0 + 2.5 + 1.0) / 4, dual.getMeanResponseTime(), 1e-12);
+        assertEquals(0.5 / 4, dual.getMeanWaitingTime(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Trace de Poisson deve convergir para Pollaczek-Khinchine e Erlang-C")
+    void testPoissonTraceMatchesTheory() throws IOException {
+        Distribution erlang = new ErlangDistribution(2, 2.0);
+        Path mg1 = writePoissonTrace("mg1.trace", 0.8, erlang, 1_000_000);
+        TraceResult result = new TraceSimulation().run(mg1);
+
+        double theory = PollaczekKhinchine.meanResponseTime(0.8, erlang);
+        assertEquals(theory, result.getMeanResponseTime(), 0.05 * theory);
+        assertEquals(0.8, result.getArrivalRate(), 0.01);
+
+        Path mm4 = writePoissonTrace("mm4.trace", 3.2, new ExponentialDistribution(1.0), 1_000_000);
+        TraceResult multi = new TraceSimulation(4).run(mm4);
+        double erlangC = ErlangC.meanResponseTime(3.2, 1.0, 4);
+        assertEquals(erlangC, multi.getMeanResponseTime(), 0.05 * erlangC);
+        assertEquals(0.8, multi.getUtilisation(), 0.01);
+    }
+}
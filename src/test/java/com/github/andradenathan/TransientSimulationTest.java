@@ -0,0 +1,83 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Transient Simulation Tests")
+public class TransientSimulationTest {
+
+    @Test
+    @DisplayName("Kernels vetorial e escalar devem produzir a mesma curva")
+    void testVectorMatchesScalar() {
+        assumeTrue(TransientSimulation.isVectorApiAvailable());
+
+        for (boolean constant : new boolean[]{false, true}) {
+            // 1001 réplicas não é múltiplo da largura do vetor: as últimas lanes são preenchimento
+            TransientSimulation simulation = new TransientSimulation(constant, 42L, 1001);
+            TransientResult scalar = simulation.run(0.9, 100.0, 20, false);
+            TransientResult vector = simulation.run(0.9, 100.0, 20, true);
+
+            assertEquals(1001, vector.getReplications());
+            for (int k = 0; k < 20; k++) {
+                assertEquals(scalar.getMean(k), vector.getMean(k), 1e-12, "point " + k);
+                assertEquals(scalar.getStandardDeviation(k), vector.getStandardDeviation(k), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Curva deve convergir para o regime estacionário de M/M/1 e M/D/1")
+    void testConvergesToSteadyState() {
+        TransientResult mm1 = new TransientSimulation(false, 42L, 20000).run(0.5, 200.0, 4);
+        assertEquals(1.0, mm1.getSteadyState(), 1e-12);
+        assertEquals(1.0, mm1.getMean(3), 0.05);
+
+        TransientResult md1 = new TransientSimulation(true, 42L, 20000).run(0.5, 200.0, 4);
+        assertEquals(0.75, md1.getSteadyState(), 1e-12);
+        assertEquals(0.75, md1.getMean(3), 0.05);
+    }
+
+    @Test
+    @DisplayName("Antes do primeiro término de serviço em M/D/1, E[N(t)] = λt")
+    void testDeterministicServiceEarlyCurve() {
+        // Com serviço constante 1.0 nenhum cliente sai antes de t = 1
+        TransientResult result = new TransientSimulation(true, 7L, 50000).run(0.8, 0.9, 3);
+
+        for (int k = 0; k < 3; k++) {
+            double expected = 0.8 * result.getTime(k);
+            assertEquals(expected, result.getMean(k), 3 * result.getHalfWidth(k), "t = " + result.getTime(k));
+        }
+        assertEquals(0.9, result.getTime(2), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Mesma semente deve reproduzir a mesma curva e a fila instável deve crescer")
+    void testDeterminismAndUnstableQueue() {
+        TransientSimulation simulation = new TransientSimulation(false, 3L, 500);
+        TransientResult first = simulation.run(1.5, 50.0, 5);
+        TransientResult second = simulation.run(1.5, 50.0, 5);
+
+        for (int k = 0; k < 5; k++) {
+            assertEquals(first.getMean(k), second.getMean(k));
+            assertTrue(first.getHalfWidth(k) > 0);
+        }
+        assertTrue(Double.isNaN(first.getSteadyState()));
+        // Com ρ = 1.5 a fila cresce aproximadamente (λ - μ) t
+        assertEquals(25.0, first.getMean(4), 3.0);
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new TransientSimulation(false, 1L, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TransientSimulation(false, 1L, 10, 0.0));
+
+        TransientSimulation simulation = new TransientSimulation(false, 1L, 10);
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(0.0, 10.0, 5));
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(0.5, -1.0, 5));
+        assertThrows(IllegalArgumentException.class, () -> simulation.run(0.5, 10.0, 0));
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.andradenathan;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Variance Reduction Tests")
+public class VarianceReductionTest {
+
+    @Nested
+    @DisplayName("Estimador de variáveis de controle")
+    class ControlVariateEstimatorTests {
+
+        @Test
+        @DisplayName("Deve recuperar o coeficiente e descartar controle colinear")
+        void testRecoversCoefficient() {
+            SplittableRandom random = new SplittableRandom(7);
+            ControlVariateEstimator estimator = new ControlVariateEstimator(2);
+            for (int i = 0; i < 1000; i++) {
+                double control = random.nextDouble() - 0.5;
+                double noise = 0.01 * (random.nextDouble() - 0.5);
+                estimator.add(3.0 + 2.0 * control + noise, control, -4.0 * control);
+            }
+
+            ControlVariateEstimator.Fit fit = estimator.fit();
+            assertEquals(1, fit.getControlsUsed());
+            assertEquals(2.0, fit.getCoefficient(0), 1e-3);
+            assertEquals(0.0, fit.getCoefficient(1));
+            assertEquals(3.0, fit.getEstimate(), 1e-3);
+            assertEquals(998, fit.getDegreesOfFreedom());
+            assertTrue(fit.getCrudeVariance() / fit.getVariance() > 1000);
+        }
+
+        @Test
+        @DisplayName("Sem controles deve reproduzir a média amostral")
+        void testWithoutControls() {
+            ControlVariateEstimator estimator = new ControlVariateEstimator(0);
+            StatisticsAccumulator statistics = new StatisticsAccumulator();
+            SplittableRandom random = new SplittableRandom(3);
+            for (int i = 0; i < 50; i++) {
+                double value = random.nextDouble();
+                estimator.add(value);
+                statistics.add(value);
+            }
+
+            ControlVariateEstimator.Fit fit = estimator.fit();
+            assertEquals(statistics.getMean(), fit.getEstimate(), 1e-12);
+            assertEquals(statistics.getConfidenceHalfWidth(0.95), fit.getConfidenceHalfWidth(0.95), 1e-12);
+        }
+    }
+
+    @Test
+    @DisplayName("Fluxo antitético deve gerar o complemento dos uniformes")
+    void testAntitheticStream() {
+        RandomGenerator stream = new SplittableRandom(11);
+        RandomGenerator complement = new AntitheticRandom(new SplittableRandom(11));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1.0, stream.nextDouble() + complement.nextDouble(), 1e-15);
+        }
+    }
+
+    @Test
+    @DisplayName("Variáveis antitéticas e de controle devem reduzir a variância da M/M/1")
+    void testReducesVariance() {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+
+        for (double lambda : new double[]{0.5, 0.8}) {
+            VarianceReductionResult antithetic = new VarianceReduction(200, 2000.0, true, false)
+                    .estimate(simulation, lambda, new SplittableRandom(3), 0.95);
+            VarianceReductionResult controls = new VarianceReduction(200, 2000.0, false, true)
+                    .estimate(simulation, lambda, new SplittableRandom(3), 0.95);
+
+            assertTrue(antithetic.getVarianceReduction() > 1.1, "lambda " + lambda);
+            assertTrue(controls.getVarianceReduction() > 1.5, "lambda " + lambda);
+            assertEquals(2, controls.getControlsUsed());
+            assertEquals(100, antithetic.getResult().getReplications());
+
+            SimulationResult result = controls.getResult();
+            assertEquals(result.getTheoretical(), result.getSimulation(), 3 * result.getHalfWidth(),
+                    "lambda " + lambda);
+        }
+    }
+
+    @Test
+    @DisplayName("Números aleatórios comuns devem reduzir a variância da diferença entre cenários")
+    void testCommonRandomNumbers() {
+        QueueSimulation simulation = new QueueSimulation(false, 42L);
+        VarianceReductionResult difference = new VarianceReduction(200, 2000.0, false, false)
+                .compare(simulation, 0.5, simulation, 0.6, new SplittableRandom(3), 0.95);
+
+        assertTrue(difference.getVarianceReduction() > 1.5);
+        SimulationResult result = difference.getResult();
+        assertEquals(2.0 - 2.5, result.getTheoretical(), 1e-12);
+        assertEquals(result.getTheoretical(), result.getSimulation(), 3 * result.getHalfWidth());
+    }
+
+    @Test
+    @DisplayName("Parâmetros inválidos devem ser rejeitados")
+    void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new VarianceReduction(101, 100.0, true, false));
+        assertThrows(IllegalArgumentException.class, () -> new VarianceReduction(4, 100.0, false, true));
+        assertThrows(IllegalArgumentException.class, () -> new VarianceReduction(100, 0.0, false, false));
+        assertThrows(IllegalArgumentException.class, () -> new ControlVariateEstimator(1).add(1.0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.andradenathan;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// ScalarTransientKernel with one replication per SIMD lane. A block of lanes is loaded
+// from the state arrays and kept in registers for the whole run: every step applies the
+// next event of each lane still behind the time point, under masks, and the block moves on
+// to the next point once no lane is behind. Each lane consumes its stream exactly as the
+// scalar kernel does, so the two differ only by the rounding of the vector logarithm.
+// Built by the vector profile only and loaded reflectively when jdk.incubator.vector is
+// in the module graph.
+final class VectorTransientKernel implements TransientKernel {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+
+    @Override
+    public int lanes() {
+        return DOUBLES.length();
+    }
+
+    @Override
+    public void run(TransientState state, double[] times, StatisticsAccumulator[] samples) {
+        int lanes = DOUBLES.length();
+        double[] sampled = new double[lanes];
+        DoubleVector meanInterarrival = DoubleVector.broadcast(DOUBLES, state.meanInterarrival);
+        DoubleVector meanService = DoubleVector.broadcast(DOUBLES, state.meanService);
+        boolean constantService = state.constantService;
+
+        for (int from = 0; from < state.replications; from += lanes) {
+            DoubleVector customers = DoubleVector.fromArray(DOUBLES, state.customers, from);
+            DoubleVector nextArrival = DoubleVector.fromArray(DOUBLES, state.nextArrival, from);
+            DoubleVector nextDeparture = DoubleVector.fromArray(DOUBLES, state.nextDeparture, from);
+            LongVector stream = LongVector.fromArray(LONGS, state.streams, from);
+            int valid = Math.min(lanes, state.replications - from);
+
+            for (int k = 0; k < times.length; k++) {
+                double time = times[k];
+
+                while (true) {
+                    VectorMask<Double> due = nextArrival.min(nextDeparture).compare(VectorOperators.LE, time);
+                    if (!due.anyTrue()) {
+                        break;
+                    }
+                    VectorMask<Double> arrival = due.and(nextArrival.compare(VectorOperators.LT, nextDeparture));
+                    VectorMask<Double> departure = due.andNot(arrival);
+                    VectorMask<Double> wasEmpty = arrival.and(customers.compare(VectorOperators.EQ, 0.0));
+                    VectorMask<Double> staysBusy = departure.and(customers.compare(VectorOperators.GT, 1.0));
+
+                    VectorMask<Double> draw = constantService ? arrival : arrival.or(staysBusy);
+                    stream = stream.add(TransientState.GOLDEN_GAMMA, draw.cast(LONGS));
+                    DoubleVector variate = exponential(stream);
+
+                    DoubleVector arrivalTime = nextArrival;
+                    nextArrival = nextArrival.add(variate.mul(meanInterarrival), arrival);
+                    DoubleVector service = constantService ? meanService : variate.mul(meanService);
+                    nextDeparture = nextDeparture.add(service, staysBusy)
+                            .blend(Double.POSITIVE_INFINITY, departure.andNot(staysBusy));
+                    customers = customers.add(1.0, arrival).sub(1.0, departure);
+
+                    if (wasEmpty.anyTrue()) {
+                        if (!constantService) {
+                            stream = stream.add(TransientState.GOLDEN_GAMMA, wasEmpty.cast(LONGS));
+                            service = exponential(stream).mul(meanService);
+                        }
+                        nextDeparture = nextDeparture.blend(arrivalTime.add(service), wasEmpty);
+                    }
+                }
+
+                customers.intoArray(sampled, 0);
+                for (int i = 0; i < valid; i++) {
+                    samples[k].add(sampled[i]);
+                }
+            }
+
+            customers.intoArray(state.customers, from);
+            nextArrival.intoArray(state.nextArrival, from);
+            nextDeparture.intoArray(state.nextDeparture, from);
+            stream.intoArray(state.streams, from);
+        }
+    }
+
+    // TransientState.exponential lane by lane
+    private static DoubleVector exponential(LongVector state) {
+        LongVector z = state;
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 30)).mul(0xBF58476D1CE4E5B9L);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 27)).mul(0x94D049BB133111EBL);
+        z = z.lanewise(VectorOperators.XOR, z.lanewise(VectorOperators.LSHR, 31));
+        DoubleVector uniform = (DoubleVector) z.lanewise(VectorOperators.LSHR, 11).add(1L)
+                .convert(VectorOperators.L2D, 0);
+        return uniform.mul(0x1.0p-53).lanewise(VectorOperators.LOG).neg();
+    }
+}